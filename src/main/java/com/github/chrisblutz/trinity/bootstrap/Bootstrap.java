@@ -7,6 +7,8 @@ import com.github.chrisblutz.trinity.parser.TrinityParser;
 import com.github.chrisblutz.trinity.utils.FileUtils;
 
 import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
 
 
 /**
@@ -14,6 +16,8 @@ import java.io.File;
  */
 public class Bootstrap {
     
+    private static final boolean EAGER = Boolean.getBoolean("trinity.lib.eager");
+    
     public static void bootstrap() {
         
         // Load interpreter information
@@ -31,6 +35,62 @@ public class Bootstrap {
         
         // Load default library
         TrinityParser.parse(new File(FileUtils.getTrinityHome(), "lib/Object.ty"));
-        TrinityParser.parse(new File(FileUtils.getTrinityHome(), "lib/"));
+        
+        if (EAGER) {
+            
+            TrinityParser.parse(new File(FileUtils.getTrinityHome(), "lib/"));
+            
+        } else {
+            
+            loadLibrary(new File(FileUtils.getTrinityHome(), "lib/"));
+        }
+    }
+    
+    // Only the files at the top of the standard library are loaded right away, and
+    // the files in its subdirectories are loaded when their classes are first used
+    private static void loadLibrary(File lib) {
+        
+        List<File> core = new ArrayList<>();
+        List<File> indexed = new ArrayList<>();
+        
+        File[] files = lib.listFiles();
+        
+        if (files != null) {
+            
+            for (File file : files) {
+                
+                if (file.isDirectory()) {
+                    
+                    collectSources(file, indexed);
+                    
+                } else if (FileUtils.getExtension(file).equalsIgnoreCase(TrinityParser.SOURCE_EXTENSION)) {
+                    
+                    core.add(file);
+                }
+            }
+        }
+        
+        TrinityParser.parse(core);
+        LibraryIndex.build(indexed);
+    }
+    
+    private static void collectSources(File dir, List<File> sources) {
+        
+        File[] files = dir.listFiles();
+        
+        if (files != null) {
+            
+            for (File file : files) {
+                
+                if (file.isDirectory()) {
+                    
+                    collectSources(file, sources);
+                    
+                } else if (FileUtils.getExtension(file).equalsIgnoreCase(TrinityParser.SOURCE_EXTENSION)) {
+                    
+                    sources.add(file);
+                }
+            }
+        }
     }
 }
@@ -0,0 +1,261 @@
+package com.github.chrisblutz.trinity.bootstrap;
+
+import com.github.chrisblutz.trinity.cli.CLI;
+import com.github.chrisblutz.trinity.interpreter.ExpressionInterpreter;
+import com.github.chrisblutz.trinity.interpreter.TrinityInterpreter;
+import com.github.chrisblutz.trinity.lang.ClassRegistry;
+import com.github.chrisblutz.trinity.lang.TYClass;
+import com.github.chrisblutz.trinity.parser.TrinityParser;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+
+/**
+ * An index of the classes and modules declared by standard library
+ * files that have not been loaded yet.  Files are scanned for their
+ * declarations without being lexed, and are parsed and interpreted the
+ * first time one of their classes or modules is looked up.
+ *
+ * @author Christopher Lutz
+ */
+public class LibraryIndex {
+    
+    // Maps the name of a containing module or class to the short names it contains
+    private static final Map<String, Map<String, File>> classes = new ConcurrentHashMap<>(), modules = new ConcurrentHashMap<>();
+    private static final Map<String, File> pendingClasses = new ConcurrentHashMap<>();
+    private static final Set<File> loaded = Collections.newSetFromMap(new ConcurrentHashMap<>());
+    
+    private static int indexed = 0, depth = 0;
+    
+    public static void build(List<File> files) {
+        
+        for (File file : files) {
+            
+            try {
+                
+                scan(file, Files.readAllLines(file.toPath(), StandardCharsets.UTF_8));
+                indexed++;
+                
+            } catch (IOException e) {
+                
+                System.err.println("An error occurred while indexing '" + file.getName() + "'.");
+                
+                if (CLI.isDebuggingEnabled()) {
+                    
+                    e.printStackTrace();
+                }
+            }
+        }
+        
+        // Natives create some classes before the standard library is parsed, and those
+        // classes would otherwise never be looked up by name
+        for (TYClass tyClass : ClassRegistry.getClasses()) {
+            
+            loadClass(tyClass.getName());
+        }
+    }
+    
+    private static void scan(File file, List<String> lines) {
+        
+        List<String> names = new ArrayList<>();
+        List<Integer> indents = new ArrayList<>();
+        
+        for (String line : lines) {
+            
+            String trimmed = line.trim();
+            
+            if (trimmed.isEmpty()) {
+                
+                continue;
+            }
+            
+            int indent = line.indexOf(trimmed.charAt(0));
+            while (!indents.isEmpty() && indents.get(indents.size() - 1) >= indent) {
+                
+                names.remove(names.size() - 1);
+                indents.remove(indents.size() - 1);
+            }
+            
+            String[] words = trimmed.split("\\s+");
+            boolean isClass = words[0].equals("class") || words[0].equals("interface");
+            
+            if ((isClass || words[0].equals("module")) && words.length > 1) {
+                
+                String name = isClass && words[1].equals("native") && words.length > 2 ? words[2] : words[1];
+                String container = String.join(".", names);
+                
+                Map<String, Map<String, File>> index = isClass ? classes : modules;
+                index.computeIfAbsent(container, k -> new ConcurrentHashMap<>()).putIfAbsent(name, file);
+                
+                if (isClass) {
+                    
+                    pendingClasses.putIfAbsent(container.isEmpty() ? name : container + "." + name, file);
+                }
+                
+                names.add(name);
+                indents.add(indent);
+            }
+        }
+    }
+    
+    public static void loadClass(String name) {
+        
+        int index = name.lastIndexOf('.');
+        
+        loadClass(index < 0 ? "" : name.substring(0, index), name.substring(index + 1));
+    }
+    
+    public static void loadClass(String container, String shortName) {
+        
+        load(classes, container, shortName);
+    }
+    
+    public static void loadModule(String name) {
+        
+        int index = name.lastIndexOf('.');
+        
+        loadModule(index < 0 ? "" : name.substring(0, index), name.substring(index + 1));
+    }
+    
+    public static void loadModule(String container, String shortName) {
+        
+        load(modules, container, shortName);
+    }
+    
+    public static boolean isClassIndexed(String name) {
+        
+        return pendingClasses.containsKey(name);
+    }
+    
+    // Loads every class and module declared directly inside of the given module or class
+    public static void loadMembers(String container) {
+        
+        for (Map<String, Map<String, File>> index : Arrays.asList(classes, modules)) {
+            
+            Map<String, File> members = index.get(container);
+            
+            if (members != null) {
+                
+                for (File file : new ArrayList<>(members.values())) {
+                    
+                    load(file);
+                }
+            }
+        }
+    }
+    
+    public static void loadAll() {
+        
+        for (Map<String, Map<String, File>> index : Arrays.asList(classes, modules)) {
+            
+            for (Map<String, File> members : new ArrayList<>(index.values())) {
+                
+                for (File file : new ArrayList<>(members.values())) {
+                    
+                    load(file);
+                }
+            }
+        }
+    }
+    
+    private static void load(Map<String, Map<String, File>> index, String container, String shortName) {
+        
+        if (index.isEmpty()) {
+            
+            return;
+        }
+        
+        Map<String, File> members = index.get(container);
+        
+        if (members != null) {
+            
+            File file = members.get(shortName);
+            
+            if (file != null) {
+                
+                load(file);
+            }
+        }
+    }
+    
+    private static void load(File file) {
+        
+        // Loading interprets declarations, which shares the interpreter's static state with
+        // method bodies interpreted on their first call
+        synchronized (ExpressionInterpreter.class) {
+            
+            if (!loaded.add(file)) {
+                
+                return;
+            }
+            
+            forget(file);
+            
+            Set<TYClass> existing = new HashSet<>(ClassRegistry.getClasses());
+            String[] imports = TrinityInterpreter.getImportedModules();
+            
+            depth++;
+            
+            try {
+                
+                TrinityParser.parse(file);
+                
+                // Classes loaded before finalization are finalized along with all of the others
+                if (ClassRegistry.isFinalized()) {
+                    
+                    List<TYClass> added = new ArrayList<>(ClassRegistry.getClasses());
+                    added.removeAll(existing);
+                    
+                    for (TYClass tyClass : added) {
+                        
+                        tyClass.performFinalSetup();
+                    }
+                    
+                    for (TYClass tyClass : added) {
+                        
+                        tyClass.updateInheritanceTree();
+                    }
+                }
+                
+            } finally {
+                
+                depth--;
+                
+                TrinityInterpreter.setImportedModules(imports);
+            }
+            
+            if (depth == 0 && TrinityInterpreter.isInitialized()) {
+                
+                TrinityInterpreter.runInitializationActions();
+            }
+        }
+    }
+    
+    public static void report() {
+        
+        if (indexed > 0) {
+            
+            System.out.println("Loaded " + loaded.size() + " of " + indexed + " indexed standard library file(s).");
+        }
+    }
+    
+    private static void forget(File file) {
+        
+        pendingClasses.values().removeIf(file::equals);
+        
+        for (Map<String, Map<String, File>> index : Arrays.asList(classes, modules)) {
+            
+            for (Map<String, File> members : index.values()) {
+                
+                members.values().removeIf(file::equals);
+            }
+            
+            index.values().removeIf(Map::isEmpty);
+        }
+    }
+}
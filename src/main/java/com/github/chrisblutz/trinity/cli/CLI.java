@@ -1,6 +1,7 @@
 package com.github.chrisblutz.trinity.cli;
 
 import com.github.chrisblutz.trinity.info.TrinityInfo;
+import com.github.chrisblutz.trinity.interpreter.optimizer.Optimizer;
 import com.github.chrisblutz.trinity.libraries.Libraries;
 import com.github.chrisblutz.trinity.runner.Runner;
 
@@ -15,7 +16,7 @@ import java.util.List;
 public class CLI {
     
     private static boolean loadedAnyFiles = false;
-    private static boolean debugging = false, counting = false;
+    private static boolean debugging = false, counting = false, errorLocationsOnly = false, interpretOnly = false, bytecode = false, cacheDisabled = false, strict = false;
     
     private static List<File> sourceFiles = new ArrayList<>();
     private static String mainClass = null;
@@ -124,6 +125,53 @@ public class CLI {
                 counting = true;
                 break;
             
+            case "-e":
+            case "--error-locations":
+                
+                errorLocationsOnly = true;
+                break;
+            
+            case "-i":
+            case "--interpret-only":
+                
+                interpretOnly = true;
+                break;
+            
+            case "-b":
+            case "--bytecode":
+                
+                bytecode = true;
+                break;
+            
+            case "-x":
+            case "--no-cache":
+                
+                cacheDisabled = true;
+                break;
+            
+            case "-s":
+            case "--strict":
+                
+                strict = true;
+                break;
+            
+            case "-n":
+            case "--no-optimize":
+                
+                if (params.isEmpty()) {
+                    
+                    Optimizer.setAllEnabled(false);
+                }
+                
+                for (String pass : params) {
+                    
+                    if (!Optimizer.setEnabled(pass, false)) {
+                        
+                        System.err.println("Unrecognized optimization pass '" + pass + "'.");
+                    }
+                }
+                break;
+            
             default:
                 System.err.println("Unrecognized option '" + arg + "'.");
                 break;
@@ -152,4 +200,29 @@ public class CLI {
         
         return counting;
     }
+    
+    public static boolean isErrorLocationsOnly() {
+        
+        return errorLocationsOnly;
+    }
+    
+    public static boolean isInterpretOnly() {
+        
+        return interpretOnly;
+    }
+    
+    public static boolean isBytecodeEnabled() {
+        
+        return bytecode;
+    }
+    
+    public static boolean isCacheDisabled() {
+        
+        return cacheDisabled;
+    }
+    
+    public static boolean isStrict() {
+        
+        return strict;
+    }
 }
@@ -1,12 +1,16 @@
 package com.github.chrisblutz.trinity.interpreter;
 
+import com.github.chrisblutz.trinity.cli.CLI;
 import com.github.chrisblutz.trinity.interpreter.actions.ArgumentProcedureAction;
 import com.github.chrisblutz.trinity.interpreter.actions.ExpressionProcedureAction;
+import com.github.chrisblutz.trinity.interpreter.bytecode.Bytecode;
 import com.github.chrisblutz.trinity.interpreter.helpers.KeywordExpressionHelper;
 import com.github.chrisblutz.trinity.interpreter.instructions.*;
+import com.github.chrisblutz.trinity.interpreter.optimizer.Optimizer;
 import com.github.chrisblutz.trinity.lang.errors.Errors;
 import com.github.chrisblutz.trinity.lang.procedures.ProcedureAction;
 import com.github.chrisblutz.trinity.lang.procedures.TYProcedure;
+import com.github.chrisblutz.trinity.lang.variables.VariableTable;
 import com.github.chrisblutz.trinity.parser.blocks.Block;
 import com.github.chrisblutz.trinity.parser.blocks.BlockLine;
 import com.github.chrisblutz.trinity.parser.lines.Line;
@@ -23,11 +27,51 @@ import java.util.*;
 public class ExpressionInterpreter {
     
     private static InterpretEnvironment environment;
+    private static VariableTable variableTable = null;
+    
+    public static VariableTable getVariableTable() {
+        
+        return variableTable;
+    }
+    
+    public static VariableTable openVariableTable() {
+        
+        variableTable = new VariableTable();
+        return variableTable;
+    }
+    
+    public static void closeVariableTable() {
+        
+        variableTable = null;
+    }
+    
+    // Interprets a method body after its declaration, into the variable table its parameters were added to
+    public static ProcedureAction interpretBody(Block block, InterpretEnvironment environment, String errorClass, String method, VariableTable table) {
+        
+        InterpretEnvironment previousEnvironment = ExpressionInterpreter.environment;
+        VariableTable previousTable = variableTable;
+        
+        variableTable = table;
+        
+        try {
+            
+            return interpret(block, environment, errorClass, method, true);
+            
+        } finally {
+            
+            ExpressionInterpreter.environment = previousEnvironment;
+            variableTable = previousTable;
+        }
+    }
     
     public static ProcedureAction interpret(Block block, InterpretEnvironment environment, String errorClass, String method, boolean includeStackTrace) {
         
         ExpressionInterpreter.environment = environment;
         
+        // Bodies interpreted outside of a method (initialization blocks, eval) get their own table
+        boolean ownsTable = variableTable == null;
+        VariableTable table = ownsTable ? openVariableTable() : variableTable;
+        
         List<InstructionSet> sets = new ArrayList<>();
         
         for (int i = 0; i < block.size(); i++) {
@@ -56,7 +100,20 @@ public class ExpressionInterpreter {
             }
         }
         
-        return new ExpressionProcedureAction(errorClass, method, includeStackTrace, sets.toArray(new InstructionSet[sets.size()]));
+        if (ownsTable) {
+            
+            closeVariableTable();
+        }
+        
+        InstructionSet[] setArray = Optimizer.optimize(sets.toArray(new InstructionSet[sets.size()]), table);
+        ExpressionProcedureAction action = new ExpressionProcedureAction(errorClass, method, includeStackTrace, setArray, table);
+        
+        if (CLI.isBytecodeEnabled()) {
+            
+            action.setBytecode(Bytecode.lower(setArray));
+        }
+        
+        return action;
     }
     
     public static InstructionSet interpretExpression(Block block, TokenInfo[] tokens, Location location, String errorClass, String method, Block nextBlock) {
@@ -182,6 +239,8 @@ public class ExpressionInterpreter {
                     
                     next = new TYProcedure(action, false);
                 }
+                
+                next.setVariableTable(variableTable);
             }
             
             return interpretCompoundExpression(expression, location, errorClass, method, next);
@@ -274,7 +333,7 @@ public class ExpressionInterpreter {
                         
                     } else if (end instanceof SingleTokenInstruction) {
                         
-                        retriever = new SingleTokenVariableLocRetriever(((SingleTokenInstruction) end).getContents());
+                        retriever = new SingleTokenVariableLocRetriever(((SingleTokenInstruction) end).getContents(), variableTable);
                         
                     } else {
                         
@@ -417,7 +476,7 @@ public class ExpressionInterpreter {
             } else if (tokens.length == 1 && tokens[0].getToken() == Token.NON_TOKEN_STRING) {
                 
                 // Signifies single-token name (class/module names, variables, etc.)
-                return new InstructionSet(new Instruction[]{new SingleTokenInstruction(tokens[0].getContents(), location)}, location);
+                return new InstructionSet(new Instruction[]{new SingleTokenInstruction(tokens[0].getContents(), variableTable, location)}, location);
                 
             } else if (tokens.length > 1 && tokens[1].getToken() == Token.LEFT_PARENTHESIS) {
                 
@@ -500,9 +559,9 @@ public class ExpressionInterpreter {
         
         List<List<TokenInfo>> tokenSets = splitTokens(tokens, delimiter);
         List<InstructionSet> sets = new ArrayList<>();
-    
-        for (List<TokenInfo> list : tokenSets) {
         
+        for (List<TokenInfo> list : tokenSets) {
+            
             TokenInfo[] listArr = list.toArray(new TokenInfo[list.size()]);
             sets.add(interpretCompoundExpression(listArr, location, errorClass, method, next));
         }
@@ -5,8 +5,10 @@ import com.github.chrisblutz.trinity.parser.tokens.Token;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 
 /**
@@ -16,6 +18,7 @@ public class Keywords {
     
     private static List<Token> keywords = new ArrayList<>();
     private static Map<Token, KeywordHelper> helpers = new HashMap<>();
+    private static Set<Token> constants = new HashSet<>();
     
     public static void register(Token keyword, KeywordHelper helper) {
         
@@ -23,6 +26,19 @@ public class Keywords {
         helpers.put(keyword, helper);
     }
     
+    // Constant keywords always produce the same immutable value for the same token,
+    // so instructions only need to evaluate them once
+    public static void registerConstant(Token keyword, KeywordHelper helper) {
+        
+        register(keyword, helper);
+        constants.add(keyword);
+    }
+    
+    public static boolean isConstant(Token keyword) {
+        
+        return constants.contains(keyword);
+    }
+    
     public static List<Token> getTokens() {
         
         return keywords;
@@ -16,6 +16,7 @@ import com.github.chrisblutz.trinity.parser.lines.Line;
 import com.github.chrisblutz.trinity.parser.tokens.Token;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 
@@ -28,6 +29,7 @@ public class TrinityInterpreter {
     private static List<ProcedureAction> initializationActions = new ArrayList<>();
     
     private static volatile long totalInstructionCount = 0;
+    private static boolean initialized = false;
     
     public static void interpret(Block block) {
         
@@ -90,6 +92,12 @@ public class TrinityInterpreter {
         return importedModules.toArray(new String[importedModules.size()]);
     }
     
+    public static void setImportedModules(String[] modules) {
+        
+        importedModules.clear();
+        importedModules.addAll(Arrays.asList(modules));
+    }
+    
     public static void addInitializationAction(ProcedureAction action) {
         
         initializationActions.add(action);
@@ -105,6 +113,13 @@ public class TrinityInterpreter {
         }
         
         initializationActions.clear();
+        
+        initialized = true;
+    }
+    
+    public static boolean isInitialized() {
+        
+        return initialized;
     }
     
     public static void incrementInstructionCount() {
@@ -115,6 +130,14 @@ public class TrinityInterpreter {
         }
     }
     
+    public static void incrementInstructionCount(int count) {
+        
+        if (CLI.isCountingEnabled()) {
+            
+            totalInstructionCount += count;
+        }
+    }
+    
     public static long getTotalInstructionCount() {
         
         return totalInstructionCount;
@@ -1,10 +1,17 @@
 package com.github.chrisblutz.trinity.interpreter.actions;
 
+import com.github.chrisblutz.trinity.interpreter.bytecode.Bytecode;
+import com.github.chrisblutz.trinity.interpreter.compiler.CompiledStatement;
+import com.github.chrisblutz.trinity.interpreter.compiler.TierCompiler;
 import com.github.chrisblutz.trinity.interpreter.instructions.InstructionSet;
 import com.github.chrisblutz.trinity.lang.TYObject;
 import com.github.chrisblutz.trinity.lang.TYRuntime;
 import com.github.chrisblutz.trinity.lang.procedures.ProcedureAction;
 import com.github.chrisblutz.trinity.lang.threading.TYThread;
+import com.github.chrisblutz.trinity.lang.variables.VariableTable;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 
 /**
@@ -15,22 +22,63 @@ public class ExpressionProcedureAction implements ProcedureAction {
     private String errorClass, method;
     private boolean includeStackTrace;
     private InstructionSet[] sets;
+    private VariableTable variableTable;
+    
+    private Bytecode[] bytecode = null;
+    private final AtomicInteger invocations = new AtomicInteger();
+    private final AtomicBoolean compiling = new AtomicBoolean(false);
+    private volatile CompiledStatement[] compiled = null;
     
-    public ExpressionProcedureAction(String errorClass, String method, boolean includeStackTrace, InstructionSet[] sets) {
+    public ExpressionProcedureAction(String errorClass, String method, boolean includeStackTrace, InstructionSet[] sets, VariableTable variableTable) {
         
         this.errorClass = errorClass;
         this.method = method;
         this.includeStackTrace = includeStackTrace;
         this.sets = sets;
+        this.variableTable = variableTable;
+    }
+    
+    public InstructionSet[] getInstructionSets() {
+        
+        return sets;
+    }
+    
+    public VariableTable getVariableTable() {
+        
+        return variableTable;
+    }
+    
+    public Bytecode[] getBytecode() {
+        
+        return bytecode;
+    }
+    
+    public void setBytecode(Bytecode[] bytecode) {
+        
+        this.bytecode = bytecode;
     }
     
     @Override
     public TYObject onAction(TYRuntime runtime, TYObject thisObj, TYObject... params) {
         
+        runtime.enterFrame(variableTable);
+        
         TYObject returnObj = TYObject.NONE;
         
+        CompiledStatement[] compiled = this.compiled;
+        
+        // Hot bodies are compiled once, by whichever call claims them first,
+        // and stay interpreted if compilation fails
+        if (bytecode == null && compiled == null && TierCompiler.isEnabled() && !compiling.get() && invocations.incrementAndGet() >= TierCompiler.getThreshold() && compiling.compareAndSet(false, true)) {
+            
+            compiled = TierCompiler.compile(sets);
+            this.compiled = compiled;
+        }
+        
         TYThread current = TYThread.getCurrentThread();
-        for (InstructionSet set : sets) {
+        for (int i = 0; i < sets.length; i++) {
+            
+            InstructionSet set = sets[i];
             
             if (!includeStackTrace) {
                 
@@ -39,7 +87,20 @@ public class ExpressionProcedureAction implements ProcedureAction {
             
             current.getTrinityStack().add(errorClass, method, set.getLocation().getFileName(), set.getLocation().getLineNumber());
             
-            TYObject result = set.evaluate(TYObject.NONE, runtime);
+            TYObject result;
+            
+            if (bytecode != null) {
+                
+                result = bytecode[i].execute(runtime);
+                
+            } else if (compiled != null) {
+                
+                result = compiled[i].evaluate(runtime);
+                
+            } else {
+                
+                result = set.evaluate(TYObject.NONE, runtime);
+            }
             
             if (includeStackTrace) {
                 
@@ -0,0 +1,79 @@
+package com.github.chrisblutz.trinity.interpreter.actions;
+
+import com.github.chrisblutz.trinity.interpreter.ExpressionInterpreter;
+import com.github.chrisblutz.trinity.interpreter.InterpretEnvironment;
+import com.github.chrisblutz.trinity.interpreter.Location;
+import com.github.chrisblutz.trinity.lang.TYObject;
+import com.github.chrisblutz.trinity.lang.TYRuntime;
+import com.github.chrisblutz.trinity.lang.procedures.ProcedureAction;
+import com.github.chrisblutz.trinity.lang.threading.TYThread;
+import com.github.chrisblutz.trinity.lang.variables.VariableTable;
+import com.github.chrisblutz.trinity.parser.blocks.Block;
+import com.github.chrisblutz.trinity.runner.Runner;
+
+
+/**
+ * A method body that is kept as a block until the method is first
+ * called, at which point it is interpreted once and the result is used
+ * for every call after that.
+ *
+ * @author Christopher Lutz
+ */
+public class LazyProcedureAction implements ProcedureAction {
+    
+    private Block block;
+    private InterpretEnvironment environment;
+    private String errorClass, method;
+    private VariableTable variableTable;
+    
+    private volatile ProcedureAction action = null;
+    
+    public LazyProcedureAction(Block block, InterpretEnvironment environment, String errorClass, String method, VariableTable variableTable) {
+        
+        this.block = block;
+        this.environment = environment;
+        this.errorClass = errorClass;
+        this.method = method;
+        this.variableTable = variableTable;
+    }
+    
+    public boolean isInterpreted() {
+        
+        return action != null;
+    }
+    
+    public ProcedureAction getAction() {
+        
+        ProcedureAction interpreted = action;
+        
+        if (interpreted == null) {
+            
+            // The interpreter keeps its state in static fields, so bodies are interpreted one at a time
+            synchronized (ExpressionInterpreter.class) {
+                
+                interpreted = action;
+                
+                if (interpreted == null) {
+                    
+                    Location location = TYThread.getCurrentThread().getLocation();
+                    
+                    interpreted = ExpressionInterpreter.interpretBody(block, environment, errorClass, method, variableTable);
+                    
+                    Runner.updateLocation(location);
+                    
+                    action = interpreted;
+                    block = null;
+                    environment = null;
+                }
+            }
+        }
+        
+        return interpreted;
+    }
+    
+    @Override
+    public TYObject onAction(TYRuntime runtime, TYObject thisObj, TYObject... params) {
+        
+        return getAction().onAction(runtime, thisObj, params);
+    }
+}
@@ -7,6 +7,7 @@ import com.github.chrisblutz.trinity.lang.TYObject;
 import com.github.chrisblutz.trinity.lang.procedures.ProcedureAction;
 import com.github.chrisblutz.trinity.lang.TYRuntime;
 import com.github.chrisblutz.trinity.lang.threading.TYThread;
+import com.github.chrisblutz.trinity.lang.variables.VariableTable;
 
 
 /**
@@ -18,18 +19,22 @@ public class VariableProcedureAction implements ProcedureAction {
     private Location location;
     private TYClass container;
     private InstructionSet set;
+    private VariableTable variableTable;
     
-    public VariableProcedureAction(String initStackElementName, Location location, TYClass container, InstructionSet set) {
+    public VariableProcedureAction(String initStackElementName, Location location, TYClass container, InstructionSet set, VariableTable variableTable) {
         
         this.initStackElementName = initStackElementName;
         this.location = location;
         this.container = container;
         this.set = set;
+        this.variableTable = variableTable;
     }
     
     @Override
     public TYObject onAction(TYRuntime runtime, TYObject thisObj, TYObject... params) {
         
+        runtime.enterFrame(variableTable);
+        
         TYThread current = TYThread.getCurrentThread();
         
         current.getTrinityStack().add(container.getName(), initStackElementName, location.getFileName(), location.getLineNumber());
@@ -0,0 +1,250 @@
+package com.github.chrisblutz.trinity.interpreter.bytecode;
+
+import com.github.chrisblutz.trinity.cli.CLI;
+import com.github.chrisblutz.trinity.interpreter.Location;
+import com.github.chrisblutz.trinity.interpreter.TrinityInterpreter;
+import com.github.chrisblutz.trinity.interpreter.errors.TrinityErrorException;
+import com.github.chrisblutz.trinity.interpreter.instructions.Instruction;
+import com.github.chrisblutz.trinity.interpreter.instructions.InstructionSet;
+import com.github.chrisblutz.trinity.lang.TYObject;
+import com.github.chrisblutz.trinity.lang.TYRuntime;
+import com.github.chrisblutz.trinity.lang.threading.TYThread;
+import com.github.chrisblutz.trinity.runner.Runner;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+
+/**
+ * A statement lowered into a linear sequence of opcodes.  Nested
+ * instruction sets are flattened away, since each one simply passes
+ * its result on to the next instruction, so the only state the dispatch
+ * loop keeps is the current object.  Instruction counts are added once a
+ * statement completes, and error locations come from a table indexed by
+ * the program counter instead of being tracked as instructions run.
+ *
+ * @author Christopher Lutz
+ */
+public class Bytecode {
+    
+    // COUNT n: adds n to the instruction count
+    public static final int COUNT = 0;
+    // LOCATE l: sets the current location to constant l
+    public static final int LOCATE = 1;
+    // EVAL s i: evaluates instruction i of set s on the current object
+    public static final int EVAL = 2;
+    // EVAL_SET s: evaluates set s itself on the current object
+    public static final int EVAL_SET = 3;
+    // END: returns the current object
+    public static final int END = 4;
+    
+    private int[] code;
+    private InstructionSet[] sets;
+    private Location[] locations;
+    private Location[] errorLocations;
+    
+    public Bytecode(int[] code, InstructionSet[] sets, Location[] locations, Location[] errorLocations) {
+        
+        this.code = code;
+        this.sets = sets;
+        this.locations = locations;
+        this.errorLocations = errorLocations;
+    }
+    
+    public int[] getCode() {
+        
+        return code;
+    }
+    
+    public InstructionSet[] getSets() {
+        
+        return sets;
+    }
+    
+    public Location[] getLocations() {
+        
+        return locations;
+    }
+    
+    public Location getErrorLocation(int pc) {
+        
+        return errorLocations[pc];
+    }
+    
+    public TYObject execute(TYRuntime runtime) {
+        
+        int[] code = this.code;
+        TYObject current = TYObject.NONE;
+        int pc = 0;
+        
+        try {
+            
+            while (true) {
+                
+                switch (code[pc]) {
+                    
+                    case COUNT:
+                        
+                        TrinityInterpreter.incrementInstructionCount(code[pc + 1]);
+                        pc += 2;
+                        break;
+                    
+                    case LOCATE:
+                        
+                        Runner.updateLocation(locations[code[pc + 1]]);
+                        pc += 2;
+                        break;
+                    
+                    case EVAL:
+                        
+                        current = sets[code[pc + 1]].getInstructions()[code[pc + 2]].execute(current, runtime);
+                        pc += 3;
+                        break;
+                    
+                    case EVAL_SET:
+                        
+                        current = sets[code[pc + 1]].evaluate(current, runtime);
+                        pc += 2;
+                        break;
+                    
+                    default:
+                        
+                        return current;
+                }
+            }
+            
+        } catch (RuntimeException e) {
+            
+            if (CLI.isErrorLocationsOnly() && !(e instanceof TrinityErrorException) && errorLocations[pc] != null) {
+                
+                TYThread.getCurrentThread().setErrorLocation(e, errorLocations[pc]);
+            }
+            
+            throw e;
+        }
+    }
+    
+    public static Bytecode[] lower(InstructionSet[] statements) {
+        
+        Bytecode[] lowered = new Bytecode[statements.length];
+        for (int i = 0; i < statements.length; i++) {
+            
+            lowered[i] = lower(statements[i]);
+        }
+        
+        return lowered;
+    }
+    
+    public static Bytecode lower(InstructionSet statement) {
+        
+        return new Writer().write(statement);
+    }
+    
+    private static class Writer {
+        
+        private int[] code = new int[16];
+        private int size = 0;
+        
+        private List<InstructionSet> sets = new ArrayList<>();
+        private List<Location> locations = new ArrayList<>();
+        private List<Location> errorLocations = new ArrayList<>();
+        
+        private int count = 0;
+        private Location pendingLocation = null;
+        
+        private Bytecode write(InstructionSet statement) {
+            
+            if (statement.getClass() == InstructionSet.class) {
+                
+                writeSet(statement);
+                
+            } else {
+                
+                // Control flow statements evaluate themselves
+                emit(EVAL_SET, addSet(statement));
+            }
+            
+            // Every instruction updates the location as soon as it runs, so only a set
+            // entered after the last evaluation leaves its location behind
+            if (pendingLocation != null && !CLI.isErrorLocationsOnly()) {
+                
+                locations.add(pendingLocation);
+                emit(LOCATE, locations.size() - 1);
+            }
+            
+            if (count > 0) {
+                
+                emit(COUNT, count);
+            }
+            
+            emit(END);
+            
+            while (errorLocations.size() < size) {
+                
+                errorLocations.add(null);
+            }
+            
+            int[] trimmed = Arrays.copyOf(code, size);
+            InstructionSet[] setArray = sets.toArray(new InstructionSet[sets.size()]);
+            Location[] locationArray = locations.toArray(new Location[locations.size()]);
+            Location[] errorArray = errorLocations.toArray(new Location[errorLocations.size()]);
+            
+            return new Bytecode(trimmed, setArray, locationArray, errorArray);
+        }
+        
+        private void writeSet(InstructionSet set) {
+            
+            int setIndex = addSet(set);
+            
+            count++;
+            pendingLocation = set.getLocation();
+            
+            Instruction[] instructions = set.getInstructions();
+            for (int i = 0; i < instructions.length; i++) {
+                
+                if (instructions[i].getClass() == InstructionSet.class) {
+                    
+                    writeSet((InstructionSet) instructions[i]);
+                    
+                } else {
+                    
+                    emitEval(setIndex, i, instructions[i].getLocation());
+                }
+            }
+        }
+        
+        private int addSet(InstructionSet set) {
+            
+            sets.add(set);
+            
+            return sets.size() - 1;
+        }
+        
+        private void emitEval(int setIndex, int instructionIndex, Location location) {
+            
+            while (errorLocations.size() < size) {
+                
+                errorLocations.add(null);
+            }
+            
+            errorLocations.add(location);
+            emit(EVAL, setIndex, instructionIndex);
+            
+            pendingLocation = null;
+        }
+        
+        private void emit(int... values) {
+            
+            if (size + values.length > code.length) {
+                
+                code = Arrays.copyOf(code, Math.max(code.length * 2, size + values.length));
+            }
+            
+            for (int value : values) {
+                
+                code[size++] = value;
+            }
+        }
+    }
+}
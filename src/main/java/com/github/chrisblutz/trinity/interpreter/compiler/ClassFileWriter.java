@@ -0,0 +1,302 @@
+package com.github.chrisblutz.trinity.interpreter.compiler;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+
+/**
+ * A minimal writer for JVM class files, covering only what the
+ * compiler tier emits: a class with a superclass and a few methods
+ * made of straight-line code and exception handlers.  Class files are
+ * written as version 49 so no stack map frames are required.
+ *
+ * @author Christopher Lutz
+ */
+public class ClassFileWriter {
+    
+    private static final int VERSION = 49;
+    
+    private static final int UTF8 = 1, CLASS = 7, FIELD_REF = 9, METHOD_REF = 10, NAME_AND_TYPE = 12;
+    
+    public static final int ACC_PUBLIC = 0x0001, ACC_FINAL = 0x0010, ACC_SUPER = 0x0020;
+    
+    private ByteArrayOutputStream constantBytes = new ByteArrayOutputStream();
+    private DataOutputStream constants = new DataOutputStream(constantBytes);
+    private Map<String, Integer> constantIndices = new HashMap<>();
+    private int constantCount = 1;
+    
+    private String name;
+    private int thisClass, superClass;
+    private List<byte[]> methods = new ArrayList<>();
+    
+    public ClassFileWriter(String name, String superName) {
+        
+        this.name = name;
+        this.thisClass = classConstant(name);
+        this.superClass = classConstant(superName);
+    }
+    
+    public String getName() {
+        
+        return name;
+    }
+    
+    public int utf8Constant(String value) {
+        
+        return constant("U" + value, () -> {
+            
+            constants.writeByte(UTF8);
+            constants.writeUTF(value);
+        });
+    }
+    
+    public int classConstant(String internalName) {
+        
+        int nameIndex = utf8Constant(internalName);
+        
+        return constant("C" + internalName, () -> {
+            
+            constants.writeByte(CLASS);
+            constants.writeShort(nameIndex);
+        });
+    }
+    
+    public int fieldConstant(String owner, String name, String descriptor) {
+        
+        return memberConstant(FIELD_REF, owner, name, descriptor);
+    }
+    
+    public int methodConstant(String owner, String name, String descriptor) {
+        
+        return memberConstant(METHOD_REF, owner, name, descriptor);
+    }
+    
+    private int memberConstant(int tag, String owner, String name, String descriptor) {
+        
+        int ownerIndex = classConstant(owner);
+        int nameIndex = utf8Constant(name);
+        int descriptorIndex = utf8Constant(descriptor);
+        int nameAndType = constant("N" + name + ":" + descriptor, () -> {
+            
+            constants.writeByte(NAME_AND_TYPE);
+            constants.writeShort(nameIndex);
+            constants.writeShort(descriptorIndex);
+        });
+        
+        return constant(tag + owner + "." + name + ":" + descriptor, () -> {
+            
+            constants.writeByte(tag);
+            constants.writeShort(ownerIndex);
+            constants.writeShort(nameAndType);
+        });
+    }
+    
+    private int constant(String key, ConstantWriter writer) {
+        
+        Integer index = constantIndices.get(key);
+        
+        if (index == null) {
+            
+            try {
+                
+                writer.write();
+                
+            } catch (IOException e) {
+                
+                throw new IllegalStateException(e);
+            }
+            
+            index = constantCount++;
+            constantIndices.put(key, index);
+        }
+        
+        return index;
+    }
+    
+    public void addMethod(int access, String name, String descriptor, Code code) {
+        
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        
+        try {
+            
+            out.writeShort(access);
+            out.writeShort(utf8Constant(name));
+            out.writeShort(utf8Constant(descriptor));
+            out.writeShort(1);
+            
+            byte[] instructions = code.getBytes();
+            List<int[]> handlers = code.getHandlers();
+            
+            out.writeShort(utf8Constant("Code"));
+            out.writeInt(12 + instructions.length + handlers.size() * 8);
+            out.writeShort(code.getMaxStack());
+            out.writeShort(code.getMaxLocals());
+            out.writeInt(instructions.length);
+            out.write(instructions);
+            out.writeShort(handlers.size());
+            
+            for (int[] handler : handlers) {
+                
+                for (int value : handler) {
+                    
+                    out.writeShort(value);
+                }
+            }
+            
+            out.writeShort(0);
+            
+        } catch (IOException e) {
+            
+            throw new IllegalStateException(e);
+        }
+        
+        methods.add(bytes.toByteArray());
+    }
+    
+    public byte[] toByteArray(int access) {
+        
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        
+        try {
+            
+            out.writeInt(0xCAFEBABE);
+            out.writeShort(0);
+            out.writeShort(VERSION);
+            out.writeShort(constantCount);
+            out.write(constantBytes.toByteArray());
+            out.writeShort(access);
+            out.writeShort(thisClass);
+            out.writeShort(superClass);
+            out.writeShort(0);
+            out.writeShort(0);
+            out.writeShort(methods.size());
+            
+            for (byte[] method : methods) {
+                
+                out.write(method);
+            }
+            
+            out.writeShort(0);
+            
+        } catch (IOException e) {
+            
+            throw new IllegalStateException(e);
+        }
+        
+        return bytes.toByteArray();
+    }
+    
+    private interface ConstantWriter {
+        
+        void write() throws IOException;
+    }
+    
+    /**
+     * The body of a single method.  Only the opcodes used by the compiler
+     * tier are provided.
+     */
+    public static class Code {
+        
+        public static final int ALOAD = 0x19, ASTORE = 0x3A, ILOAD = 0x15, ISTORE = 0x36;
+        public static final int AALOAD = 0x32, ARETURN = 0xB0, RETURN = 0xB1, ATHROW = 0xBF;
+        public static final int GETSTATIC = 0xB2, GETFIELD = 0xB4, INVOKEVIRTUAL = 0xB6, INVOKESPECIAL = 0xB7;
+        
+        private ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        private List<int[]> handlers = new ArrayList<>();
+        private int maxStack, maxLocals;
+        
+        public void setMaxStack(int maxStack) {
+            
+            this.maxStack = maxStack;
+        }
+        
+        public void setMaxLocals(int maxLocals) {
+            
+            this.maxLocals = maxLocals;
+        }
+        
+        public int position() {
+            
+            return bytes.size();
+        }
+        
+        public void op(int opcode) {
+            
+            bytes.write(opcode);
+        }
+        
+        public void op(int opcode, int constant) {
+            
+            bytes.write(opcode);
+            bytes.write(constant >> 8);
+            bytes.write(constant);
+        }
+        
+        public void local(int opcode, int local) {
+            
+            if (local > 255) {
+                
+                throw new IllegalStateException("Too many locals.");
+            }
+            
+            bytes.write(opcode);
+            bytes.write(local);
+        }
+        
+        public void pushInt(int value) {
+            
+            if (value >= -1 && value <= 5) {
+                
+                // ICONST_0 and its neighbours
+                bytes.write(0x03 + value);
+                
+            } else if (value >= Byte.MIN_VALUE && value <= Byte.MAX_VALUE) {
+                
+                // BIPUSH
+                bytes.write(0x10);
+                bytes.write(value);
+                
+            } else if (value >= Short.MIN_VALUE && value <= Short.MAX_VALUE) {
+                
+                // SIPUSH
+                op(0x11, value);
+                
+            } else {
+                
+                throw new IllegalStateException("Constant too large.");
+            }
+        }
+        
+        public void addHandler(int start, int end, int handler, int catchType) {
+            
+            handlers.add(new int[]{start, end, handler, catchType});
+        }
+        
+        public byte[] getBytes() {
+            
+            return bytes.toByteArray();
+        }
+        
+        public List<int[]> getHandlers() {
+            
+            return handlers;
+        }
+        
+        public int getMaxStack() {
+            
+            return maxStack;
+        }
+        
+        public int getMaxLocals() {
+            
+            return maxLocals;
+        }
+    }
+}
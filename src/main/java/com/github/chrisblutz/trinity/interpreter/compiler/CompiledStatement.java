@@ -0,0 +1,42 @@
+package com.github.chrisblutz.trinity.interpreter.compiler;
+
+import com.github.chrisblutz.trinity.cli.CLI;
+import com.github.chrisblutz.trinity.interpreter.errors.TrinityErrorException;
+import com.github.chrisblutz.trinity.interpreter.instructions.InstructionSet;
+import com.github.chrisblutz.trinity.lang.TYObject;
+import com.github.chrisblutz.trinity.lang.TYRuntime;
+import com.github.chrisblutz.trinity.lang.threading.TYThread;
+
+
+/**
+ * Superclass of the classes generated by {@link TierCompiler}.  Each subclass
+ * evaluates one statement of a method body, with every instruction set
+ * flattened into a single method so each instruction has its own call site.
+ *
+ * @author Christopher Lutz
+ */
+public abstract class CompiledStatement {
+    
+    protected final InstructionSet[] sets;
+    private final int[] siteSets, siteIndices;
+    
+    protected CompiledStatement(InstructionSet[] sets, int[] siteSets, int[] siteIndices) {
+        
+        this.sets = sets;
+        this.siteSets = siteSets;
+        this.siteIndices = siteIndices;
+    }
+    
+    public abstract TYObject evaluate(TYRuntime runtime);
+    
+    // Mirrors the error handling in InstructionSet.evaluate for the instruction at the given site
+    protected RuntimeException locate(RuntimeException e, int site) {
+        
+        if (CLI.isErrorLocationsOnly() && !(e instanceof TrinityErrorException)) {
+            
+            TYThread.getCurrentThread().setErrorLocation(e, sets[siteSets[site]].getInstructions()[siteIndices[site]].getLocation());
+        }
+        
+        return e;
+    }
+}
@@ -0,0 +1,301 @@
+package com.github.chrisblutz.trinity.interpreter.compiler;
+
+import com.github.chrisblutz.trinity.cli.CLI;
+import com.github.chrisblutz.trinity.interpreter.instructions.Instruction;
+import com.github.chrisblutz.trinity.interpreter.instructions.InstructionSet;
+import com.github.chrisblutz.trinity.lang.TYObject;
+import com.github.chrisblutz.trinity.lang.TYRuntime;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.github.chrisblutz.trinity.interpreter.compiler.ClassFileWriter.Code.*;
+
+
+/**
+ * Compiles the statements of hot method bodies into JVM classes.
+ * Nested instruction sets are flattened into straight-line code that calls
+ * each instruction directly, giving every instruction its own call site
+ * that the JVM can profile and inline.  Instructions are read from their
+ * parent sets on every evaluation, so instructions that rewrite themselves
+ * keep doing so after compilation.
+ *
+ * @author Christopher Lutz
+ */
+public class TierCompiler {
+    
+    private static final int THRESHOLD = Integer.getInteger("trinity.tier.threshold", 1000);
+    private static final int MAX_SITES = 2000;
+    
+    private static final String SUPERCLASS = "com/github/chrisblutz/trinity/interpreter/compiler/CompiledStatement";
+    private static final String PACKAGE = "com/github/chrisblutz/trinity/interpreter/compiler/generated/";
+    private static final String INSTRUCTION = "com/github/chrisblutz/trinity/interpreter/instructions/Instruction";
+    private static final String INSTRUCTION_SET = "com/github/chrisblutz/trinity/interpreter/instructions/InstructionSet";
+    private static final String OBJECT = "com/github/chrisblutz/trinity/lang/TYObject";
+    private static final String RUNTIME = "com/github/chrisblutz/trinity/lang/TYRuntime";
+    
+    // Locals of the generated evaluate method
+    private static final int THIS = 0, RUNTIME_LOCAL = 1, SITE = 2, EXCEPTION = 3, FIRST_OBJECT = 4;
+    
+    private static final AtomicInteger classCount = new AtomicInteger();
+    private static final CompilerClassLoader loader = new CompilerClassLoader();
+    
+    public static boolean isEnabled() {
+        
+        return !CLI.isInterpretOnly() && THRESHOLD > 0;
+    }
+    
+    public static int getThreshold() {
+        
+        return THRESHOLD;
+    }
+    
+    // Returns null if any statement cannot be compiled, in which case the body stays interpreted
+    public static CompiledStatement[] compile(InstructionSet[] statements) {
+        
+        try {
+            
+            CompiledStatement[] compiled = new CompiledStatement[statements.length];
+            
+            for (int i = 0; i < statements.length; i++) {
+                
+                compiled[i] = compile(statements[i]);
+                
+                if (compiled[i] == null) {
+                    
+                    return null;
+                }
+            }
+            
+            return compiled;
+            
+        } catch (ReflectiveOperationException | RuntimeException | LinkageError e) {
+            
+            if (CLI.isDebuggingEnabled()) {
+                
+                System.err.println("Failed to compile method body: " + e);
+            }
+            
+            return null;
+        }
+    }
+    
+    private static CompiledStatement compile(InstructionSet statement) throws ReflectiveOperationException {
+        
+        // Control flow statements such as if and while evaluate themselves
+        if (statement.getClass() != InstructionSet.class) {
+            
+            return new InterpretedStatement(statement);
+        }
+        
+        String name = PACKAGE + "Statement" + classCount.incrementAndGet();
+        ClassFileWriter writer = new ClassFileWriter(name, SUPERCLASS);
+        StatementBuilder builder = new StatementBuilder(writer);
+        
+        if (!builder.build(statement)) {
+            
+            return null;
+        }
+        
+        String setArray = "[L" + INSTRUCTION_SET + ";";
+        
+        ClassFileWriter.Code constructor = new ClassFileWriter.Code();
+        constructor.setMaxStack(4);
+        constructor.setMaxLocals(4);
+        constructor.local(ALOAD, 0);
+        constructor.local(ALOAD, 1);
+        constructor.local(ALOAD, 2);
+        constructor.local(ALOAD, 3);
+        constructor.op(INVOKESPECIAL, writer.methodConstant(SUPERCLASS, "<init>", "(" + setArray + "[I[I)V"));
+        constructor.op(RETURN);
+        writer.addMethod(ClassFileWriter.ACC_PUBLIC, "<init>", "(" + setArray + "[I[I)V", constructor);
+        
+        writer.addMethod(ClassFileWriter.ACC_PUBLIC, "evaluate", "(L" + RUNTIME + ";)L" + OBJECT + ";", builder.getCode());
+        
+        byte[] bytes = writer.toByteArray(ClassFileWriter.ACC_PUBLIC | ClassFileWriter.ACC_FINAL | ClassFileWriter.ACC_SUPER);
+        Class<?> compiledClass = loader.define(name.replace('/', '.'), bytes);
+        
+        return (CompiledStatement) compiledClass.getConstructor(InstructionSet[].class, int[].class, int[].class).newInstance(builder.getSets(), builder.getSiteSets(), builder.getSiteIndices());
+    }
+    
+    private static class StatementBuilder {
+        
+        private ClassFileWriter writer;
+        private ClassFileWriter.Code code = new ClassFileWriter.Code();
+        
+        private List<InstructionSet> sets = new ArrayList<>();
+        private List<Integer> siteSets = new ArrayList<>(), siteIndices = new ArrayList<>();
+        private int maxLocal = FIRST_OBJECT;
+        
+        private StatementBuilder(ClassFileWriter writer) {
+            
+            this.writer = writer;
+        }
+        
+        private boolean build(InstructionSet statement) {
+            
+            code.pushInt(0);
+            code.local(ISTORE, SITE);
+            
+            int start = code.position();
+            
+            code.op(GETSTATIC, writer.fieldConstant(OBJECT, "NONE", "L" + OBJECT + ";"));
+            code.local(ASTORE, FIRST_OBJECT);
+            
+            int result = buildSet(statement, FIRST_OBJECT);
+            
+            if (result < 0) {
+                
+                return false;
+            }
+            
+            code.local(ALOAD, result);
+            code.op(ARETURN);
+            
+            int end = code.position();
+            
+            code.local(ASTORE, EXCEPTION);
+            code.local(ALOAD, THIS);
+            code.local(ALOAD, EXCEPTION);
+            code.local(ILOAD, SITE);
+            code.op(INVOKEVIRTUAL, writer.methodConstant(SUPERCLASS, "locate", "(Ljava/lang/RuntimeException;I)Ljava/lang/RuntimeException;"));
+            code.op(ATHROW);
+            code.addHandler(start, end, end, writer.classConstant("java/lang/RuntimeException"));
+            
+            code.setMaxStack(4);
+            code.setMaxLocals(maxLocal + 1);
+            
+            return true;
+        }
+        
+        // Emits the evaluation of a set whose incoming object is in the given local,
+        // and returns the local that holds its result
+        private int buildSet(InstructionSet set, int input) {
+            
+            int setIndex = sets.size();
+            sets.add(set);
+            
+            int current = input + 1;
+            maxLocal = Math.max(maxLocal, current);
+            
+            if (current > 255) {
+                
+                return -1;
+            }
+            
+            loadSet(setIndex);
+            code.op(INVOKEVIRTUAL, writer.methodConstant(INSTRUCTION_SET, "updateLocation", "()V"));
+            code.local(ALOAD, input);
+            code.local(ASTORE, current);
+            
+            Instruction[] instructions = set.getInstructions();
+            for (int i = 0; i < instructions.length; i++) {
+                
+                if (instructions[i].getClass() == InstructionSet.class) {
+                    
+                    int result = buildSet((InstructionSet) instructions[i], current);
+                    
+                    if (result < 0) {
+                        
+                        return -1;
+                    }
+                    
+                    code.local(ALOAD, result);
+                    code.local(ASTORE, current);
+                    
+                } else {
+                    
+                    int site = siteSets.size();
+                    
+                    if (site >= MAX_SITES) {
+                        
+                        return -1;
+                    }
+                    
+                    siteSets.add(setIndex);
+                    siteIndices.add(i);
+                    
+                    code.pushInt(site);
+                    code.local(ISTORE, SITE);
+                    loadSet(setIndex);
+                    code.op(INVOKEVIRTUAL, writer.methodConstant(INSTRUCTION_SET, "getInstructions", "()[L" + INSTRUCTION + ";"));
+                    code.pushInt(i);
+                    code.op(AALOAD);
+                    code.local(ALOAD, current);
+                    code.local(ALOAD, RUNTIME_LOCAL);
+                    code.op(INVOKEVIRTUAL, writer.methodConstant(INSTRUCTION, "execute", "(L" + OBJECT + ";L" + RUNTIME + ";)L" + OBJECT + ";"));
+                    code.local(ASTORE, current);
+                }
+            }
+            
+            return current;
+        }
+        
+        private void loadSet(int index) {
+            
+            code.local(ALOAD, THIS);
+            code.op(GETFIELD, writer.fieldConstant(SUPERCLASS, "sets", "[L" + INSTRUCTION_SET + ";"));
+            code.pushInt(index);
+            code.op(AALOAD);
+        }
+        
+        private ClassFileWriter.Code getCode() {
+            
+            return code;
+        }
+        
+        private InstructionSet[] getSets() {
+            
+            return sets.toArray(new InstructionSet[sets.size()]);
+        }
+        
+        private int[] getSiteSets() {
+            
+            return toArray(siteSets);
+        }
+        
+        private int[] getSiteIndices() {
+            
+            return toArray(siteIndices);
+        }
+        
+        private static int[] toArray(List<Integer> list) {
+            
+            int[] array = new int[list.size()];
+            for (int i = 0; i < array.length; i++) {
+                
+                array[i] = list.get(i);
+            }
+            
+            return array;
+        }
+    }
+    
+    private static class InterpretedStatement extends CompiledStatement {
+        
+        private InterpretedStatement(InstructionSet statement) {
+            
+            super(new InstructionSet[]{statement}, new int[0], new int[0]);
+        }
+        
+        @Override
+        public TYObject evaluate(TYRuntime runtime) {
+            
+            return sets[0].evaluate(TYObject.NONE, runtime);
+        }
+    }
+    
+    private static class CompilerClassLoader extends ClassLoader {
+        
+        private CompilerClassLoader() {
+            
+            super(TierCompiler.class.getClassLoader());
+        }
+        
+        private Class<?> define(String name, byte[] bytes) {
+            
+            return defineClass(name, bytes, 0, bytes.length);
+        }
+    }
+}
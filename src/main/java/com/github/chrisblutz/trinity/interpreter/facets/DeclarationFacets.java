@@ -1,13 +1,16 @@
 package com.github.chrisblutz.trinity.interpreter.facets;
 
+import com.github.chrisblutz.trinity.cli.CLI;
 import com.github.chrisblutz.trinity.interpreter.*;
 import com.github.chrisblutz.trinity.interpreter.actions.InterfaceMethodProcedureAction;
+import com.github.chrisblutz.trinity.interpreter.actions.LazyProcedureAction;
 import com.github.chrisblutz.trinity.interpreter.actions.VariableProcedureAction;
 import com.github.chrisblutz.trinity.interpreter.instructions.InstructionSet;
 import com.github.chrisblutz.trinity.lang.*;
 import com.github.chrisblutz.trinity.lang.errors.Errors;
 import com.github.chrisblutz.trinity.lang.procedures.ProcedureAction;
 import com.github.chrisblutz.trinity.lang.procedures.TYProcedure;
+import com.github.chrisblutz.trinity.lang.variables.VariableTable;
 import com.github.chrisblutz.trinity.natives.TrinityNatives;
 import com.github.chrisblutz.trinity.parser.tokens.Token;
 import com.github.chrisblutz.trinity.parser.tokens.TokenInfo;
@@ -140,8 +143,10 @@ public class DeclarationFacets {
                         }
                         
                         String stackName = "<var='" + name + "'>";
+                        VariableTable variableTable = ExpressionInterpreter.openVariableTable();
                         InstructionSet set = ExpressionInterpreter.interpretExpression(null, assignment.toArray(new TokenInfo[assignment.size()]), location, containerClass.getName(), stackName, i == splitParts.size() - 1 ? nextBlock : null);
-                        action = new VariableProcedureAction(stackName, location, containerClass, set);
+                        ExpressionInterpreter.closeVariableTable();
+                        action = new VariableProcedureAction(stackName, location, containerClass, set, variableTable);
                     }
                 }
                 
@@ -216,8 +221,10 @@ public class DeclarationFacets {
                         }
                         
                         String stackName = "<val='" + name + "'>";
+                        VariableTable variableTable = ExpressionInterpreter.openVariableTable();
                         InstructionSet set = ExpressionInterpreter.interpretExpression(null, assignment.toArray(new TokenInfo[assignment.size()]), location, containerClass.getName(), stackName, i == splitParts.size() - 1 ? nextBlock : null);
-                        action = new VariableProcedureAction(stackName, location, containerClass, set);
+                        ExpressionInterpreter.closeVariableTable();
+                        action = new VariableProcedureAction(stackName, location, containerClass, set, variableTable);
                     }
                 }
                 
@@ -514,6 +521,8 @@ public class DeclarationFacets {
             String blockParam = null;
             String overflowParam = null;
             
+            VariableTable variableTable = ExpressionInterpreter.openVariableTable();
+            
             if (position < line.size() && line.get(position).getToken() == Token.LEFT_PARENTHESIS && line.get(line.size() - 1).getToken() == Token.RIGHT_PARENTHESIS) {
                 
                 position++;
@@ -536,12 +545,19 @@ public class DeclarationFacets {
                     
                     action = DEFAULT_METHOD;
                     
+                } else if (CLI.isStrict()) {
+                    
+                    action = ExpressionInterpreter.interpret(nextBlock, env, containerClass.getName(), name, true);
+                    
                 } else {
                     
-                    action = ExpressionInterpreter.interpret(nextBlock, env, env.getClassStack().get(env.getClassStack().size() - 1).getName(), name, true);
+                    // Most methods are never called, so bodies are only interpreted when they first are
+                    action = new LazyProcedureAction(nextBlock, env, containerClass.getName(), name, variableTable);
                 }
             }
             
+            ExpressionInterpreter.closeVariableTable();
+            
             // Check if container is an interface, and if it is, make sure this method has no body
             if (containerClass.isInterface() && action != DEFAULT_METHOD) {
                 
@@ -557,6 +573,7 @@ public class DeclarationFacets {
             }
             
             TYProcedure procedure = new TYProcedure(action, mandatoryParams, optParams, blockParam, overflowParam, true);
+            procedure.setVariableTable(variableTable);
             
             TYMethod method = new TYMethod(name, staticMethod, false, secureMethod, containerClass, procedure);
             method.setScope(env.getScope());
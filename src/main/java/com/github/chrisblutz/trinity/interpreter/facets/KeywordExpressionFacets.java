@@ -1,5 +1,6 @@
 package com.github.chrisblutz.trinity.interpreter.facets;
 
+import com.github.chrisblutz.trinity.interpreter.ExpressionInterpreter;
 import com.github.chrisblutz.trinity.interpreter.KeywordExpressions;
 import com.github.chrisblutz.trinity.interpreter.Location;
 import com.github.chrisblutz.trinity.interpreter.helpers.PostConstraintHelper;
@@ -146,7 +147,7 @@ public class KeywordExpressionFacets {
                 if (set.getInstructions().length == 1 && set.getInstructions()[0] instanceof SingleTokenInstruction) {
                     
                     String name = ((SingleTokenInstruction) set.getInstructions()[0]).getContents();
-                    return new CatchInstructionSet(next, name, location);
+                    return new CatchInstructionSet(next, name, ExpressionInterpreter.getVariableTable().getOrCreateSlot(name), location);
                     
                 } else {
                     
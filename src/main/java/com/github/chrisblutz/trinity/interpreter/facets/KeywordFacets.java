@@ -24,8 +24,9 @@ public class KeywordFacets {
     
     public static void registerFacets() {
         
+        // Strings are mutable through their character arrays, so each evaluation needs its own
         Keywords.register(Token.LITERAL_STRING, (thisObj, info, location, runtime) -> new TYString(info.getContents()));
-        Keywords.register(Token.NUMERIC_STRING, (thisObj, info, location, runtime) -> {
+        Keywords.registerConstant(Token.NUMERIC_STRING, (thisObj, info, location, runtime) -> {
             
             String numString = info.getContents();
             
@@ -45,7 +46,7 @@ public class KeywordFacets {
                 
                 try {
                     
-                    return new TYInt(Integer.parseInt(numString));
+                    return TYInt.valueOf(Integer.parseInt(numString));
                     
                 } catch (NumberFormatException e) {
                     
@@ -59,9 +60,9 @@ public class KeywordFacets {
             }
         });
         
-        Keywords.register(Token.NIL, (thisObj, info, location, runtime) -> TYObject.NIL);
-        Keywords.register(Token.TRUE, (thisObj, info, location, runtime) -> TYBoolean.TRUE);
-        Keywords.register(Token.FALSE, (thisObj, info, location, runtime) -> TYBoolean.FALSE);
+        Keywords.registerConstant(Token.NIL, (thisObj, info, location, runtime) -> TYObject.NIL);
+        Keywords.registerConstant(Token.TRUE, (thisObj, info, location, runtime) -> TYBoolean.TRUE);
+        Keywords.registerConstant(Token.FALSE, (thisObj, info, location, runtime) -> TYBoolean.FALSE);
         
         Keywords.register(Token.SUPER, (thisObj, info, location, runtime) -> {
             
@@ -89,7 +90,7 @@ public class KeywordFacets {
         });
         
         Keywords.register(Token.__FILE__, (thisObj, info, location, runtime) -> new TYString(location.getFile().getAbsolutePath()));
-        Keywords.register(Token.__LINE__, (thisObj, info, location, runtime) -> new TYInt(location.getLineNumber()));
+        Keywords.registerConstant(Token.__LINE__, (thisObj, info, location, runtime) -> TYInt.valueOf(location.getLineNumber()));
         
         Keywords.register(Token.BLOCK_CHECK, (thisObj, info, location, runtime) -> TYBoolean.valueFor(runtime.getProcedure() != null));
         
@@ -5,6 +5,7 @@ import com.github.chrisblutz.trinity.interpreter.instructions.InstructionSet;
 import com.github.chrisblutz.trinity.lang.TYObject;
 import com.github.chrisblutz.trinity.lang.TYRuntime;
 import com.github.chrisblutz.trinity.lang.types.bool.TYBoolean;
+import com.github.chrisblutz.trinity.lang.types.numeric.NumericOperations;
 import com.github.chrisblutz.trinity.lang.types.numeric.TYFloat;
 import com.github.chrisblutz.trinity.lang.types.numeric.TYInt;
 import com.github.chrisblutz.trinity.lang.types.numeric.TYLong;
@@ -65,7 +66,7 @@ public class OperatorFacets {
             @Override
             public TYObject operate(TYObject first, TYObject second, TYRuntime runtime) {
                 
-                if (TrinityNatives.isInstance(first, TrinityNatives.Classes.LONG) || TrinityNatives.isInstance(second, TrinityNatives.Classes.LONG)) {
+                if (first instanceof TYLong || second instanceof TYLong) {
                     
                     long firstLong = TrinityNatives.toLong(first);
                     long secondLong = TrinityNatives.toLong(second);
@@ -75,7 +76,7 @@ public class OperatorFacets {
                     
                     int firstInt = TrinityNatives.toInt(first);
                     int secondInt = TrinityNatives.toInt(second);
-                    return new TYInt(firstInt | secondInt);
+                    return TYInt.valueOf(firstInt | secondInt);
                 }
             }
         };
@@ -84,7 +85,7 @@ public class OperatorFacets {
             @Override
             public TYObject operate(TYObject first, TYObject second, TYRuntime runtime) {
                 
-                if (TrinityNatives.isInstance(first, TrinityNatives.Classes.LONG) || TrinityNatives.isInstance(second, TrinityNatives.Classes.LONG)) {
+                if (first instanceof TYLong || second instanceof TYLong) {
                     
                     long firstLong = TrinityNatives.toLong(first);
                     long secondLong = TrinityNatives.toLong(second);
@@ -94,7 +95,7 @@ public class OperatorFacets {
                     
                     int firstInt = TrinityNatives.toInt(first);
                     int secondInt = TrinityNatives.toInt(second);
-                    return new TYInt(firstInt ^ secondInt);
+                    return TYInt.valueOf(firstInt ^ secondInt);
                 }
             }
         };
@@ -103,7 +104,7 @@ public class OperatorFacets {
             @Override
             public TYObject operate(TYObject first, TYObject second, TYRuntime runtime) {
                 
-                if (TrinityNatives.isInstance(first, TrinityNatives.Classes.LONG) || TrinityNatives.isInstance(second, TrinityNatives.Classes.LONG)) {
+                if (first instanceof TYLong || second instanceof TYLong) {
                     
                     long firstLong = TrinityNatives.toLong(first);
                     long secondLong = TrinityNatives.toLong(second);
@@ -113,7 +114,7 @@ public class OperatorFacets {
                     
                     int firstInt = TrinityNatives.toInt(first);
                     int secondInt = TrinityNatives.toInt(second);
-                    return new TYInt(firstInt & secondInt);
+                    return TYInt.valueOf(firstInt & secondInt);
                 }
             }
         };
@@ -123,6 +124,11 @@ public class OperatorFacets {
             @Override
             public TYObject operate(TYObject first, TYObject second, TYRuntime runtime) {
                 
+                if (NumericOperations.usesNativeOperator(NumericOperations.EQUAL_TO, first, second)) {
+                    
+                    return TYBoolean.valueFor(NumericOperations.equal(first, second));
+                }
+                
                 return first.tyInvoke("==", runtime, null, null, second);
             }
         };
@@ -131,6 +137,11 @@ public class OperatorFacets {
             @Override
             public TYObject operate(TYObject first, TYObject second, TYRuntime runtime) {
                 
+                if (NumericOperations.usesNativeOperator(NumericOperations.EQUAL_TO, first, second)) {
+                    
+                    return TYBoolean.valueFor(!NumericOperations.equal(first, second));
+                }
+                
                 return TYBoolean.valueFor(!TrinityNatives.toBoolean(first.tyInvoke("==", runtime, null, null, second)));
             }
         };
@@ -139,7 +150,15 @@ public class OperatorFacets {
             @Override
             public TYObject operate(TYObject first, TYObject second, TYRuntime runtime) {
                 
-                int comparisonInt = TrinityNatives.toInt(first.tyInvoke("compareTo", runtime, null, null, second));
+                int comparisonInt;
+                if (NumericOperations.usesNativeOperator(NumericOperations.COMPARE_TO, first, second)) {
+                    
+                    comparisonInt = NumericOperations.compare(first, second);
+                    
+                } else {
+                    
+                    comparisonInt = TrinityNatives.toInt(first.tyInvoke("compareTo", runtime, null, null, second));
+                }
                 
                 return comparisonInt < 0 ? TYBoolean.TRUE : TYBoolean.FALSE;
             }
@@ -149,7 +168,15 @@ public class OperatorFacets {
             @Override
             public TYObject operate(TYObject first, TYObject second, TYRuntime runtime) {
                 
-                int comparisonInt = TrinityNatives.toInt(first.tyInvoke("compareTo", runtime, null, null, second));
+                int comparisonInt;
+                if (NumericOperations.usesNativeOperator(NumericOperations.COMPARE_TO, first, second)) {
+                    
+                    comparisonInt = NumericOperations.compare(first, second);
+                    
+                } else {
+                    
+                    comparisonInt = TrinityNatives.toInt(first.tyInvoke("compareTo", runtime, null, null, second));
+                }
                 
                 return comparisonInt <= 0 ? TYBoolean.TRUE : TYBoolean.FALSE;
             }
@@ -159,7 +186,15 @@ public class OperatorFacets {
             @Override
             public TYObject operate(TYObject first, TYObject second, TYRuntime runtime) {
                 
-                int comparisonInt = TrinityNatives.toInt(first.tyInvoke("compareTo", runtime, null, null, second));
+                int comparisonInt;
+                if (NumericOperations.usesNativeOperator(NumericOperations.COMPARE_TO, first, second)) {
+                    
+                    comparisonInt = NumericOperations.compare(first, second);
+                    
+                } else {
+                    
+                    comparisonInt = TrinityNatives.toInt(first.tyInvoke("compareTo", runtime, null, null, second));
+                }
                 
                 return comparisonInt > 0 ? TYBoolean.TRUE : TYBoolean.FALSE;
             }
@@ -169,7 +204,15 @@ public class OperatorFacets {
             @Override
             public TYObject operate(TYObject first, TYObject second, TYRuntime runtime) {
                 
-                int comparisonInt = TrinityNatives.toInt(first.tyInvoke("compareTo", runtime, null, null, second));
+                int comparisonInt;
+                if (NumericOperations.usesNativeOperator(NumericOperations.COMPARE_TO, first, second)) {
+                    
+                    comparisonInt = NumericOperations.compare(first, second);
+                    
+                } else {
+                    
+                    comparisonInt = TrinityNatives.toInt(first.tyInvoke("compareTo", runtime, null, null, second));
+                }
                 
                 return comparisonInt >= 0 ? TYBoolean.TRUE : TYBoolean.FALSE;
             }
@@ -180,6 +223,12 @@ public class OperatorFacets {
             @Override
             public TYObject operate(TYObject first, TYObject second, TYRuntime runtime) {
                 
+                TYObject result = NumericOperations.usesNativeOperator(NumericOperations.SHIFT_LEFT, first, second) ? NumericOperations.shiftLeft(first, second) : null;
+                if (result != null) {
+                    
+                    return result;
+                }
+                
                 return first.tyInvoke("<<", runtime, null, null, second);
             }
         };
@@ -188,6 +237,12 @@ public class OperatorFacets {
             @Override
             public TYObject operate(TYObject first, TYObject second, TYRuntime runtime) {
                 
+                TYObject result = NumericOperations.usesNativeOperator(NumericOperations.SHIFT_RIGHT, first, second) ? NumericOperations.shiftRight(first, second) : null;
+                if (result != null) {
+                    
+                    return result;
+                }
+                
                 return first.tyInvoke(">>", runtime, null, null, second);
             }
         };
@@ -196,6 +251,12 @@ public class OperatorFacets {
             @Override
             public TYObject operate(TYObject first, TYObject second, TYRuntime runtime) {
                 
+                TYObject result = NumericOperations.usesNativeOperator(NumericOperations.SHIFT_RIGHT_LOGICAL, first, second) ? NumericOperations.shiftRightLogical(first, second) : null;
+                if (result != null) {
+                    
+                    return result;
+                }
+                
                 return first.tyInvoke(">>>", runtime, null, null, second);
             }
         };
@@ -205,6 +266,12 @@ public class OperatorFacets {
             @Override
             public TYObject operate(TYObject first, TYObject second, TYRuntime runtime) {
                 
+                TYObject result = NumericOperations.usesNativeOperator(NumericOperations.SUBTRACT, first, second) ? NumericOperations.subtract(first, second) : null;
+                if (result != null) {
+                    
+                    return result;
+                }
+                
                 return first.tyInvoke("-", runtime, null, null, second);
             }
         };
@@ -213,6 +280,12 @@ public class OperatorFacets {
             @Override
             public TYObject operate(TYObject first, TYObject second, TYRuntime runtime) {
                 
+                TYObject result = NumericOperations.usesNativeOperator(NumericOperations.ADD, first, second) ? NumericOperations.add(first, second) : null;
+                if (result != null) {
+                    
+                    return result;
+                }
+                
                 TYObject trueFirst = first;
                 if (TrinityNatives.isInstance(second, TrinityNatives.Classes.STRING) && !TrinityNatives.isInstance(first, TrinityNatives.Classes.STRING)) {
                     
@@ -231,6 +304,13 @@ public class OperatorFacets {
             @Override
             public TYObject operate(TYObject first, TYObject second, TYRuntime runtime) {
                 
+                // Division by zero goes through the native method so the error is reported the usual way
+                TYObject result = NumericOperations.usesNativeOperator(NumericOperations.MODULUS, first, second) && !NumericOperations.isZero(second) ? NumericOperations.modulus(first, second) : null;
+                if (result != null) {
+                    
+                    return result;
+                }
+                
                 return first.tyInvoke("%", runtime, null, null, second);
             }
         };
@@ -239,6 +319,13 @@ public class OperatorFacets {
             @Override
             public TYObject operate(TYObject first, TYObject second, TYRuntime runtime) {
                 
+                // Division by zero goes through the native method so the error is reported the usual way
+                TYObject result = NumericOperations.usesNativeOperator(NumericOperations.DIVIDE, first, second) && !NumericOperations.isZero(second) ? NumericOperations.divide(first, second) : null;
+                if (result != null) {
+                    
+                    return result;
+                }
+                
                 return first.tyInvoke("/", runtime, null, null, second);
             }
         };
@@ -247,6 +334,12 @@ public class OperatorFacets {
             @Override
             public TYObject operate(TYObject first, TYObject second, TYRuntime runtime) {
                 
+                TYObject result = NumericOperations.usesNativeOperator(NumericOperations.MULTIPLY, first, second) ? NumericOperations.multiply(first, second) : null;
+                if (result != null) {
+                    
+                    return result;
+                }
+                
                 if (TrinityNatives.isInstance(second, TrinityNatives.Classes.STRING)) {
                     
                     return second.tyInvoke("*", runtime, null, null, first);
@@ -289,17 +382,17 @@ public class OperatorFacets {
             @Override
             public TYObject operate(TYObject value) {
                 
-                if (TrinityNatives.isInstance(value, TrinityNatives.Classes.LONG)) {
+                if (value instanceof TYLong) {
                     
                     return new TYLong(+TrinityNatives.toLong(value));
                     
-                } else if (TrinityNatives.isInstance(value, TrinityNatives.Classes.FLOAT)) {
+                } else if (value instanceof TYFloat) {
                     
                     return new TYFloat(+TrinityNatives.toFloat(value));
                     
                 } else {
                     
-                    return new TYInt(+TrinityNatives.toInt(value));
+                    return TYInt.valueOf(+TrinityNatives.toInt(value));
                 }
             }
         };
@@ -308,17 +401,17 @@ public class OperatorFacets {
             @Override
             public TYObject operate(TYObject value) {
                 
-                if (TrinityNatives.isInstance(value, TrinityNatives.Classes.LONG)) {
+                if (value instanceof TYLong) {
                     
                     return new TYLong(-TrinityNatives.toLong(value));
                     
-                } else if (TrinityNatives.isInstance(value, TrinityNatives.Classes.FLOAT)) {
+                } else if (value instanceof TYFloat) {
                     
                     return new TYFloat(-TrinityNatives.toFloat(value));
                     
                 } else {
                     
-                    return new TYInt(-TrinityNatives.toInt(value));
+                    return TYInt.valueOf(-TrinityNatives.toInt(value));
                 }
             }
         };
@@ -327,13 +420,13 @@ public class OperatorFacets {
             @Override
             public TYObject operate(TYObject value) {
                 
-                if (TrinityNatives.isInstance(value, TrinityNatives.Classes.LONG)) {
+                if (value instanceof TYLong) {
                     
                     return new TYLong(~TrinityNatives.toLong(value));
                     
                 } else {
                     
-                    return new TYInt(~TrinityNatives.toInt(value));
+                    return TYInt.valueOf(~TrinityNatives.toInt(value));
                 }
             }
         };
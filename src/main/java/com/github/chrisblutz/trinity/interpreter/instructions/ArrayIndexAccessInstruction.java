@@ -0,0 +1,90 @@
+package com.github.chrisblutz.trinity.interpreter.instructions;
+
+import com.github.chrisblutz.trinity.lang.ClassRegistry;
+import com.github.chrisblutz.trinity.lang.TYClass;
+import com.github.chrisblutz.trinity.lang.TYMethod;
+import com.github.chrisblutz.trinity.lang.TYObject;
+import com.github.chrisblutz.trinity.lang.TYRuntime;
+import com.github.chrisblutz.trinity.lang.types.arrays.TYArray;
+import com.github.chrisblutz.trinity.lang.types.numeric.TYInt;
+import com.github.chrisblutz.trinity.natives.TrinityNatives;
+
+import java.util.List;
+
+
+/**
+ * @author Christopher Lutz
+ */
+public class ArrayIndexAccessInstruction extends Instruction {
+    
+    private static final TYClass ARRAY_CLASS = ClassRegistry.getClass(TrinityNatives.Classes.ARRAY);
+    
+    private IndexAccessInstruction generic;
+    private int dispatchVersion;
+    
+    private ArrayIndexAccessInstruction(IndexAccessInstruction generic, int dispatchVersion) {
+        
+        super(generic.getLocation());
+        
+        this.generic = generic;
+        this.dispatchVersion = dispatchVersion;
+    }
+    
+    @Override
+    protected TYObject evaluate(TYObject thisObj, TYRuntime runtime) {
+        
+        updateLocation();
+        
+        TYObject index = generic.getIndices()[0].evaluate(TYObject.NONE, runtime);
+        
+        if (thisObj instanceof TYArray && index instanceof TYInt && isNativeIndex()) {
+            
+            List<TYObject> list = ((TYArray) thisObj).getInternalList();
+            int i = ((TYInt) index).getInternalInteger();
+            
+            // Out of range indices go through Array.[] so the error is reported the usual way
+            if (i >= 0 && i < list.size()) {
+                
+                return list.get(i);
+            }
+            
+            return thisObj.tyInvoke("[]", runtime, null, runtime, index);
+        }
+        
+        generic.setGeneric();
+        replace(generic);
+        
+        return thisObj.tyInvoke("[]", runtime, null, runtime, index);
+    }
+    
+    private boolean isNativeIndex() {
+        
+        int version = ARRAY_CLASS.getDispatchVersion();
+        
+        if (version != dispatchVersion) {
+            
+            if (!usesNativeIndex()) {
+                
+                return false;
+            }
+            
+            dispatchVersion = version;
+        }
+        
+        return true;
+    }
+    
+    private static boolean usesNativeIndex() {
+        
+        TYMethod method = ARRAY_CLASS.findMethod("[]");
+        
+        return method != null && method.isNativeMethod() && method.getContainerClass() == ARRAY_CLASS;
+    }
+    
+    public static ArrayIndexAccessInstruction specialize(IndexAccessInstruction generic) {
+        
+        int version = ARRAY_CLASS.getDispatchVersion();
+        
+        return usesNativeIndex() ? new ArrayIndexAccessInstruction(generic, version) : null;
+    }
+}
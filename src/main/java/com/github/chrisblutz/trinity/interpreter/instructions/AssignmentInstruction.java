@@ -6,7 +6,6 @@ import com.github.chrisblutz.trinity.interpreter.Location;
 import com.github.chrisblutz.trinity.lang.TYObject;
 import com.github.chrisblutz.trinity.lang.TYRuntime;
 import com.github.chrisblutz.trinity.lang.variables.VariableLoc;
-import com.github.chrisblutz.trinity.lang.variables.VariableManager;
 import com.github.chrisblutz.trinity.parser.tokens.Token;
 
 
@@ -63,22 +62,22 @@ public class AssignmentInstruction extends Instruction {
             
             if (getOperator() == Token.ASSIGNMENT_OPERATOR) {
                 
-                VariableManager.put(loc, opObj);
+                loc.setValue(opObj);
                 
             } else {
                 
-                TYObject currentObj = VariableManager.getVariable(loc);
+                TYObject currentObj = loc.getValue();
                 
                 if (getOperator() == Token.NIL_ASSIGNMENT_OPERATOR && currentObj == TYObject.NIL) {
                     
-                    VariableManager.put(loc, opObj);
+                    loc.setValue(opObj);
                     
                 } else {
                     
                     BinaryOperator op = AssignmentOperators.getOperator(getOperator());
                     opObj = op.operate(currentObj, opObj, runtime);
                     
-                    VariableManager.put(loc, opObj);
+                    loc.setValue(opObj);
                 }
             }
             
@@ -4,6 +4,7 @@ import com.github.chrisblutz.trinity.interpreter.BinaryOperator;
 import com.github.chrisblutz.trinity.interpreter.Location;
 import com.github.chrisblutz.trinity.lang.TYObject;
 import com.github.chrisblutz.trinity.lang.TYRuntime;
+import com.github.chrisblutz.trinity.lang.types.numeric.TYInt;
 
 
 /**
@@ -13,6 +14,7 @@ public class BinaryOperatorInstruction extends Instruction {
     
     private BinaryOperator operator;
     private InstructionSet operand;
+    private boolean generic = false;
     
     public BinaryOperatorInstruction(BinaryOperator operator, InstructionSet operand, Location location) {
         
@@ -32,6 +34,11 @@ public class BinaryOperatorInstruction extends Instruction {
         return operand;
     }
     
+    public void setGeneric() {
+        
+        generic = true;
+    }
+    
     @Override
     protected TYObject evaluate(TYObject thisObj, TYRuntime runtime) {
         
@@ -39,6 +46,22 @@ public class BinaryOperatorInstruction extends Instruction {
         
         TYObject operand = getOperand().evaluate(TYObject.NONE, runtime);
         
+        // Specialize on the first evaluation only, so operators that see mixed types stay generic
+        if (!generic) {
+            
+            generic = true;
+            
+            if (thisObj instanceof TYInt && operand instanceof TYInt) {
+                
+                IntBinaryOperatorInstruction specialized = IntBinaryOperatorInstruction.specialize(this);
+                
+                if (specialized != null) {
+                    
+                    replace(specialized);
+                }
+            }
+        }
+        
         return getOperator().operate(thisObj, operand, runtime);
     }
 }
@@ -13,15 +13,17 @@ public class CatchInstructionSet extends InstructionSet {
     
     private ProcedureAction action;
     private String errorVariable;
+    private int errorVariableSlot;
     private TYObject errorObject = TYObject.NIL;
     private TryInstructionSet trySet;
     
-    public CatchInstructionSet(ProcedureAction action, String errorVariable, Location location) {
+    public CatchInstructionSet(ProcedureAction action, String errorVariable, int errorVariableSlot, Location location) {
         
         super(new Instruction[0], location);
         
         this.action = action;
         this.errorVariable = errorVariable;
+        this.errorVariableSlot = errorVariableSlot;
     }
     
     public ProcedureAction getAction() {
@@ -65,7 +67,7 @@ public class CatchInstructionSet extends InstructionSet {
         
         if (getAction() != null) {
             
-            newRuntime.setVariable(getErrorVariable(), getErrorObject());
+            newRuntime.setVariable(errorVariableSlot, getErrorObject());
             result = getAction().onAction(newRuntime, null, TYObject.NONE);
         }
         
@@ -0,0 +1,73 @@
+package com.github.chrisblutz.trinity.interpreter.instructions;
+
+import com.github.chrisblutz.trinity.lang.ClassRegistry;
+import com.github.chrisblutz.trinity.lang.TYObject;
+import com.github.chrisblutz.trinity.lang.TYRuntime;
+import com.github.chrisblutz.trinity.lang.variables.VariableLoc;
+
+
+/**
+ * A class or module name referenced inside of a loop.  The enclosing loop
+ * resolves the name once each time it starts and stores the result in a
+ * hidden slot of the frame, so iterations read the slot instead of
+ * checking variables, fields and modules every time.
+ *
+ * @author Christopher Lutz
+ */
+public class ClassReferenceInstruction extends Instruction {
+    
+    private SingleTokenInstruction token;
+    private int slot;
+    
+    public ClassReferenceInstruction(SingleTokenInstruction token, int slot) {
+        
+        super(token.getLocation());
+        
+        this.token = token;
+        this.slot = slot;
+    }
+    
+    public SingleTokenInstruction getToken() {
+        
+        return token;
+    }
+    
+    public void hoist(TYRuntime runtime) {
+        
+        int epoch = ClassRegistry.getEpoch();
+        TYObject value = token.resolveClassReference(runtime);
+        
+        runtime.setVariableLoc(slot, value == null ? null : new HoistedLoc(value, epoch));
+    }
+    
+    @Override
+    protected TYObject evaluate(TYObject thisObj, TYRuntime runtime) {
+        
+        updateLocation();
+        
+        if (thisObj == TYObject.NONE) {
+            
+            VariableLoc loc = runtime.getVariableLoc(slot);
+            
+            // Classes defined since the loop started may change what the name refers to
+            if (loc instanceof HoistedLoc && ((HoistedLoc) loc).epoch == ClassRegistry.getEpoch()) {
+                
+                return loc.getValue();
+            }
+        }
+        
+        return token.evaluateToken(thisObj, runtime);
+    }
+    
+    private static class HoistedLoc extends VariableLoc {
+        
+        private int epoch;
+        
+        private HoistedLoc(TYObject value, int epoch) {
+            
+            super(value);
+            
+            this.epoch = epoch;
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.github.chrisblutz.trinity.interpreter.instructions;
+
+import com.github.chrisblutz.trinity.lang.NativeMethodGuard;
+import com.github.chrisblutz.trinity.lang.TYObject;
+import com.github.chrisblutz.trinity.lang.TYRuntime;
+import com.github.chrisblutz.trinity.lang.types.bool.TYBoolean;
+import com.github.chrisblutz.trinity.lang.types.numeric.NumericOperations;
+import com.github.chrisblutz.trinity.natives.TrinityNatives;
+
+
+/**
+ * A constant expression folded into a single instruction.  The
+ * expression is evaluated the first time this instruction runs, and its
+ * result is reused for as long as every operator it uses is still
+ * Numeric's native method.
+ *
+ * @author Christopher Lutz
+ */
+public class ConstantInstruction extends Instruction {
+    
+    public static final int NUMBER = 0, BOOLEAN = 1;
+    
+    private static final String[] NUMERIC_CLASSES = new String[]{TrinityNatives.Classes.INT, TrinityNatives.Classes.LONG, TrinityNatives.Classes.FLOAT};
+    
+    private InstructionSet expression;
+    private int type;
+    private NativeMethodGuard[] guards;
+    private volatile TYObject value = null;
+    
+    public ConstantInstruction(InstructionSet expression, int type, NativeMethodGuard[] guards) {
+        
+        super(expression.getLocation());
+        
+        this.expression = expression;
+        this.type = type;
+        this.guards = guards;
+    }
+    
+    public InstructionSet getExpression() {
+        
+        return expression;
+    }
+    
+    public int getType() {
+        
+        return type;
+    }
+    
+    public NativeMethodGuard[] getGuards() {
+        
+        return guards;
+    }
+    
+    @Override
+    protected TYObject evaluate(TYObject thisObj, TYRuntime runtime) {
+        
+        updateLocation();
+        
+        TYObject value = this.value;
+        
+        if (value != null && usesNativeOperators()) {
+            
+            return value;
+        }
+        
+        // Errors such as division by zero are left to happen again on the next evaluation
+        value = expression.evaluate(TYObject.NONE, runtime);
+        this.value = isImmutable(value) && usesNativeOperators() ? value : null;
+        
+        return value;
+    }
+    
+    private boolean usesNativeOperators() {
+        
+        for (NativeMethodGuard guard : guards) {
+            
+            for (String name : NUMERIC_CLASSES) {
+                
+                if (!guard.isNative(TrinityNatives.getClass(name))) {
+                    
+                    return false;
+                }
+            }
+        }
+        
+        return true;
+    }
+    
+    private static boolean isImmutable(TYObject value) {
+        
+        return NumericOperations.isPrimitive(value) || value instanceof TYBoolean;
+    }
+}
@@ -14,6 +14,7 @@ public class ForInstructionSet extends InstructionSet {
     
     private InstructionSet initial, expression, after;
     private ProcedureAction action;
+    private ClassReferenceInstruction[] hoistedReferences = new ClassReferenceInstruction[0];
     
     public ForInstructionSet(InstructionSet initial, InstructionSet expression, InstructionSet after, ProcedureAction action, Location location) {
         
@@ -45,6 +46,16 @@ public class ForInstructionSet extends InstructionSet {
         return action;
     }
     
+    public ClassReferenceInstruction[] getHoistedReferences() {
+        
+        return hoistedReferences;
+    }
+    
+    public void setHoistedReferences(ClassReferenceInstruction[] hoistedReferences) {
+        
+        this.hoistedReferences = hoistedReferences;
+    }
+    
     @Override
     public TYObject evaluate(TYObject thisObj, TYRuntime runtime) {
         
@@ -52,6 +63,11 @@ public class ForInstructionSet extends InstructionSet {
         
         TYRuntime newRuntime = runtime.clone();
         
+        for (ClassReferenceInstruction reference : hoistedReferences) {
+            
+            reference.hoist(newRuntime);
+        }
+        
         if (getInitial() != null) {
             
             getInitial().evaluate(TYObject.NONE, newRuntime);
@@ -5,7 +5,6 @@ import com.github.chrisblutz.trinity.interpreter.variables.Variables;
 import com.github.chrisblutz.trinity.lang.TYObject;
 import com.github.chrisblutz.trinity.lang.errors.Errors;
 import com.github.chrisblutz.trinity.lang.TYRuntime;
-import com.github.chrisblutz.trinity.lang.variables.VariableManager;
 
 
 /**
@@ -34,7 +33,7 @@ public class GlobalVariableInstruction extends Instruction {
         
         if (Variables.hasGlobalVariable(getName())) {
             
-            return VariableManager.getVariable(Variables.getGlobalVariable(getName()));
+            return Variables.getGlobalVariable(getName()).getValue();
             
         } else {
             
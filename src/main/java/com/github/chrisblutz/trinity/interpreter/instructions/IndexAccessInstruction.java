@@ -4,6 +4,8 @@ import com.github.chrisblutz.trinity.interpreter.Location;
 import com.github.chrisblutz.trinity.lang.TYObject;
 import com.github.chrisblutz.trinity.lang.procedures.TYProcedure;
 import com.github.chrisblutz.trinity.lang.TYRuntime;
+import com.github.chrisblutz.trinity.lang.types.arrays.TYArray;
+import com.github.chrisblutz.trinity.lang.types.numeric.TYInt;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -16,6 +18,7 @@ public class IndexAccessInstruction extends Instruction {
     
     private InstructionSet[] indices;
     private TYProcedure procedure;
+    private boolean generic = false;
     
     public IndexAccessInstruction(InstructionSet[] indices, TYProcedure procedure, Location location) {
         
@@ -35,6 +38,11 @@ public class IndexAccessInstruction extends Instruction {
         return procedure;
     }
     
+    public void setGeneric() {
+        
+        generic = true;
+    }
+    
     @Override
     protected TYObject evaluate(TYObject thisObj, TYRuntime runtime) {
         
@@ -48,6 +56,21 @@ public class IndexAccessInstruction extends Instruction {
         
         TYObject[] indexArray = indices.toArray(new TYObject[indices.size()]);
         
+        if (!generic) {
+            
+            generic = true;
+            
+            if (thisObj instanceof TYArray && indexArray.length == 1 && indexArray[0] instanceof TYInt && getProcedure() == null) {
+                
+                ArrayIndexAccessInstruction specialized = ArrayIndexAccessInstruction.specialize(this);
+                
+                if (specialized != null) {
+                    
+                    replace(specialized);
+                }
+            }
+        }
+        
         return thisObj.tyInvoke("[]", runtime, getProcedure(), runtime, indexArray);
     }
 }
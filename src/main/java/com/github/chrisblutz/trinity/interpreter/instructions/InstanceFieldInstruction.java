@@ -0,0 +1,77 @@
+package com.github.chrisblutz.trinity.interpreter.instructions;
+
+import com.github.chrisblutz.trinity.lang.TYClass;
+import com.github.chrisblutz.trinity.lang.TYObject;
+import com.github.chrisblutz.trinity.lang.TYRuntime;
+import com.github.chrisblutz.trinity.lang.variables.FieldLayout;
+import com.github.chrisblutz.trinity.lang.variables.VariableLoc;
+
+
+/**
+ * @author Christopher Lutz
+ */
+public class InstanceFieldInstruction extends Instruction {
+    
+    private SingleTokenInstruction generic;
+    private FieldLayout layout;
+    private TYClass tyClass;
+    private int classFieldVersion, offset;
+    
+    private InstanceFieldInstruction(SingleTokenInstruction generic, FieldLayout layout, TYClass tyClass, int classFieldVersion, int offset) {
+        
+        super(generic.getLocation());
+        
+        this.generic = generic;
+        this.layout = layout;
+        this.tyClass = tyClass;
+        this.classFieldVersion = classFieldVersion;
+        this.offset = offset;
+    }
+    
+    @Override
+    protected TYObject evaluate(TYObject thisObj, TYRuntime runtime) {
+        
+        updateLocation();
+        
+        // The same layout, method class and class fields always resolve the token to the same slot,
+        // as long as no local variable shadows it
+        TYObject self = runtime.getThis();
+        int slot = generic.getSlot();
+        
+        if (thisObj == TYObject.NONE && self.getFieldLayout() == layout && runtime.getTyClass() == tyClass && TYClass.getClassFieldVersion() == classFieldVersion && (slot < 0 || runtime.getVariableLoc(slot) == null)) {
+            
+            VariableLoc loc = self.getFields()[offset];
+            
+            if (loc.checkScope(runtime)) {
+                
+                return loc.getValue();
+            }
+            
+            loc.getScope().reportAccessViolation(runtime);
+        }
+        
+        generic.setGeneric();
+        replace(generic);
+        
+        return generic.evaluateToken(thisObj, runtime);
+    }
+    
+    public static InstanceFieldInstruction specialize(SingleTokenInstruction generic, TYRuntime runtime, VariableLoc loc) {
+        
+        TYObject self = runtime.getThis();
+        VariableLoc[] fields = self.getFields();
+        
+        if (fields != null) {
+            
+            for (int i = 0; i < fields.length; i++) {
+                
+                if (fields[i] == loc) {
+                    
+                    return new InstanceFieldInstruction(generic, self.getFieldLayout(), runtime.getTyClass(), TYClass.getClassFieldVersion(), i);
+                }
+            }
+        }
+        
+        return null;
+    }
+}
@@ -1,5 +1,6 @@
 package com.github.chrisblutz.trinity.interpreter.instructions;
 
+import com.github.chrisblutz.trinity.cli.CLI;
 import com.github.chrisblutz.trinity.interpreter.Location;
 import com.github.chrisblutz.trinity.interpreter.TrinityInterpreter;
 import com.github.chrisblutz.trinity.lang.TYObject;
@@ -13,6 +14,8 @@ import com.github.chrisblutz.trinity.runner.Runner;
 public abstract class Instruction {
     
     private Location location;
+    private InstructionSet parent = null;
+    private int index = -1;
     
     public Instruction(Location location) {
         
@@ -24,10 +27,43 @@ public abstract class Instruction {
         return location;
     }
     
+    public InstructionSet getParent() {
+        
+        return parent;
+    }
+    
+    protected void adopt(InstructionSet parent, int index) {
+        
+        this.parent = parent;
+        this.index = index;
+    }
+    
+    // Swaps this instruction for another in its parent set, so later evaluations skip this one.
+    // Instructions that are not part of a set keep running, and the replacement is simply returned.
+    protected <T extends Instruction> T replace(T replacement) {
+        
+        if (parent != null) {
+            
+            parent.replaceInstruction(index, replacement);
+        }
+        
+        return replacement;
+    }
+    
     public void updateLocation() {
         
         TrinityInterpreter.incrementInstructionCount();
-        Runner.updateLocation(location.getFileName(), location.getLineNumber());
+        
+        if (!CLI.isErrorLocationsOnly()) {
+            
+            Runner.updateLocation(location);
+        }
+    }
+    
+    // Lets code outside of this package, such as the compiled tiers, evaluate single instructions
+    public final TYObject execute(TYObject thisObj, TYRuntime runtime) {
+        
+        return evaluate(thisObj, runtime);
     }
     
     protected abstract TYObject evaluate(TYObject thisObj, TYRuntime runtime);
@@ -1,8 +1,11 @@
 package com.github.chrisblutz.trinity.interpreter.instructions;
 
+import com.github.chrisblutz.trinity.cli.CLI;
 import com.github.chrisblutz.trinity.interpreter.Location;
+import com.github.chrisblutz.trinity.interpreter.errors.TrinityErrorException;
 import com.github.chrisblutz.trinity.lang.TYObject;
 import com.github.chrisblutz.trinity.lang.TYRuntime;
+import com.github.chrisblutz.trinity.lang.threading.TYThread;
 
 
 /**
@@ -17,6 +20,11 @@ public class InstructionSet extends Instruction {
         super(location);
         
         this.instructions = instructions;
+        
+        for (int i = 0; i < instructions.length; i++) {
+            
+            instructions[i].adopt(this, i);
+        }
     }
     
     public Instruction[] getInstructions() {
@@ -24,15 +32,46 @@ public class InstructionSet extends Instruction {
         return instructions;
     }
     
+    public void setInstructions(Instruction[] instructions) {
+        
+        this.instructions = instructions;
+        
+        for (int i = 0; i < instructions.length; i++) {
+            
+            instructions[i].adopt(this, i);
+        }
+    }
+    
+    public void replaceInstruction(int index, Instruction replacement) {
+        
+        replacement.adopt(this, index);
+        instructions[index] = replacement;
+    }
+    
     @Override
     public TYObject evaluate(TYObject thisObj, TYRuntime runtime) {
         
         updateLocation();
         
         TYObject currentThis = thisObj;
-        for (Instruction instruction : getInstructions()) {
+        int i = 0;
+        
+        try {
+            
+            for (; i < instructions.length; i++) {
+                
+                currentThis = instructions[i].evaluate(currentThis, runtime);
+            }
+            
+        } catch (RuntimeException e) {
+            
+            // Locations are only tracked per instruction when asked to, so rebuild it from the failing instruction
+            if (CLI.isErrorLocationsOnly() && !(e instanceof TrinityErrorException)) {
+                
+                TYThread.getCurrentThread().setErrorLocation(e, instructions[i].getLocation());
+            }
             
-            currentThis = instruction.evaluate(currentThis, runtime);
+            throw e;
         }
         
         return currentThis;
@@ -0,0 +1,198 @@
+package com.github.chrisblutz.trinity.interpreter.instructions;
+
+import com.github.chrisblutz.trinity.lang.NativeMethodGuard;
+import com.github.chrisblutz.trinity.lang.TYObject;
+import com.github.chrisblutz.trinity.lang.TYRuntime;
+import com.github.chrisblutz.trinity.lang.types.bool.TYBoolean;
+import com.github.chrisblutz.trinity.lang.types.numeric.NumericOperations;
+import com.github.chrisblutz.trinity.lang.types.numeric.TYInt;
+import com.github.chrisblutz.trinity.parser.tokens.Token;
+
+
+/**
+ * @author Christopher Lutz
+ */
+public class IntBinaryOperatorInstruction extends Instruction {
+    
+    private static final int ADD = 0, SUBTRACT = 1, MULTIPLY = 2, DIVIDE = 3, MODULUS = 4;
+    private static final int LESS_THAN = 5, LESS_THAN_OR_EQUAL_TO = 6, GREATER_THAN = 7, GREATER_THAN_OR_EQUAL_TO = 8, EQUAL_TO = 9, NOT_EQUAL_TO = 10;
+    
+    private BinaryOperatorInstruction generic;
+    private int operation;
+    private NativeMethodGuard guard;
+    
+    private IntBinaryOperatorInstruction(BinaryOperatorInstruction generic, int operation) {
+        
+        super(generic.getLocation());
+        
+        this.generic = generic;
+        this.operation = operation;
+        this.guard = getGuard(operation);
+    }
+    
+    @Override
+    protected TYObject evaluate(TYObject thisObj, TYRuntime runtime) {
+        
+        updateLocation();
+        
+        TYObject operand = generic.getOperand().evaluate(TYObject.NONE, runtime);
+        
+        if (thisObj instanceof TYInt && operand instanceof TYInt && guard.isNative(thisObj)) {
+            
+            return operate(((TYInt) thisObj).getInternalInteger(), ((TYInt) operand).getInternalInteger(), thisObj, operand, runtime);
+        }
+        
+        // Operand types changed or the operator was redefined, so go back to the generic operator for good
+        generic.setGeneric();
+        replace(generic);
+        
+        return generic.getOperator().operate(thisObj, operand, runtime);
+    }
+    
+    private TYObject operate(int first, int second, TYObject firstObj, TYObject secondObj, TYRuntime runtime) {
+        
+        switch (operation) {
+            
+            case ADD:
+                
+                return NumericOperations.wrapLong((long) first + second);
+            
+            case SUBTRACT:
+                
+                return NumericOperations.wrapLong((long) first - second);
+            
+            case MULTIPLY:
+                
+                return NumericOperations.wrapLong((long) first * second);
+            
+            case DIVIDE:
+                
+                // Division by zero goes through the native method so the error is reported the usual way
+                return second == 0 ? generic.getOperator().operate(firstObj, secondObj, runtime) : NumericOperations.divide(firstObj, secondObj);
+            
+            case MODULUS:
+                
+                return second == 0 ? generic.getOperator().operate(firstObj, secondObj, runtime) : NumericOperations.modulus(firstObj, secondObj);
+            
+            case LESS_THAN:
+                
+                return TYBoolean.valueFor(first < second);
+            
+            case LESS_THAN_OR_EQUAL_TO:
+                
+                return TYBoolean.valueFor(first <= second);
+            
+            case GREATER_THAN:
+                
+                return TYBoolean.valueFor(first > second);
+            
+            case GREATER_THAN_OR_EQUAL_TO:
+                
+                return TYBoolean.valueFor(first >= second);
+            
+            case EQUAL_TO:
+                
+                return TYBoolean.valueFor(first == second);
+            
+            default:
+                
+                return TYBoolean.valueFor(first != second);
+        }
+    }
+    
+    public static IntBinaryOperatorInstruction specialize(BinaryOperatorInstruction generic) {
+        
+        int operation = getOperation(generic.getOperator().getToken());
+        
+        return operation < 0 ? null : new IntBinaryOperatorInstruction(generic, operation);
+    }
+    
+    private static NativeMethodGuard getGuard(int operation) {
+        
+        switch (operation) {
+            
+            case ADD:
+                
+                return NumericOperations.ADD;
+            
+            case SUBTRACT:
+                
+                return NumericOperations.SUBTRACT;
+            
+            case MULTIPLY:
+                
+                return NumericOperations.MULTIPLY;
+            
+            case DIVIDE:
+                
+                return NumericOperations.DIVIDE;
+            
+            case MODULUS:
+                
+                return NumericOperations.MODULUS;
+            
+            case EQUAL_TO:
+            case NOT_EQUAL_TO:
+                
+                return NumericOperations.EQUAL_TO;
+            
+            default:
+                
+                return NumericOperations.COMPARE_TO;
+        }
+    }
+    
+    private static int getOperation(Token token) {
+        
+        switch (token) {
+            
+            case PLUS:
+                
+                return ADD;
+            
+            case MINUS:
+                
+                return SUBTRACT;
+            
+            case MULTIPLY:
+                
+                return MULTIPLY;
+            
+            case DIVIDE:
+                
+                return DIVIDE;
+            
+            case MODULUS:
+                
+                return MODULUS;
+            
+            case LESS_THAN:
+                
+                return LESS_THAN;
+            
+            case LESS_THAN_OR_EQUAL_TO:
+                
+                return LESS_THAN_OR_EQUAL_TO;
+            
+            case GREATER_THAN:
+                
+                return GREATER_THAN;
+            
+            case GREATER_THAN_OR_EQUAL_TO:
+                
+                return GREATER_THAN_OR_EQUAL_TO;
+            
+            case EQUAL_TO:
+                
+                return EQUAL_TO;
+            
+            case NOT_EQUAL_TO:
+                
+                return NOT_EQUAL_TO;
+            
+            default:
+                
+                return -1;
+        }
+    }
+}
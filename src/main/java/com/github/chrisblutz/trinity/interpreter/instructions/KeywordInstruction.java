@@ -2,6 +2,7 @@ package com.github.chrisblutz.trinity.interpreter.instructions;
 
 import com.github.chrisblutz.trinity.interpreter.Keywords;
 import com.github.chrisblutz.trinity.interpreter.Location;
+import com.github.chrisblutz.trinity.interpreter.helpers.KeywordHelper;
 import com.github.chrisblutz.trinity.lang.TYObject;
 import com.github.chrisblutz.trinity.lang.TYRuntime;
 import com.github.chrisblutz.trinity.parser.tokens.TokenInfo;
@@ -13,12 +14,17 @@ import com.github.chrisblutz.trinity.parser.tokens.TokenInfo;
 public class KeywordInstruction extends Instruction {
     
     private TokenInfo keyword;
+    private KeywordHelper helper;
+    private boolean constant;
+    private volatile TYObject constantValue = null;
     
     public KeywordInstruction(TokenInfo keyword, Location location) {
         
         super(location);
         
         this.keyword = keyword;
+        this.helper = Keywords.getHelper(keyword.getToken());
+        this.constant = Keywords.isConstant(keyword.getToken());
     }
     
     public TokenInfo getKeyword() {
@@ -31,6 +37,19 @@ public class KeywordInstruction extends Instruction {
         
         updateLocation();
         
-        return Keywords.getHelper(getKeyword().getToken()).evaluate(thisObj, getKeyword(), getLocation(), runtime);
+        if (constant) {
+            
+            TYObject value = constantValue;
+            
+            if (value == null) {
+                
+                value = helper.evaluate(thisObj, getKeyword(), getLocation(), runtime);
+                constantValue = value;
+            }
+            
+            return value;
+        }
+        
+        return helper.evaluate(thisObj, getKeyword(), getLocation(), runtime);
     }
 }
@@ -5,9 +5,7 @@ import com.github.chrisblutz.trinity.lang.TYObject;
 import com.github.chrisblutz.trinity.lang.TYRuntime;
 import com.github.chrisblutz.trinity.lang.types.maps.TYMap;
 
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
 
 /**
@@ -34,7 +32,7 @@ public class MapInitializationInstruction extends Instruction {
         
         updateLocation();
         
-        Map<TYObject, TYObject> map = new HashMap<>();
+        TYMap map = new TYMap(0);
         for (InstructionSet[] sets : getComponents()) {
             
             if (sets.length == 2) {
@@ -42,10 +40,10 @@ public class MapInitializationInstruction extends Instruction {
                 TYObject key = sets[0].evaluate(TYObject.NONE, runtime);
                 TYObject value = sets[1].evaluate(TYObject.NONE, runtime);
                 
-                map.put(key, value);
+                map.put(key, value, runtime);
             }
         }
         
-        return new TYMap(map, 0);
+        return map;
     }
 }
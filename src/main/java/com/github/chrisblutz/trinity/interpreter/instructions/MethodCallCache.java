@@ -0,0 +1,150 @@
+package com.github.chrisblutz.trinity.interpreter.instructions;
+
+import com.github.chrisblutz.trinity.interpreter.Scope;
+import com.github.chrisblutz.trinity.lang.TYClass;
+import com.github.chrisblutz.trinity.lang.TYMethod;
+import com.github.chrisblutz.trinity.natives.TrinityNatives;
+
+
+/**
+ * @author Christopher Lutz
+ */
+public class MethodCallCache {
+    
+    public static final int MAX_ENTRIES = 4;
+    
+    private static final Entry[] EMPTY = new Entry[0];
+    
+    private String methodName;
+    private volatile Entry[] entries = EMPTY;
+    private volatile boolean megamorphic = false;
+    
+    public MethodCallCache(String methodName) {
+        
+        this.methodName = methodName;
+    }
+    
+    public Entry lookup(TYClass receiverClass) {
+        
+        for (Entry entry : entries) {
+            
+            if (entry.getReceiverClass() == receiverClass) {
+                
+                return entry.isValid() ? entry : null;
+            }
+        }
+        
+        return null;
+    }
+    
+    public void record(TYClass receiverClass) {
+        
+        if (megamorphic) {
+            
+            return;
+        }
+        
+        // Read the versions before resolving so that a concurrent registration leaves the entry stale
+        TYClass kernel = TrinityNatives.getClass(TrinityNatives.Classes.KERNEL);
+        int version = receiverClass.getDispatchVersion();
+        int kernelVersion = kernel.getDispatchVersion();
+        
+        Entry entry = null;
+        TYMethod resolved = receiverClass.findMethod(methodName);
+        
+        if (resolved != null) {
+            
+            entry = new Entry(receiverClass, resolved.getContainerClass(), resolved, false, version, kernelVersion);
+            
+        } else {
+            
+            TYMethod method = kernel.getMethods().get(methodName);
+            
+            if (method == null) {
+                
+                return;
+            }
+            
+            entry = new Entry(receiverClass, kernel, method, true, version, kernelVersion);
+        }
+        
+        Entry[] current = entries;
+        int live = 0;
+        Entry[] updated = new Entry[current.length + 1];
+        for (Entry existing : current) {
+            
+            if (existing.getReceiverClass() != receiverClass && existing.isValid()) {
+                
+                updated[live++] = existing;
+            }
+        }
+        
+        if (live >= MAX_ENTRIES) {
+            
+            megamorphic = true;
+            entries = EMPTY;
+            return;
+        }
+        
+        updated[live++] = entry;
+        
+        Entry[] trimmed = new Entry[live];
+        System.arraycopy(updated, 0, trimmed, 0, live);
+        entries = trimmed;
+    }
+    
+    public static class Entry {
+        
+        private TYClass receiverClass, methodClass;
+        private TYMethod method;
+        private boolean kernelMethod, publicMethod;
+        private int version, kernelVersion;
+        
+        public Entry(TYClass receiverClass, TYClass methodClass, TYMethod method, boolean kernelMethod, int version, int kernelVersion) {
+            
+            this.receiverClass = receiverClass;
+            this.methodClass = methodClass;
+            this.method = method;
+            this.kernelMethod = kernelMethod;
+            this.publicMethod = method.getScope() == Scope.PUBLIC;
+            this.version = version;
+            this.kernelVersion = kernelVersion;
+        }
+        
+        public TYClass getReceiverClass() {
+            
+            return receiverClass;
+        }
+        
+        public TYClass getMethodClass() {
+            
+            return methodClass;
+        }
+        
+        public TYMethod getMethod() {
+            
+            return method;
+        }
+        
+        public boolean isKernelMethod() {
+            
+            return kernelMethod;
+        }
+        
+        public boolean isPublicMethod() {
+            
+            return publicMethod;
+        }
+        
+        public int getVersion() {
+            
+            return version;
+        }
+        
+        // Methods found in Kernel also depend on Kernel's methods not changing
+        public boolean isValid() {
+            
+            return version == receiverClass.getDispatchVersion() && (!kernelMethod || kernelVersion == methodClass.getDispatchVersion());
+        }
+    }
+}
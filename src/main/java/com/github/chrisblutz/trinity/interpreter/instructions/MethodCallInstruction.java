@@ -7,9 +7,6 @@ import com.github.chrisblutz.trinity.lang.procedures.TYProcedure;
 import com.github.chrisblutz.trinity.lang.TYRuntime;
 import com.github.chrisblutz.trinity.lang.types.TYStaticClassObject;
 
-import java.util.ArrayList;
-import java.util.List;
-
 
 /**
  * @author Christopher Lutz
@@ -19,6 +16,7 @@ public class MethodCallInstruction extends Instruction {
     private String name;
     private InstructionSet[] parameters;
     private TYProcedure procedure;
+    private MethodCallCache cache;
     
     public MethodCallInstruction(String name, InstructionSet[] parameters, TYProcedure procedure, Location location) {
         
@@ -27,6 +25,9 @@ public class MethodCallInstruction extends Instruction {
         this.name = name;
         this.parameters = parameters;
         this.procedure = procedure;
+        
+        // Constructor calls are dispatched through TYClass.tyInvoke, which handles object creation
+        this.cache = name.contentEquals("new") ? null : new MethodCallCache(name);
     }
     
     public String getName() {
@@ -49,23 +50,28 @@ public class MethodCallInstruction extends Instruction {
         
         updateLocation();
         
-        List<TYObject> params = new ArrayList<>();
-        for (InstructionSet param : getParameters()) {
+        TYObject[] paramArray = new TYObject[getParameters().length];
+        for (int i = 0; i < paramArray.length; i++) {
             
-            params.add(param.evaluate(TYObject.NONE, runtime));
+            paramArray[i] = getParameters()[i].evaluate(TYObject.NONE, runtime);
         }
         
-        TYObject[] paramArray = params.toArray(new TYObject[params.size()]);
-        
         if (thisObj == TYObject.NONE) {
             
             if (runtime.isStaticScope()) {
                 
-                return runtime.getScopeClass().tyInvoke(getName(), runtime, getProcedure(), runtime, TYObject.NONE, paramArray);
+                return invoke(runtime.getScopeClass(), TYObject.NONE, runtime, paramArray);
                 
             } else {
                 
-                return runtime.getScope().tyInvoke(getName(), runtime, getProcedure(), runtime, paramArray);
+                TYObject scope = runtime.getScope();
+                
+                if (scope.getSuperStackLevel() > 0) {
+                    
+                    return scope.tyInvoke(getName(), runtime, getProcedure(), runtime, paramArray);
+                }
+                
+                return invoke(scope.getObjectClass(), scope, runtime, paramArray);
             }
             
         } else if (thisObj instanceof TYStaticClassObject) {
@@ -75,11 +81,39 @@ public class MethodCallInstruction extends Instruction {
             
             tyClass.runInitializationActions();
             
-            return tyClass.tyInvoke(getName(), runtime, getProcedure(), runtime, TYObject.NONE, paramArray);
+            return invoke(tyClass, TYObject.NONE, runtime, paramArray);
             
-        } else {
+        } else if (thisObj.getSuperStackLevel() > 0) {
             
             return thisObj.tyInvoke(getName(), runtime, getProcedure(), runtime, paramArray);
+            
+        } else {
+            
+            return invoke(thisObj.getObjectClass(), thisObj, runtime, paramArray);
         }
     }
+    
+    private TYObject invoke(TYClass tyClass, TYObject thisObj, TYRuntime runtime, TYObject[] params) {
+        
+        if (cache == null) {
+            
+            return tyClass.tyInvoke(getName(), runtime, getProcedure(), runtime, thisObj, params);
+        }
+        
+        MethodCallCache.Entry entry = cache.lookup(tyClass);
+        
+        if (entry != null && (!entry.isKernelMethod() || !runtime.isStaticScope() || thisObj == TYObject.NONE)) {
+            
+            return entry.getMethodClass().invokeMethod(entry.getMethod(), !entry.isPublicMethod(), runtime, getProcedure(), runtime, thisObj, params);
+        }
+        
+        TYObject result = tyClass.tyInvoke(getName(), runtime, getProcedure(), runtime, thisObj, params);
+        
+        if (entry == null) {
+            
+            cache.record(tyClass);
+        }
+        
+        return result;
+    }
 }
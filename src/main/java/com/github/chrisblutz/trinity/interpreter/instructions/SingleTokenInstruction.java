@@ -6,7 +6,7 @@ import com.github.chrisblutz.trinity.lang.errors.Errors;
 import com.github.chrisblutz.trinity.lang.types.TYStaticClassObject;
 import com.github.chrisblutz.trinity.lang.types.TYStaticModuleObject;
 import com.github.chrisblutz.trinity.lang.variables.VariableLoc;
-import com.github.chrisblutz.trinity.lang.variables.VariableManager;
+import com.github.chrisblutz.trinity.lang.variables.VariableTable;
 import com.github.chrisblutz.trinity.natives.NativeStorage;
 
 
@@ -15,13 +15,22 @@ import com.github.chrisblutz.trinity.natives.NativeStorage;
  */
 public class SingleTokenInstruction extends Instruction {
     
+    private static final int UNRESOLVED = -2;
+    
     private String contents;
+    private VariableTable variableTable;
+    private int slot = UNRESOLVED;
+    private StaticFieldCache staticFieldCache;
+    private volatile ResolvedName resolvedName = null;
+    private boolean generic = false;
     
-    public SingleTokenInstruction(String contents, Location location) {
+    public SingleTokenInstruction(String contents, VariableTable variableTable, Location location) {
         
         super(location);
         
         this.contents = contents;
+        this.variableTable = variableTable;
+        this.staticFieldCache = new StaticFieldCache(contents);
     }
     
     public String getContents() {
@@ -29,64 +38,91 @@ public class SingleTokenInstruction extends Instruction {
         return contents;
     }
     
+    public void setGeneric() {
+        
+        generic = true;
+    }
+    
+    protected int getSlot() {
+        
+        // Resolved on first use, once the enclosing method body has been fully interpreted
+        if (slot == UNRESOLVED) {
+            
+            slot = variableTable == null ? -1 : variableTable.getSlot(getContents());
+        }
+        
+        return slot;
+    }
+    
     @Override
     protected TYObject evaluate(TYObject thisObj, TYRuntime runtime) {
         
         updateLocation();
         
+        return evaluateToken(thisObj, runtime);
+    }
+    
+    protected TYObject evaluateToken(TYObject thisObj, TYRuntime runtime) {
+        
         if (thisObj == TYObject.NONE) {
             
-            if (runtime.hasVariable(getContents())) {
+            int localSlot = getSlot();
+            VariableLoc local = localSlot < 0 ? null : runtime.getVariableLoc(localSlot);
+            
+            if (local != null) {
                 
-                return runtime.getVariable(getContents());
+                return local.getValue();
                 
             } else if (runtime.getThis() != TYObject.NONE && runtime.getThis().getObjectClass().hasVariable(getContents(), runtime.getThis())) {
                 
                 TYClass tyClass = runtime.getTyClass();
                 VariableLoc loc = tyClass.getVariable(getContents(), runtime.getThis());
                 
-                if (loc.checkScope(runtime)) {
+                if (!generic) {
                     
-                    return VariableManager.getVariable(loc);
+                    generic = true;
                     
-                } else {
+                    InstanceFieldInstruction specialized = InstanceFieldInstruction.specialize(this, runtime, loc);
                     
-                    loc.getScope().reportAccessViolation(runtime);
+                    if (specialized != null) {
+                        
+                        replace(specialized);
+                    }
                 }
                 
-            } else if (runtime.isStaticScope() && runtime.getScopeClass().hasVariable(getContents())) {
-                
-                TYClass tyClass = runtime.getScopeClass();
-                VariableLoc loc = tyClass.getVariable(getContents());
-                
                 if (loc.checkScope(runtime)) {
                     
-                    return VariableManager.getVariable(loc);
+                    return loc.getValue();
                     
                 } else {
                     
                     loc.getScope().reportAccessViolation(runtime);
                 }
                 
-            } else if (runtime.getModule() != null && runtime.getModule().hasClass(getContents())) {
+            } else {
                 
-                return NativeStorage.getStaticClassObject(runtime.getModule().getClass(getContents()));
+                VariableLoc loc = getStaticField(runtime);
                 
-            } else if (runtime.hasImportedModuleWithClass(getContents())) {
-                
-                return NativeStorage.getStaticClassObject(runtime.getImportedClassWithModule(getContents()));
-                
-            } else if (ModuleRegistry.moduleExists(getContents())) {
-                
-                return NativeStorage.getStaticModuleObject(ModuleRegistry.getModule(getContents()));
-                
-            } else if (ClassRegistry.classExists(getContents())) {
-                
-                return NativeStorage.getStaticClassObject(ClassRegistry.getClass(getContents()));
-                
-            } else if (ModuleRegistry.getModule("Trinity").hasClass(getContents())) {
-                
-                return NativeStorage.getStaticClassObject(ModuleRegistry.getModule("Trinity").getClass(getContents()));
+                if (loc != null) {
+                    
+                    if (loc.checkScope(runtime)) {
+                        
+                        return loc.getValue();
+                        
+                    } else {
+                        
+                        loc.getScope().reportAccessViolation(runtime);
+                    }
+                    
+                } else {
+                    
+                    TYObject resolved = getResolvedName(runtime);
+                    
+                    if (resolved != null) {
+                        
+                        return resolved;
+                    }
+                }
             }
             
         } else if (thisObj instanceof TYStaticModuleObject) {
@@ -110,9 +146,9 @@ public class SingleTokenInstruction extends Instruction {
             
             tyClass.runInitializationActions();
             
-            if (tyClass.hasVariable(getContents())) {
-                
-                VariableLoc loc = tyClass.getVariable(getContents());
+            VariableLoc loc = staticFieldCache.lookup(tyClass);
+            
+            if (loc != null) {
                 
                 if (loc.checkScope(runtime)) {
                     
@@ -150,4 +186,91 @@ public class SingleTokenInstruction extends Instruction {
         
         return TYObject.NIL;
     }
+    
+    private TYObject getResolvedName(TYRuntime runtime) {
+        
+        ResolvedName cached = resolvedName;
+        int epoch = ClassRegistry.getEpoch();
+        
+        if (cached != null && cached.epoch == epoch && cached.module == runtime.getModule() && cached.importedModules == runtime.getImportedModules()) {
+            
+            return cached.value;
+        }
+        
+        TYObject value = resolveName(runtime);
+        resolvedName = new ResolvedName(runtime.getModule(), runtime.getImportedModules(), epoch, value);
+        
+        return value;
+    }
+    
+    // Resolves this token as a class or module name, returning null if a variable or field
+    // of the same name would be found first, or if there is no such class or module
+    public TYObject resolveClassReference(TYRuntime runtime) {
+        
+        int localSlot = getSlot();
+        TYObject self = runtime.getThis();
+        
+        if (localSlot >= 0 && runtime.getVariableLoc(localSlot) != null) {
+            
+            return null;
+            
+        } else if (self != TYObject.NONE && self.getObjectClass().hasVariable(getContents(), self)) {
+            
+            return null;
+            
+        } else if (getStaticField(runtime) != null) {
+            
+            return null;
+        }
+        
+        return getResolvedName(runtime);
+    }
+    
+    private VariableLoc getStaticField(TYRuntime runtime) {
+        
+        return runtime.isStaticScope() ? staticFieldCache.lookup(runtime.getScopeClass()) : null;
+    }
+    
+    // Resolves this token as a class or module name, returning null if there is none
+    private TYObject resolveName(TYRuntime runtime) {
+        
+        if (runtime.getModule() != null && runtime.getModule().hasClass(getContents())) {
+            
+            return NativeStorage.getStaticClassObject(runtime.getModule().getClass(getContents()));
+            
+        } else if (runtime.hasImportedModuleWithClass(getContents())) {
+            
+            return NativeStorage.getStaticClassObject(runtime.getImportedClassWithModule(getContents()));
+            
+        } else if (ModuleRegistry.moduleExists(getContents())) {
+            
+            return NativeStorage.getStaticModuleObject(ModuleRegistry.getModule(getContents()));
+            
+        } else if (ClassRegistry.classExists(getContents())) {
+            
+            return NativeStorage.getStaticClassObject(ClassRegistry.getClass(getContents()));
+            
+        } else if (ModuleRegistry.getModule("Trinity").hasClass(getContents())) {
+            
+            return NativeStorage.getStaticClassObject(ModuleRegistry.getModule("Trinity").getClass(getContents()));
+        }
+        
+        return null;
+    }
+    
+    private static class ResolvedName {
+        
+        private TYModule module;
+        private TYModule[] importedModules;
+        private int epoch;
+        private TYObject value;
+        
+        private ResolvedName(TYModule module, TYModule[] importedModules, int epoch, TYObject value) {
+            
+            this.module = module;
+            this.importedModules = importedModules;
+            this.epoch = epoch;
+            this.value = value;
+        }
+    }
 }
@@ -6,7 +6,7 @@ import com.github.chrisblutz.trinity.lang.errors.Errors;
 import com.github.chrisblutz.trinity.lang.TYRuntime;
 import com.github.chrisblutz.trinity.lang.types.TYStaticClassObject;
 import com.github.chrisblutz.trinity.lang.variables.VariableLoc;
-import com.github.chrisblutz.trinity.lang.variables.VariableManager;
+import com.github.chrisblutz.trinity.lang.variables.VariableTable;
 
 
 /**
@@ -15,10 +15,14 @@ import com.github.chrisblutz.trinity.lang.variables.VariableManager;
 public class SingleTokenVariableLocRetriever implements VariableLocRetriever {
     
     private String contents;
+    private int slot;
+    private StaticFieldCache staticFieldCache;
     
-    public SingleTokenVariableLocRetriever(String contents) {
+    public SingleTokenVariableLocRetriever(String contents, VariableTable variableTable) {
         
         this.contents = contents;
+        this.slot = variableTable.getOrCreateSlot(contents);
+        this.staticFieldCache = new StaticFieldCache(contents);
     }
     
     public String getContents() {
@@ -31,23 +35,27 @@ public class SingleTokenVariableLocRetriever implements VariableLocRetriever {
         
         if (thisObj == TYObject.NONE) {
             
-            if (runtime.hasVariable(getContents())) {
+            VariableLoc local = runtime.getVariableLoc(slot);
+            
+            if (local != null) {
                 
-                return runtime.getVariableLoc(getContents());
+                return local;
                 
             } else if (runtime.getThis() != TYObject.NONE && runtime.getThis().getObjectClass().hasVariable(getContents(), runtime.getThis())) {
                 
                 return runtime.getTyClass().getVariable(getContents(), runtime.getThis());
+            }
+            
+            VariableLoc staticField = runtime.isStaticScope() ? staticFieldCache.lookup(runtime.getScopeClass()) : null;
+            
+            if (staticField != null) {
                 
-            } else if (runtime.isStaticScope() && runtime.getScopeClass().hasVariable(getContents())) {
-                
-                return runtime.getScopeClass().getVariable(getContents());
+                return staticField;
                 
             } else {
                 
                 VariableLoc newLoc = new VariableLoc();
-                VariableManager.put(newLoc, TYObject.NIL);
-                runtime.setVariableLoc(getContents(), newLoc);
+                runtime.setVariableLoc(slot, newLoc);
                 
                 return newLoc;
             }
@@ -59,9 +67,11 @@ public class SingleTokenVariableLocRetriever implements VariableLocRetriever {
             
             tyClass.runInitializationActions();
             
-            if (tyClass.hasVariable(getContents())) {
+            VariableLoc loc = staticFieldCache.lookup(tyClass);
+            
+            if (loc != null) {
                 
-                return tyClass.getVariable(getContents());
+                return loc;
             }
             
         } else {
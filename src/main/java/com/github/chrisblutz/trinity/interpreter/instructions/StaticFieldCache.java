@@ -0,0 +1,50 @@
+package com.github.chrisblutz.trinity.interpreter.instructions;
+
+import com.github.chrisblutz.trinity.lang.TYClass;
+import com.github.chrisblutz.trinity.lang.variables.VariableLoc;
+
+
+/**
+ * @author Christopher Lutz
+ */
+public class StaticFieldCache {
+    
+    private String fieldName;
+    private volatile Entry entry = null;
+    
+    public StaticFieldCache(String fieldName) {
+        
+        this.fieldName = fieldName;
+    }
+    
+    // Returns null if the class has no static field with this name
+    public VariableLoc lookup(TYClass tyClass) {
+        
+        Entry current = entry;
+        int version = TYClass.getClassFieldVersion();
+        
+        if (current != null && current.tyClass == tyClass && current.version == version) {
+            
+            return current.loc;
+        }
+        
+        VariableLoc loc = tyClass.getVariable(fieldName);
+        entry = new Entry(tyClass, loc, version);
+        
+        return loc;
+    }
+    
+    private static class Entry {
+        
+        private TYClass tyClass;
+        private VariableLoc loc;
+        private int version;
+        
+        private Entry(TYClass tyClass, VariableLoc loc, int version) {
+            
+            this.tyClass = tyClass;
+            this.loc = loc;
+            this.version = version;
+        }
+    }
+}
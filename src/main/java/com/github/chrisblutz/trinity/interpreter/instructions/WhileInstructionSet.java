@@ -14,6 +14,7 @@ public class WhileInstructionSet extends InstructionSet {
     
     private InstructionSet expression;
     private ProcedureAction action;
+    private ClassReferenceInstruction[] hoistedReferences = new ClassReferenceInstruction[0];
     
     public WhileInstructionSet(InstructionSet expression, ProcedureAction action, Location location) {
         
@@ -33,6 +34,16 @@ public class WhileInstructionSet extends InstructionSet {
         return action;
     }
     
+    public ClassReferenceInstruction[] getHoistedReferences() {
+        
+        return hoistedReferences;
+    }
+    
+    public void setHoistedReferences(ClassReferenceInstruction[] hoistedReferences) {
+        
+        this.hoistedReferences = hoistedReferences;
+    }
+    
     @Override
     public TYObject evaluate(TYObject thisObj, TYRuntime runtime) {
         
@@ -40,6 +51,11 @@ public class WhileInstructionSet extends InstructionSet {
         
         TYRuntime newRuntime = runtime.clone();
         
+        for (ClassReferenceInstruction reference : hoistedReferences) {
+            
+            reference.hoist(newRuntime);
+        }
+        
         boolean expression = TrinityNatives.toBoolean(getExpression().evaluate(TYObject.NONE, newRuntime));
         
         while (expression) {
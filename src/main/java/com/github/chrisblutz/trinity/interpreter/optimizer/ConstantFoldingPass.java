@@ -0,0 +1,180 @@
+package com.github.chrisblutz.trinity.interpreter.optimizer;
+
+import com.github.chrisblutz.trinity.interpreter.instructions.*;
+import com.github.chrisblutz.trinity.lang.NativeMethodGuard;
+import com.github.chrisblutz.trinity.lang.types.numeric.NumericOperations;
+import com.github.chrisblutz.trinity.lang.variables.VariableTable;
+import com.github.chrisblutz.trinity.parser.tokens.Token;
+
+import java.util.ArrayList;
+import java.util.List;
+
+
+/**
+ * Folds arithmetic and comparisons between numeric literals into
+ * {@link ConstantInstruction ConstantInstructions}.  Operators can be
+ * redefined, so each folded expression keeps the guards of the operators
+ * it uses, and its value is only reused while all of them are still
+ * Numeric's native methods.
+ *
+ * @author Christopher Lutz
+ */
+public class ConstantFoldingPass extends OptimizationPass {
+    
+    public ConstantFoldingPass() {
+        
+        super("fold");
+    }
+    
+    @Override
+    public InstructionSet[] run(InstructionSet[] statements, VariableTable variableTable) {
+        
+        for (InstructionSet statement : statements) {
+            
+            Optimizer.forEachSet(statement, this::fold);
+        }
+        
+        return statements;
+    }
+    
+    private void fold(InstructionSet set) {
+        
+        Instruction[] instructions = set.getInstructions();
+        
+        if (!Optimizer.isPlain(set) || instructions.length < 2) {
+            
+            return;
+        }
+        
+        List<NativeMethodGuard> guards = new ArrayList<>();
+        addGuards(instructions[0], guards);
+        
+        int type = getType(instructions[0]);
+        
+        for (int i = 1; i < instructions.length && type >= 0; i++) {
+            
+            if (instructions[i] instanceof BinaryOperatorInstruction) {
+                
+                BinaryOperatorInstruction operator = (BinaryOperatorInstruction) instructions[i];
+                type = getResultType(type, operator.getOperator().getToken(), getType(operator.getOperand()));
+                
+                guards.add(getGuard(operator.getOperator().getToken()));
+                addGuards(operator.getOperand(), guards);
+                
+            } else {
+                
+                type = -1;
+            }
+        }
+        
+        if (type >= 0) {
+            
+            InstructionSet expression = new InstructionSet(instructions, set.getLocation());
+            set.setInstructions(new Instruction[]{new ConstantInstruction(expression, type, guards.toArray(new NativeMethodGuard[guards.size()]))});
+            
+            recordChange();
+        }
+    }
+    
+    // Folded operands are reused along with the outer expression, so their guards apply to it as well
+    private static void addGuards(Instruction instruction, List<NativeMethodGuard> guards) {
+        
+        if (instruction instanceof ConstantInstruction) {
+            
+            for (NativeMethodGuard guard : ((ConstantInstruction) instruction).getGuards()) {
+                
+                guards.add(guard);
+            }
+            
+        } else if (Optimizer.isPlain(instruction) && ((InstructionSet) instruction).getInstructions().length == 1) {
+            
+            addGuards(((InstructionSet) instruction).getInstructions()[0], guards);
+        }
+    }
+    
+    private static int getType(Instruction instruction) {
+        
+        if (instruction instanceof ConstantInstruction) {
+            
+            return ((ConstantInstruction) instruction).getType();
+            
+        } else if (instruction instanceof KeywordInstruction) {
+            
+            Token token = ((KeywordInstruction) instruction).getKeyword().getToken();
+            
+            if (token == Token.NUMERIC_STRING) {
+                
+                return ConstantInstruction.NUMBER;
+            }
+            
+        } else if (Optimizer.isPlain(instruction) && ((InstructionSet) instruction).getInstructions().length == 1) {
+            
+            return getType(((InstructionSet) instruction).getInstructions()[0]);
+        }
+        
+        return -1;
+    }
+    
+    private static int getResultType(int first, Token operator, int second) {
+        
+        if (first == ConstantInstruction.NUMBER && second == ConstantInstruction.NUMBER) {
+            
+            switch (operator) {
+                
+                case PLUS:
+                case MINUS:
+                case MULTIPLY:
+                case DIVIDE:
+                case MODULUS:
+                    
+                    return ConstantInstruction.NUMBER;
+                
+                case LESS_THAN:
+                case LESS_THAN_OR_EQUAL_TO:
+                case GREATER_THAN:
+                case GREATER_THAN_OR_EQUAL_TO:
+                case EQUAL_TO:
+                case NOT_EQUAL_TO:
+                    
+                    return ConstantInstruction.BOOLEAN;
+            }
+        }
+        
+        return -1;
+    }
+    
+    private static NativeMethodGuard getGuard(Token operator) {
+        
+        switch (operator) {
+            
+            case PLUS:
+                
+                return NumericOperations.ADD;
+            
+            case MINUS:
+                
+                return NumericOperations.SUBTRACT;
+            
+            case MULTIPLY:
+                
+                return NumericOperations.MULTIPLY;
+            
+            case DIVIDE:
+                
+                return NumericOperations.DIVIDE;
+            
+            case MODULUS:
+                
+                return NumericOperations.MODULUS;
+            
+            case EQUAL_TO:
+            case NOT_EQUAL_TO:
+                
+                return NumericOperations.EQUAL_TO;
+            
+            default:
+                
+                return NumericOperations.COMPARE_TO;
+        }
+    }
+}
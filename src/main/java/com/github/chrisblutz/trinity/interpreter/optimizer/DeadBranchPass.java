@@ -0,0 +1,138 @@
+package com.github.chrisblutz.trinity.interpreter.optimizer;
+
+import com.github.chrisblutz.trinity.interpreter.instructions.*;
+import com.github.chrisblutz.trinity.lang.variables.VariableTable;
+import com.github.chrisblutz.trinity.parser.tokens.Token;
+
+
+/**
+ * Removes branches of {@code if} statements whose conditions are
+ * literals, and {@code while} loops whose conditions are always false.
+ * Statements that disappear entirely are replaced by empty sets, so the
+ * value a block returns stays the same.
+ *
+ * @author Christopher Lutz
+ */
+public class DeadBranchPass extends OptimizationPass {
+    
+    private static final int UNKNOWN = -1, FALSE = 0, TRUE = 1;
+    
+    public DeadBranchPass() {
+        
+        super("branches");
+    }
+    
+    @Override
+    public InstructionSet[] run(InstructionSet[] statements, VariableTable variableTable) {
+        
+        for (int i = 0; i < statements.length; i++) {
+            
+            if (statements[i] instanceof IfInstructionSet) {
+                
+                statements[i] = eliminate((IfInstructionSet) statements[i]);
+                
+            } else if (statements[i] instanceof WhileInstructionSet && getTruth(((WhileInstructionSet) statements[i]).getExpression()) == FALSE) {
+                
+                statements[i] = new InstructionSet(new Instruction[0], statements[i].getLocation());
+                recordChange();
+            }
+        }
+        
+        return statements;
+    }
+    
+    private InstructionSet eliminate(IfInstructionSet statement) {
+        
+        IfInstructionSet head = statement;
+        
+        // Drop leading branches that can never run, then prune the rest of the chain
+        while (head != null && head.getIfToken() != Token.ELSE && getTruth(head.getExpression()) == FALSE) {
+            
+            head = head.getChild();
+            recordChange();
+        }
+        
+        if (head == null) {
+            
+            return new InstructionSet(new Instruction[0], statement.getLocation());
+        }
+        
+        IfInstructionSet current = head;
+        
+        while (current != null && current.getIfToken() != Token.ELSE) {
+            
+            if (getTruth(current.getExpression()) == TRUE) {
+                
+                if (current.getChild() != null) {
+                    
+                    current.setChild(null);
+                    recordChange();
+                }
+                
+                if (current == head) {
+                    
+                    // An always-true condition does not need to be evaluated at all
+                    recordChange();
+                    return new IfInstructionSet(Token.ELSE, null, current.getAction(), current.getLocation());
+                }
+                
+                break;
+            }
+            
+            while (current.getChild() != null && current.getChild().getIfToken() != Token.ELSE && getTruth(current.getChild().getExpression()) == FALSE) {
+                
+                current.setChild(current.getChild().getChild());
+                recordChange();
+            }
+            
+            current = current.getChild();
+        }
+        
+        return head;
+    }
+    
+    private static int getTruth(InstructionSet expression) {
+        
+        Instruction instruction = expression;
+        
+        while (Optimizer.isPlain(instruction) && ((InstructionSet) instruction).getInstructions().length == 1) {
+            
+            instruction = ((InstructionSet) instruction).getInstructions()[0];
+        }
+        
+        if (!(instruction instanceof KeywordInstruction)) {
+            
+            return UNKNOWN;
+        }
+        
+        String contents = ((KeywordInstruction) instruction).getKeyword().getContents();
+        
+        switch (((KeywordInstruction) instruction).getKeyword().getToken()) {
+            
+            case TRUE:
+            case LITERAL_STRING:
+                
+                return TRUE;
+            
+            case FALSE:
+            case NIL:
+                
+                return FALSE;
+            
+            case NUMERIC_STRING:
+                
+                try {
+                    
+                    return Double.parseDouble(contents.replaceAll("[lLfF]$", "")) != 0 ? TRUE : FALSE;
+                    
+                } catch (NumberFormatException e) {
+                    
+                    return UNKNOWN;
+                }
+            
+            default:
+                
+                return UNKNOWN;
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.github.chrisblutz.trinity.interpreter.optimizer;
+
+import com.github.chrisblutz.trinity.interpreter.instructions.Instruction;
+import com.github.chrisblutz.trinity.interpreter.instructions.InstructionSet;
+import com.github.chrisblutz.trinity.lang.variables.VariableTable;
+
+
+/**
+ * Replaces instruction sets that hold a single instruction with that
+ * instruction wherever they appear inside of another set.  A set only
+ * passes the object it receives on to its instructions, so the nested
+ * set adds nothing but an extra call.
+ *
+ * @author Christopher Lutz
+ */
+public class FlattenPass extends OptimizationPass {
+    
+    public FlattenPass() {
+        
+        super("flatten");
+    }
+    
+    @Override
+    public InstructionSet[] run(InstructionSet[] statements, VariableTable variableTable) {
+        
+        for (InstructionSet statement : statements) {
+            
+            Optimizer.forEachSet(statement, this::flatten);
+        }
+        
+        return statements;
+    }
+    
+    private void flatten(InstructionSet set) {
+        
+        if (!Optimizer.isPlain(set)) {
+            
+            return;
+        }
+        
+        Instruction[] instructions = set.getInstructions();
+        Instruction[] flattened = null;
+        
+        for (int i = 0; i < instructions.length; i++) {
+            
+            Instruction instruction = instructions[i];
+            
+            while (Optimizer.isPlain(instruction) && ((InstructionSet) instruction).getInstructions().length == 1) {
+                
+                instruction = ((InstructionSet) instruction).getInstructions()[0];
+            }
+            
+            if (instruction != instructions[i]) {
+                
+                if (flattened == null) {
+                    
+                    flattened = instructions.clone();
+                }
+                
+                flattened[i] = instruction;
+                recordChange();
+            }
+        }
+        
+        if (flattened != null) {
+            
+            set.setInstructions(flattened);
+        }
+    }
+}
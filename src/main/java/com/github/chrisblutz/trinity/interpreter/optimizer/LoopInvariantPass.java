@@ -0,0 +1,128 @@
+package com.github.chrisblutz.trinity.interpreter.optimizer;
+
+import com.github.chrisblutz.trinity.interpreter.actions.ExpressionProcedureAction;
+import com.github.chrisblutz.trinity.interpreter.instructions.*;
+import com.github.chrisblutz.trinity.lang.procedures.ProcedureAction;
+import com.github.chrisblutz.trinity.lang.variables.VariableTable;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+
+/**
+ * Hoists references to classes and modules out of {@code for} and
+ * {@code while} loops.  Each reference is resolved once when the loop
+ * starts, instead of on every iteration.  Only names that can never be
+ * local variables are hoisted, and a reference falls back to normal
+ * resolution if it turns out to name a field or if classes are defined
+ * while the loop is running.
+ *
+ * @author Christopher Lutz
+ */
+public class LoopInvariantPass extends OptimizationPass {
+    
+    public LoopInvariantPass() {
+        
+        super("hoist");
+    }
+    
+    @Override
+    public InstructionSet[] run(InstructionSet[] statements, VariableTable variableTable) {
+        
+        if (variableTable == null) {
+            
+            return statements;
+        }
+        
+        for (InstructionSet statement : statements) {
+            
+            if (statement instanceof WhileInstructionSet) {
+                
+                WhileInstructionSet loop = (WhileInstructionSet) statement;
+                
+                Map<String, ClassReferenceInstruction> references = new LinkedHashMap<>();
+                collect(loop.getExpression(), references, variableTable);
+                collect(loop.getAction(), references, variableTable);
+                
+                loop.setHoistedReferences(toArray(references));
+                
+            } else if (statement instanceof ForInstructionSet) {
+                
+                ForInstructionSet loop = (ForInstructionSet) statement;
+                
+                Map<String, ClassReferenceInstruction> references = new LinkedHashMap<>();
+                collect(loop.getExpression(), references, variableTable);
+                collect(loop.getAfter(), references, variableTable);
+                collect(loop.getAction(), references, variableTable);
+                
+                loop.setHoistedReferences(toArray(references));
+            }
+        }
+        
+        return statements;
+    }
+    
+    private void collect(ProcedureAction action, Map<String, ClassReferenceInstruction> references, VariableTable variableTable) {
+        
+        // Blocks passed to methods may run elsewhere, so only bodies of the loop's own statements are searched
+        if (action instanceof ExpressionProcedureAction) {
+            
+            for (InstructionSet statement : ((ExpressionProcedureAction) action).getInstructionSets()) {
+                
+                collect(statement, references, variableTable);
+                
+                if (statement instanceof IfInstructionSet) {
+                    
+                    for (IfInstructionSet branch = (IfInstructionSet) statement; branch != null; branch = branch.getChild()) {
+                        
+                        collect(branch.getAction(), references, variableTable);
+                    }
+                    
+                } else if (statement instanceof WhileInstructionSet) {
+                    
+                    collect(((WhileInstructionSet) statement).getAction(), references, variableTable);
+                    
+                } else if (statement instanceof ForInstructionSet) {
+                    
+                    collect(((ForInstructionSet) statement).getAction(), references, variableTable);
+                }
+            }
+        }
+    }
+    
+    private void collect(InstructionSet expression, Map<String, ClassReferenceInstruction> references, VariableTable variableTable) {
+        
+        Optimizer.forEachSet(expression, set -> {
+            
+            Instruction[] instructions = set.getInstructions();
+            
+            if (!Optimizer.isPlain(set) || instructions.length == 0 || instructions[0].getClass() != SingleTokenInstruction.class) {
+                
+                return;
+            }
+            
+            SingleTokenInstruction token = (SingleTokenInstruction) instructions[0];
+            String name = token.getContents();
+            
+            if (name.isEmpty() || !Character.isUpperCase(name.charAt(0)) || variableTable.hasSlot(name)) {
+                
+                return;
+            }
+            
+            // Hidden slots use a name no source variable can have
+            int slot = variableTable.getOrCreateSlot("#" + name);
+            
+            token.setGeneric();
+            ClassReferenceInstruction reference = new ClassReferenceInstruction(token, slot);
+            set.replaceInstruction(0, reference);
+            
+            references.putIfAbsent(name, reference);
+            recordChange();
+        });
+    }
+    
+    private static ClassReferenceInstruction[] toArray(Map<String, ClassReferenceInstruction> references) {
+        
+        return references.values().toArray(new ClassReferenceInstruction[references.size()]);
+    }
+}
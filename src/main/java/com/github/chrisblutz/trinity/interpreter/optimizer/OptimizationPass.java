@@ -0,0 +1,50 @@
+package com.github.chrisblutz.trinity.interpreter.optimizer;
+
+import com.github.chrisblutz.trinity.interpreter.instructions.InstructionSet;
+import com.github.chrisblutz.trinity.lang.variables.VariableTable;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+
+/**
+ * @author Christopher Lutz
+ */
+public abstract class OptimizationPass {
+    
+    private String name;
+    private volatile boolean enabled = true;
+    private AtomicInteger changes = new AtomicInteger();
+    
+    public OptimizationPass(String name) {
+        
+        this.name = name;
+    }
+    
+    public String getName() {
+        
+        return name;
+    }
+    
+    public boolean isEnabled() {
+        
+        return enabled;
+    }
+    
+    public void setEnabled(boolean enabled) {
+        
+        this.enabled = enabled;
+    }
+    
+    public int getChanges() {
+        
+        return changes.get();
+    }
+    
+    protected void recordChange() {
+        
+        changes.incrementAndGet();
+    }
+    
+    // Returns the statements to use in place of the given ones, which may be changed in place
+    public abstract InstructionSet[] run(InstructionSet[] statements, VariableTable variableTable);
+}
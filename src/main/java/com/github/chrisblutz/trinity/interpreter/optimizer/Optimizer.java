@@ -0,0 +1,161 @@
+package com.github.chrisblutz.trinity.interpreter.optimizer;
+
+import com.github.chrisblutz.trinity.interpreter.instructions.*;
+import com.github.chrisblutz.trinity.lang.variables.VariableTable;
+
+import java.util.function.Consumer;
+
+
+/**
+ * Runs optimization passes over the statements of each block once it
+ * has been interpreted, before any of them are executed.  Passes can be
+ * turned off individually from the command line, and the number of
+ * changes made by each pass is reported when debugging.
+ *
+ * @author Christopher Lutz
+ */
+public class Optimizer {
+    
+    private static final OptimizationPass[] passes = new OptimizationPass[]{new ConstantFoldingPass(), new FlattenPass(), new DeadBranchPass(), new LoopInvariantPass()};
+    
+    public static InstructionSet[] optimize(InstructionSet[] statements, VariableTable variableTable) {
+        
+        for (OptimizationPass pass : passes) {
+            
+            if (pass.isEnabled()) {
+                
+                statements = pass.run(statements, variableTable);
+            }
+        }
+        
+        return statements;
+    }
+    
+    public static OptimizationPass[] getPasses() {
+        
+        return passes;
+    }
+    
+    public static boolean setEnabled(String name, boolean enabled) {
+        
+        for (OptimizationPass pass : passes) {
+            
+            if (pass.getName().equals(name)) {
+                
+                pass.setEnabled(enabled);
+                return true;
+            }
+        }
+        
+        return false;
+    }
+    
+    public static void setAllEnabled(boolean enabled) {
+        
+        for (OptimizationPass pass : passes) {
+            
+            pass.setEnabled(enabled);
+        }
+    }
+    
+    public static void report() {
+        
+        for (OptimizationPass pass : passes) {
+            
+            if (pass.isEnabled()) {
+                
+                System.out.println("Optimization pass '" + pass.getName() + "' made " + pass.getChanges() + " change(s).");
+                
+            } else {
+                
+                System.out.println("Optimization pass '" + pass.getName() + "' was disabled.");
+            }
+        }
+    }
+    
+    public static boolean isPlain(Instruction instruction) {
+        
+        return instruction != null && instruction.getClass() == InstructionSet.class;
+    }
+    
+    // Visits every instruction set reachable from the given instruction without entering
+    // other blocks, visiting nested sets before the sets that contain them
+    public static void forEachSet(Instruction instruction, Consumer<InstructionSet> action) {
+        
+        if (instruction instanceof InstructionSet) {
+            
+            InstructionSet set = (InstructionSet) instruction;
+            
+            for (Instruction child : set.getInstructions()) {
+                
+                forEachSet(child, action);
+            }
+            
+            if (set instanceof IfInstructionSet) {
+                
+                forEachSet(((IfInstructionSet) set).getExpression(), action);
+                forEachSet(((IfInstructionSet) set).getChild(), action);
+                
+            } else if (set instanceof SwitchInstructionSet) {
+                
+                forEachSet(((SwitchInstructionSet) set).getExpression(), action);
+                forEachSet(((SwitchInstructionSet) set).getChild(), action);
+                
+            } else if (set instanceof WhileInstructionSet) {
+                
+                forEachSet(((WhileInstructionSet) set).getExpression(), action);
+                
+            } else if (set instanceof ForInstructionSet) {
+                
+                forEachSet(((ForInstructionSet) set).getInitial(), action);
+                forEachSet(((ForInstructionSet) set).getExpression(), action);
+                forEachSet(((ForInstructionSet) set).getAfter(), action);
+                
+            } else if (set instanceof ReturnInstructionSet) {
+                
+                forEachSet(((ReturnInstructionSet) set).getExpression(), action);
+            }
+            
+            action.accept(set);
+            
+        } else if (instruction instanceof BinaryOperatorInstruction) {
+            
+            forEachSet(((BinaryOperatorInstruction) instruction).getOperand(), action);
+            
+        } else if (instruction instanceof LogicalOperatorInstruction) {
+            
+            forEachSet(((LogicalOperatorInstruction) instruction).getOperand(), action);
+            
+        } else if (instruction instanceof TernaryOperatorInstruction) {
+            
+            TernaryOperatorInstruction ternary = (TernaryOperatorInstruction) instruction;
+            forEachSet(ternary.getCondition(), action);
+            forEachSet(ternary.getTrueValue(), action);
+            forEachSet(ternary.getFalseValue(), action);
+            
+        } else if (instruction instanceof AssignmentInstruction) {
+            
+            forEachSet(((AssignmentInstruction) instruction).getRemainder(), action);
+            forEachSet(((AssignmentInstruction) instruction).getValue(), action);
+            
+        } else if (instruction instanceof MethodCallInstruction) {
+            
+            forEachSet(((MethodCallInstruction) instruction).getParameters(), action);
+            
+        } else if (instruction instanceof ArrayInitializationInstruction) {
+            
+            forEachSet(((ArrayInitializationInstruction) instruction).getComponents(), action);
+        }
+    }
+    
+    private static void forEachSet(InstructionSet[] sets, Consumer<InstructionSet> action) {
+        
+        if (sets != null) {
+            
+            for (InstructionSet set : sets) {
+                
+                forEachSet(set, action);
+            }
+        }
+    }
+}
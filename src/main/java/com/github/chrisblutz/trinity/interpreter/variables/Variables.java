@@ -2,7 +2,7 @@ package com.github.chrisblutz.trinity.interpreter.variables;
 
 import com.github.chrisblutz.trinity.lang.TYObject;
 import com.github.chrisblutz.trinity.lang.variables.VariableLoc;
-import com.github.chrisblutz.trinity.lang.variables.VariableManager;
+import com.github.chrisblutz.trinity.lang.variables.VolatileVariableLoc;
 import com.github.chrisblutz.trinity.plugins.PluginLoader;
 
 import java.util.HashMap;
@@ -30,10 +30,10 @@ public class Variables {
         
         if (!globalVariables.containsKey(name)) {
             
-            getGlobalVariables().put(name, new VariableLoc());
+            getGlobalVariables().put(name, new VolatileVariableLoc());
         }
         
-        VariableManager.put(getGlobalVariables().get(name), object);
+        getGlobalVariables().get(name).setValue(object);
         
         PluginLoader.triggerOnGlobalVariableUpdate(name, object);
     }
@@ -1,11 +1,14 @@
 package com.github.chrisblutz.trinity.lang;
 
+import com.github.chrisblutz.trinity.bootstrap.LibraryIndex;
 import com.github.chrisblutz.trinity.plugins.PluginLoader;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
 
 
 /**
@@ -13,11 +16,33 @@ import java.util.Map;
  */
 public class ClassRegistry {
     
-    private static Map<String, TYClass> classes = new HashMap<>();
-    private static List<TYClass> mainClasses = new ArrayList<>();
+    private static Map<String, TYClass> classes = new ConcurrentHashMap<>();
+    private static List<TYClass> mainClasses = new CopyOnWriteArrayList<>();
+    
+    // Advanced whenever a class or module is created or added to a module,
+    // so cached name resolutions can tell when they may be stale
+    private static final AtomicInteger epoch = new AtomicInteger();
+    
+    private static volatile boolean finalized = false;
     
     public static TYClass getClass(String className) {
         
+        TYClass existing = classes.get(className);
+        
+        if (existing != null) {
+            
+            return existing;
+        }
+        
+        // The standard library may declare the class in a file that has not been loaded yet
+        LibraryIndex.loadClass(className);
+        
+        return createClass(className);
+    }
+    
+    // Creation is serialized so that each class is only created and announced once
+    private static synchronized TYClass createClass(String className) {
+        
         if (!classes.containsKey(className)) {
             
             String shortClassName;
@@ -34,6 +59,8 @@ public class ClassRegistry {
             TYClass tyClass = new TYClass(className, shortClassName);
             classes.put(className, tyClass);
             
+            advanceEpoch();
+            
             PluginLoader.triggerOnClassLoad(tyClass);
         }
         
@@ -42,6 +69,11 @@ public class ClassRegistry {
     
     public static boolean classExists(String className) {
         
+        if (!classes.containsKey(className)) {
+            
+            LibraryIndex.loadClass(className);
+        }
+        
         return classes.containsKey(className);
     }
     
@@ -57,10 +89,35 @@ public class ClassRegistry {
     
     public static void finalizeClasses() {
         
-        for (TYClass tyClass : classes.values()) {
+        // Classes loaded from the standard library during finalization finalize themselves
+        finalized = true;
+        
+        List<TYClass> finalizing = getClasses();
+        
+        for (TYClass tyClass : finalizing) {
             
             tyClass.performFinalSetup();
         }
+        
+        for (TYClass tyClass : finalizing) {
+            
+            tyClass.updateInheritanceTree();
+        }
+    }
+    
+    public static boolean isFinalized() {
+        
+        return finalized;
+    }
+    
+    public static int getEpoch() {
+        
+        return epoch.get();
+    }
+    
+    public static void advanceEpoch() {
+        
+        epoch.incrementAndGet();
     }
     
     public static List<TYClass> getClasses() {
@@ -1,9 +1,11 @@
 package com.github.chrisblutz.trinity.lang;
 
+import com.github.chrisblutz.trinity.bootstrap.LibraryIndex;
+
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 
 /**
@@ -11,10 +13,24 @@ import java.util.Map;
  */
 public class ModuleRegistry {
     
-    private static Map<String, TYModule> modules = new HashMap<>();
+    private static Map<String, TYModule> modules = new ConcurrentHashMap<>();
     
     public static TYModule getModule(String moduleName) {
         
+        TYModule existing = modules.get(moduleName);
+        
+        if (existing != null) {
+            
+            return existing;
+        }
+        
+        LibraryIndex.loadModule(moduleName);
+        
+        return createModule(moduleName);
+    }
+    
+    private static synchronized TYModule createModule(String moduleName) {
+        
         if (!modules.containsKey(moduleName)) {
             
             String shortModuleName;
@@ -30,6 +46,8 @@ public class ModuleRegistry {
             
             TYModule tyModule = new TYModule(moduleName, shortModuleName);
             modules.put(moduleName, tyModule);
+            
+            ClassRegistry.advanceEpoch();
         }
         
         return modules.get(moduleName);
@@ -37,9 +55,31 @@ public class ModuleRegistry {
     
     public static boolean moduleExists(String moduleName) {
         
+        if (!modules.containsKey(moduleName)) {
+            
+            LibraryIndex.loadModule(moduleName);
+        }
+        
         return modules.containsKey(moduleName);
     }
     
+    public static TYModule[] getModules(String[] moduleNames) {
+        
+        TYModule[] result = new TYModule[moduleNames.length];
+        
+        for (int i = 0; i < moduleNames.length; i++) {
+            
+            if (!modules.containsKey(moduleNames[i])) {
+                
+                LibraryIndex.loadModule(moduleNames[i]);
+            }
+            
+            result[i] = modules.get(moduleNames[i]);
+        }
+        
+        return result;
+    }
+    
     public static List<TYModule> getModules() {
         
         return new ArrayList<>(modules.values());
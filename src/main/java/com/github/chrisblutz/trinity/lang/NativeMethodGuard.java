@@ -0,0 +1,106 @@
+package com.github.chrisblutz.trinity.lang;
+
+import com.github.chrisblutz.trinity.natives.TrinityNatives;
+
+
+/**
+ * Checks whether a method still resolves to the native method declared
+ * by a given class, so fast paths that stand in for that native method
+ * can step aside once it is redefined.  Results are kept per receiver
+ * class and only checked again after that class's dispatch version changes.
+ *
+ * @author Christopher Lutz
+ */
+public class NativeMethodGuard {
+    
+    private static final Entry[] EMPTY = new Entry[0];
+    
+    private String nativeClassName, methodName;
+    private volatile TYClass nativeClass = null;
+    private volatile Entry[] entries = EMPTY;
+    
+    public NativeMethodGuard(String nativeClassName, String methodName) {
+        
+        this.nativeClassName = nativeClassName;
+        this.methodName = methodName;
+    }
+    
+    public boolean isNative(TYObject receiver) {
+        
+        TYClass receiverClass = receiver.getObjectClass();
+        
+        return receiverClass != null && isNative(receiverClass);
+    }
+    
+    public boolean isNative(TYClass receiverClass) {
+        
+        for (Entry entry : entries) {
+            
+            if (entry.receiverClass == receiverClass) {
+                
+                if (entry.version == receiverClass.getDispatchVersion()) {
+                    
+                    return entry.isNative;
+                }
+                
+                break;
+            }
+        }
+        
+        return update(receiverClass);
+    }
+    
+    private boolean update(TYClass receiverClass) {
+        
+        // Read the version before resolving so that a concurrent registration leaves the entry stale
+        int version = receiverClass.getDispatchVersion();
+        
+        TYMethod method = receiverClass.findMethod(methodName);
+        boolean isNative = method != null && method.isNativeMethod() && method.getContainerClass() == getNativeClass();
+        
+        Entry[] current = entries;
+        Entry[] updated = new Entry[current.length + 1];
+        int count = 0;
+        for (Entry entry : current) {
+            
+            if (entry.receiverClass != receiverClass) {
+                
+                updated[count++] = entry;
+            }
+        }
+        updated[count++] = new Entry(receiverClass, version, isNative);
+        
+        Entry[] trimmed = new Entry[count];
+        System.arraycopy(updated, 0, trimmed, 0, count);
+        entries = trimmed;
+        
+        return isNative;
+    }
+    
+    private TYClass getNativeClass() {
+        
+        TYClass cached = nativeClass;
+        
+        if (cached == null) {
+            
+            cached = TrinityNatives.getClass(nativeClassName);
+            nativeClass = cached;
+        }
+        
+        return cached;
+    }
+    
+    private static class Entry {
+        
+        private TYClass receiverClass;
+        private int version;
+        private boolean isNative;
+        
+        private Entry(TYClass receiverClass, int version, boolean isNative) {
+            
+            this.receiverClass = receiverClass;
+            this.version = version;
+            this.isNative = isNative;
+        }
+    }
+}
@@ -1,17 +1,21 @@
 package com.github.chrisblutz.trinity.lang;
 
+import com.github.chrisblutz.trinity.bootstrap.LibraryIndex;
 import com.github.chrisblutz.trinity.interpreter.Scope;
 import com.github.chrisblutz.trinity.lang.errors.Errors;
 import com.github.chrisblutz.trinity.lang.procedures.ProcedureAction;
 import com.github.chrisblutz.trinity.lang.procedures.TYProcedure;
+import com.github.chrisblutz.trinity.lang.variables.FieldLayout;
 import com.github.chrisblutz.trinity.lang.variables.VariableLoc;
-import com.github.chrisblutz.trinity.lang.variables.VariableManager;
+import com.github.chrisblutz.trinity.lang.variables.VolatileVariableLoc;
 import com.github.chrisblutz.trinity.natives.NativeStorage;
 import com.github.chrisblutz.trinity.natives.TrinityNatives;
 import com.github.chrisblutz.trinity.plugins.PluginLoader;
 import com.github.chrisblutz.trinity.runner.Runner;
 
 import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
 
 
 /**
@@ -19,6 +23,21 @@ import java.util.*;
  */
 public class TYClass {
     
+    private static final AtomicInteger layoutVersion = new AtomicInteger();
+    private static final AtomicInteger classFieldVersion = new AtomicInteger();
+    
+    private static class MethodTable {
+        
+        private Map<String, TYMethod> methods;
+        private int version;
+        
+        private MethodTable(Map<String, TYMethod> methods, int version) {
+            
+            this.methods = methods;
+            this.version = version;
+        }
+    }
+    
     private List<TYClass> classes = new ArrayList<>();
     private String name, shortName;
     private TYMethod constructor;
@@ -30,8 +49,11 @@ public class TYClass {
     private String[] superinterfaceStrings;
     private String[] importedForSuperinterfaces;
     private TYModule module;
-    private List<TYClass> inheritanceTree = new ArrayList<>();
+    private Set<TYClass> inheritanceTree = new HashSet<>();
     private Map<String, TYMethod> methods = new HashMap<>();
+    private volatile MethodTable methodTable = null;
+    private final AtomicInteger dispatchVersion = new AtomicInteger();
+    private final List<TYClass> subclasses = new CopyOnWriteArrayList<>();
     private List<ProcedureAction> initializationActions = new ArrayList<>();
     private boolean initialized = false;
     
@@ -47,7 +69,7 @@ public class TYClass {
     private Map<String, Boolean> instanceVariableConstant = new HashMap<>();
     private Map<String, String[]> instanceVariableImports = new HashMap<>();
     private Map<String, ProcedureAction> instanceVariableActions = new HashMap<>();
-    private Map<TYObject, Map<String, VariableLoc>> instanceVariables = new WeakHashMap<>();
+    private volatile FieldLayout fieldLayout = null;
     
     private String[] leadingComments = null;
     
@@ -62,8 +84,12 @@ public class TYClass {
         this.shortName = shortName;
         this.superclass = superclass;
         
-        inheritanceTree = compileInheritanceTree();
-        inheritanceTree.add(this);
+        if (superclass != null) {
+            
+            superclass.subclasses.add(this);
+        }
+        
+        updateInheritanceTree();
     }
     
     private List<TYClass> compileInheritanceTree() {
@@ -99,6 +125,8 @@ public class TYClass {
         classVariableScopes.put(name, scope);
         classVariableConstant.put(name, constant);
         classVariableImports.put(name, importedModules);
+        
+        invalidateClassFields();
     }
     
     public void initializeClassFields(TYRuntime runtime) {
@@ -110,8 +138,7 @@ public class TYClass {
             TYObject val = TYObject.NIL;
             if (action != null) {
                 
-                TYRuntime newRuntime = runtime.clone();
-                newRuntime.clearVariables();
+                TYRuntime newRuntime = runtime.cloneWithoutVariables();
                 
                 newRuntime.setScope(NativeStorage.getClassObject(this), true);
                 newRuntime.setScopeClass(this);
@@ -122,12 +149,13 @@ public class TYClass {
                 val = classVariableActions.get(str).onAction(newRuntime, TYObject.NONE);
             }
             
-            VariableLoc loc = new VariableLoc();
+            VariableLoc loc = new VolatileVariableLoc(val);
             loc.setContainerClass(this);
             loc.setScope(classVariableScopes.get(str));
             loc.setConstant(classVariableConstant.get(str));
-            VariableManager.put(loc, val);
             classVariables.put(str, loc);
+            
+            invalidateClassFields();
         }
     }
     
@@ -140,90 +168,106 @@ public class TYClass {
         instanceVariableScopes.put(name, scope);
         instanceVariableConstant.put(name, constant);
         instanceVariableImports.put(name, importedModules);
+        
+        invalidateFieldLayouts();
     }
     
     public void initializeInstanceFields(TYObject object, TYRuntime runtime) {
         
-        instanceVariables.put(object, new HashMap<>());
-        Map<String, VariableLoc> varMap = instanceVariables.get(object);
+        FieldLayout layout = getFieldLayout();
+        object.setFields(layout, new VariableLoc[layout.size()]);
+        
+        initializeInstanceFields(object, runtime, layout);
+    }
+    
+    private void initializeInstanceFields(TYObject object, TYRuntime runtime, FieldLayout layout) {
+        
+        VariableLoc[] fields = object.getFields();
         
-        for (String str : instanceVariableActions.keySet()) {
+        for (String str : layout.getNames()) {
             
             ProcedureAction action = instanceVariableActions.get(str);
             
             TYObject val = TYObject.NIL;
             if (action != null) {
                 
-                TYRuntime newRuntime = runtime.clone();
-                newRuntime.clearVariables();
+                TYRuntime newRuntime = runtime.cloneWithoutVariables();
                 newRuntime.setThis(object);
                 newRuntime.setScope(object, false);
                 newRuntime.setModule(getModule());
                 newRuntime.setTyClass(this);
                 newRuntime.importModules(instanceVariableImports.get(str));
                 
-                val = instanceVariableActions.get(str).onAction(newRuntime, TYObject.NONE);
+                val = action.onAction(newRuntime, TYObject.NONE);
             }
             
-            VariableLoc loc = new VariableLoc();
+            VariableLoc loc = new VolatileVariableLoc(val);
             loc.setContainerClass(this);
             loc.setScope(instanceVariableScopes.get(str));
             loc.setConstant(instanceVariableConstant.get(str));
-            VariableManager.put(loc, val);
-            varMap.put(str, loc);
+            fields[layout.getOffset(str)] = loc;
         }
         
-        if (superclass != null) {
+        if (superclass != null && layout.getParent() != null) {
             
-            superclass.initializeInstanceFields(object, runtime);
+            superclass.initializeInstanceFields(object, runtime, layout.getParent());
         }
     }
     
-    public boolean hasVariable(String name) {
+    // Layout of this class's instance fields after those it inherits, rebuilt after any class changes
+    public FieldLayout getFieldLayout() {
         
-        for (String var : classVariables.keySet()) {
+        FieldLayout layout = fieldLayout;
+        int version = layoutVersion.get();
+        
+        if (layout == null || layout.getVersion() != version) {
             
-            if (var.contentEquals(name)) {
-                
-                return true;
-            }
+            layout = new FieldLayout(this, superclass == null ? null : superclass.getFieldLayout(), instanceVariableActions.keySet(), version);
+            fieldLayout = layout;
         }
         
-        return superclass != null && superclass.hasVariable(name);
+        return layout;
     }
     
-    public boolean hasVariable(String name, TYObject thisObj) {
+    private VariableLoc getInstanceVariable(String name, TYObject thisObj) {
+        
+        FieldLayout objectLayout = thisObj.getFieldLayout();
         
-        if (instanceVariables.containsKey(thisObj)) {
+        if (objectLayout != null) {
             
-            for (String var : instanceVariables.get(thisObj).keySet()) {
+            FieldLayout layout = objectLayout.getLayoutFor(this);
+            
+            if (layout != null) {
+                
+                int offset = layout.getOffset(name);
                 
-                if (var.contentEquals(name)) {
+                if (offset >= 0) {
                     
-                    return true;
+                    return thisObj.getFields()[offset];
                 }
             }
         }
         
-        for (String var : classVariables.keySet()) {
-            
-            if (var.contentEquals(name)) {
-                
-                return true;
-            }
-        }
+        return null;
+    }
+    
+    public boolean hasVariable(String name) {
         
-        return superclass != null && superclass.hasVariable(name, thisObj);
+        return getVariable(name) != null;
+    }
+    
+    public boolean hasVariable(String name, TYObject thisObj) {
+        
+        return getVariable(name, thisObj) != null;
     }
     
     public VariableLoc getVariable(String name) {
         
-        for (String var : classVariables.keySet()) {
+        VariableLoc classVariable = classVariables.get(name);
+        
+        if (classVariable != null) {
             
-            if (var.contentEquals(name)) {
-                
-                return classVariables.get(var);
-            }
+            return classVariable;
         }
         
         if (superclass != null) {
@@ -236,23 +280,18 @@ public class TYClass {
     
     public VariableLoc getVariable(String name, TYObject thisObj) {
         
-        if (instanceVariables.containsKey(thisObj)) {
+        VariableLoc instanceVariable = getInstanceVariable(name, thisObj);
+        
+        if (instanceVariable != null) {
             
-            for (String var : instanceVariables.get(thisObj).keySet()) {
-                
-                if (var.contentEquals(name)) {
-                    
-                    return instanceVariables.get(thisObj).get(var);
-                }
-            }
+            return instanceVariable;
         }
         
-        for (String var : classVariables.keySet()) {
+        VariableLoc classVariable = classVariables.get(name);
+        
+        if (classVariable != null) {
             
-            if (var.contentEquals(name)) {
-                
-                return classVariables.get(var);
-            }
+            return classVariable;
         }
         
         if (superclass != null) {
@@ -327,7 +366,21 @@ public class TYClass {
     
     public void setSuperclass(TYClass superclass) {
         
+        if (this.superclass != null) {
+            
+            this.superclass.subclasses.remove(this);
+        }
+        
         this.superclass = superclass;
+        
+        if (superclass != null) {
+            
+            superclass.subclasses.add(this);
+        }
+        
+        invalidateMethodTables();
+        invalidateFieldLayouts();
+        invalidateClassFields();
     }
     
     public void setSuperclassString(String string, String[] imports) {
@@ -360,6 +413,8 @@ public class TYClass {
     public void addClass(TYClass tyClass) {
         
         classes.add(tyClass);
+        
+        ClassRegistry.advanceEpoch();
     }
     
     public List<TYClass> getClasses() {
@@ -369,6 +424,8 @@ public class TYClass {
     
     public boolean hasClass(String shortName) {
         
+        LibraryIndex.loadClass(getName(), shortName);
+        
         for (TYClass tyClass : getClasses()) {
             
             if (tyClass.getShortName().contentEquals(shortName)) {
@@ -382,6 +439,8 @@ public class TYClass {
     
     public TYClass getClass(String shortName) {
         
+        LibraryIndex.loadClass(getName(), shortName);
+        
         for (TYClass tyClass : getClasses()) {
             
             if (tyClass.getShortName().contentEquals(shortName)) {
@@ -416,8 +475,7 @@ public class TYClass {
             
             if (constructor == null) {
                 
-                TYRuntime newRuntime = runtime.clone();
-                newRuntime.clearVariables();
+                TYRuntime newRuntime = runtime.cloneWithoutVariables();
                 
                 TYObject newObj = new TYObject(this);
                 
@@ -437,8 +495,7 @@ public class TYClass {
                 
                 if (run) {
                     
-                    TYRuntime newRuntime = runtime.clone();
-                    newRuntime.clearVariables();
+                    TYRuntime newRuntime = runtime.cloneWithoutVariables();
                     
                     TYObject newObj = new TYObject(this);
                     
@@ -446,7 +503,7 @@ public class TYClass {
                     newRuntime.setScope(newObj, false);
                     newRuntime.setModule(getModule());
                     newRuntime.setTyClass(this);
-                    newRuntime.importModules(constructor.getImportedModules());
+                    newRuntime.setImportedModules(constructor.getResolvedImportedModules());
                     
                     initializeInstanceFields(newObj, newRuntime);
                     
@@ -471,67 +528,82 @@ public class TYClass {
                 }
             }
             
-        } else if (methods.containsKey(methodName)) {
+        }
+        
+        TYMethod method = findMethod(methodName);
+        
+        if (method != null) {
             
-            TYMethod method = methods.get(methodName);
+            TYClass methodClass = method.getContainerClass();
             
-            Scope scope = method.getScope();
-            boolean run = checkScope(scope, method, runtime);
+            // Superclasses are initialized up to the class that declares the method
+            for (TYClass tyClass = getSuperclass(); tyClass != null && tyClass != methodClass.getSuperclass(); tyClass = tyClass.getSuperclass()) {
+                
+                tyClass.runInitializationActions();
+            }
+            
+            return methodClass.invokeMethod(method, true, runtime, procedure, procedureRuntime, thisObj, params);
             
-            if (run) {
+        } else if ((!runtime.isStaticScope() || thisObj == TYObject.NONE) && TrinityNatives.getClass(TrinityNatives.Classes.KERNEL).getMethods().containsKey(methodName)) {
+            
+            for (TYClass tyClass = getSuperclass(); tyClass != null; tyClass = tyClass.getSuperclass()) {
                 
-                TYRuntime newRuntime = runtime.clone();
-                newRuntime.setModule(getModule());
-                newRuntime.setTyClass(this);
-                newRuntime.importModules(method.getImportedModules());
-                newRuntime.clearVariables();
+                tyClass.runInitializationActions();
+            }
+            
+            return TrinityNatives.getClass(TrinityNatives.Classes.KERNEL).tyInvoke(originClass, methodName, runtime, procedure, procedureRuntime, thisObj, params);
+            
+        } else {
+            
+            Errors.throwError(Errors.Classes.METHOD_NOT_FOUND_ERROR, runtime, "No method '" + methodName + "' found in '" + originClass.getName() + "'.");
+        }
+        
+        return TYObject.NONE;
+    }
+    
+    public TYObject invokeMethod(TYMethod method, boolean checkScope, TYRuntime runtime, TYProcedure procedure, TYRuntime procedureRuntime, TYObject thisObj, TYObject... params) {
+        
+        Scope scope = method.getScope();
+        boolean run = !checkScope || checkScope(scope, method, runtime);
+        
+        if (run) {
+            
+            TYRuntime newRuntime = runtime.cloneWithoutVariables();
+            newRuntime.setModule(getModule());
+            newRuntime.setTyClass(this);
+            newRuntime.setImportedModules(method.getResolvedImportedModules());
+            
+            if (method.isStaticMethod()) {
                 
-                if (method.isStaticMethod()) {
-                    
-                    newRuntime.setScope(NativeStorage.getClassObject(this), true);
-                    newRuntime.setScopeClass(this);
-                    
-                } else {
-                    
-                    if (thisObj == TYObject.NONE) {
-                        
-                        Errors.throwError(Errors.Classes.SCOPE_ERROR, runtime, "Instance method '" + methodName + "' cannot be called from a static context.");
-                    }
-                    
-                    newRuntime.setThis(thisObj);
-                    newRuntime.setScope(thisObj, false);
-                }
+                newRuntime.setScope(NativeStorage.getClassObject(this), true);
+                newRuntime.setScopeClass(this);
                 
-                TYObject result = method.getProcedure().call(newRuntime, procedure, procedureRuntime, thisObj, params);
+            } else {
                 
-                if (newRuntime.isReturning()) {
+                if (thisObj == TYObject.NONE) {
                     
-                    return newRuntime.getReturnObject();
+                    Errors.throwError(Errors.Classes.SCOPE_ERROR, runtime, "Instance method '" + method.getName() + "' cannot be called from a static context.");
                 }
                 
-                return result;
-                
-            } else {
-                
-                Errors.throwError(Errors.Classes.SCOPE_ERROR, runtime, "Method '" + methodName + "' cannot be accessed from this context because it is marked '" + scope.toString() + "'.");
-                
-                return TYObject.NONE;
+                newRuntime.setThis(thisObj);
+                newRuntime.setScope(thisObj, false);
             }
             
-        } else if (getSuperclass() != null) {
-            
-            return getSuperclass().tyInvoke(originClass, methodName, runtime, procedure, procedureRuntime, thisObj, params);
+            TYObject result = method.getProcedure().call(newRuntime, procedure, procedureRuntime, thisObj, params);
             
-        } else if ((!runtime.isStaticScope() || thisObj == TYObject.NONE) && ClassRegistry.getClass(TrinityNatives.Classes.KERNEL).getMethods().containsKey(methodName)) {
+            if (newRuntime.isReturning()) {
+                
+                return newRuntime.getReturnObject();
+            }
             
-            return ClassRegistry.getClass(TrinityNatives.Classes.KERNEL).tyInvoke(originClass, methodName, runtime, procedure, procedureRuntime, thisObj, params);
+            return result;
             
         } else {
             
-            Errors.throwError(Errors.Classes.METHOD_NOT_FOUND_ERROR, runtime, "No method '" + methodName + "' found in '" + originClass.getName() + "'.");
+            Errors.throwError(Errors.Classes.SCOPE_ERROR, runtime, "Method '" + method.getName() + "' cannot be accessed from this context because it is marked '" + scope.toString() + "'.");
+            
+            return TYObject.NONE;
         }
-        
-        return TYObject.NONE;
     }
     
     private boolean checkScope(Scope scope, TYMethod method, TYRuntime runtime) {
@@ -583,9 +655,65 @@ public class TYClass {
             }
         }
         
+        invalidateMethodTables();
+        
         PluginLoader.triggerOnMethodUpdate(this, method);
     }
     
+    // Changes to a class only affect the methods it and its subclasses resolve
+    public int getDispatchVersion() {
+        
+        return dispatchVersion.get();
+    }
+    
+    private void invalidateMethodTables() {
+        
+        dispatchVersion.incrementAndGet();
+        
+        for (TYClass subclass : subclasses) {
+            
+            subclass.invalidateMethodTables();
+        }
+    }
+    
+    private static void invalidateFieldLayouts() {
+        
+        layoutVersion.incrementAndGet();
+    }
+    
+    public static int getClassFieldVersion() {
+        
+        return classFieldVersion.get();
+    }
+    
+    private static void invalidateClassFields() {
+        
+        classFieldVersion.incrementAndGet();
+    }
+    
+    // Flattened view of this class's methods and those it inherits, rebuilt after it or a superclass changes
+    private Map<String, TYMethod> getMethodTable() {
+        
+        MethodTable table = methodTable;
+        int version = dispatchVersion.get();
+        
+        if (table == null || table.version != version) {
+            
+            Map<String, TYMethod> flattened = getSuperclass() == null ? new HashMap<>() : new HashMap<>(getSuperclass().getMethodTable());
+            flattened.putAll(methods);
+            
+            table = new MethodTable(flattened, version);
+            methodTable = table;
+        }
+        
+        return table.methods;
+    }
+    
+    public TYMethod findMethod(String name) {
+        
+        return getMethodTable().get(name);
+    }
+    
     public Map<String, TYMethod> getMethods() {
         
         return methods;
@@ -790,7 +918,15 @@ public class TYClass {
             }
         }
         
-        inheritanceTree = compileInheritanceTree();
+        updateInheritanceTree();
+        
+        invalidateMethodTables();
+    }
+    
+    // Superclasses may be set up after their subclasses, so trees are rebuilt once every class is set up
+    public void updateInheritanceTree() {
+        
+        inheritanceTree = new HashSet<>(compileInheritanceTree());
         inheritanceTree.add(this);
     }
     
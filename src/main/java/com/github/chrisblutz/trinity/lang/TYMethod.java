@@ -3,6 +3,8 @@ package com.github.chrisblutz.trinity.lang;
 import com.github.chrisblutz.trinity.interpreter.Scope;
 import com.github.chrisblutz.trinity.lang.procedures.TYProcedure;
 
+import java.util.Arrays;
+
 
 /**
  * @author Christopher Lutz
@@ -14,6 +16,7 @@ public class TYMethod {
     private TYClass containerClass;
     private TYProcedure procedure;
     private String[] importedModules = new String[0];
+    private TYModule[] resolvedModules = null;
     private Scope scope = Scope.PUBLIC;
     
     private String[] leadingComments = null;
@@ -71,6 +74,25 @@ public class TYMethod {
     public void importModules(String[] modules) {
         
         importedModules = modules;
+        resolvedModules = null;
+    }
+    
+    public TYModule[] getResolvedImportedModules() {
+        
+        TYModule[] modules = resolvedModules;
+        
+        if (modules == null) {
+            
+            modules = ModuleRegistry.getModules(importedModules);
+            
+            // Only keep the lookup once every imported module has been declared
+            if (!Arrays.asList(modules).contains(null)) {
+                
+                resolvedModules = modules;
+            }
+        }
+        
+        return modules;
     }
     
     public String[] getImportedModules() {
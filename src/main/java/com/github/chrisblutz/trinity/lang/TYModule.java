@@ -1,5 +1,7 @@
 package com.github.chrisblutz.trinity.lang;
 
+import com.github.chrisblutz.trinity.bootstrap.LibraryIndex;
+
 import java.util.ArrayList;
 import java.util.List;
 
@@ -35,6 +37,8 @@ public class TYModule {
     public void addModule(TYModule tyModule) {
         
         modules.add(tyModule);
+        
+        ClassRegistry.advanceEpoch();
     }
     
     public List<TYModule> getModules() {
@@ -44,6 +48,8 @@ public class TYModule {
     
     public boolean hasModule(String shortName) {
         
+        LibraryIndex.loadModule(getName(), shortName);
+        
         for (TYModule tyModule : getModules()) {
             
             if (tyModule.getShortName().contentEquals(shortName)) {
@@ -57,6 +63,8 @@ public class TYModule {
     
     public TYModule getModule(String shortName) {
         
+        LibraryIndex.loadModule(getName(), shortName);
+        
         for (TYModule tyModule : getModules()) {
             
             if (tyModule.getShortName().contentEquals(shortName)) {
@@ -81,6 +89,8 @@ public class TYModule {
     public void addClass(TYClass tyClass) {
         
         classes.add(tyClass);
+        
+        ClassRegistry.advanceEpoch();
     }
     
     public List<TYClass> getClasses() {
@@ -90,6 +100,8 @@ public class TYModule {
     
     public boolean hasClass(String shortName) {
         
+        LibraryIndex.loadClass(getName(), shortName);
+        
         for (TYClass tyClass : getClasses()) {
             
             if (tyClass.getShortName().contentEquals(shortName)) {
@@ -103,6 +115,8 @@ public class TYModule {
     
     public TYClass getClass(String shortName) {
         
+        LibraryIndex.loadClass(getName(), shortName);
+        
         for (TYClass tyClass : getClasses()) {
             
             if (tyClass.getShortName().contentEquals(shortName)) {
@@ -3,6 +3,9 @@ package com.github.chrisblutz.trinity.lang;
 import com.github.chrisblutz.trinity.lang.errors.Errors;
 import com.github.chrisblutz.trinity.lang.procedures.TYProcedure;
 import com.github.chrisblutz.trinity.lang.types.TYNilClass;
+import com.github.chrisblutz.trinity.lang.types.numeric.TYInt;
+import com.github.chrisblutz.trinity.lang.variables.FieldLayout;
+import com.github.chrisblutz.trinity.lang.variables.VariableLoc;
 import com.github.chrisblutz.trinity.natives.TrinityNatives;
 
 
@@ -16,6 +19,11 @@ public class TYObject {
     private TYClass objClass;
     private int superStack = 0;
     
+    private FieldLayout fieldLayout = null;
+    private VariableLoc[] fields = null;
+    
+    private volatile TYInt hashCodeObject = null;
+    
     public TYObject(TYClass objClass) {
         
         this.objClass = objClass;
@@ -26,6 +34,35 @@ public class TYObject {
         return objClass;
     }
     
+    public FieldLayout getFieldLayout() {
+        
+        return fieldLayout;
+    }
+    
+    public VariableLoc[] getFields() {
+        
+        return fields;
+    }
+    
+    public void setFields(FieldLayout fieldLayout, VariableLoc[] fields) {
+        
+        this.fieldLayout = fieldLayout;
+        this.fields = fields;
+    }
+    
+    public TYInt getHashCodeObject() {
+        
+        TYInt cached = hashCodeObject;
+        
+        if (cached == null) {
+            
+            cached = TYInt.valueOf(this == NIL ? 0 : hashCode());
+            hashCodeObject = cached;
+        }
+        
+        return cached;
+    }
+    
     public void incrementStackLevel() {
         
         superStack++;
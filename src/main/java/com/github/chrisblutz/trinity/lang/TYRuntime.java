@@ -2,7 +2,7 @@ package com.github.chrisblutz.trinity.lang;
 
 import com.github.chrisblutz.trinity.lang.procedures.TYProcedure;
 import com.github.chrisblutz.trinity.lang.variables.VariableLoc;
-import com.github.chrisblutz.trinity.lang.variables.VariableManager;
+import com.github.chrisblutz.trinity.lang.variables.VariableTable;
 
 import java.util.*;
 
@@ -12,8 +12,11 @@ import java.util.*;
  */
 public class TYRuntime implements Cloneable {
     
-    private Map<String, VariableLoc> variables = new HashMap<>();
-    private List<VariableLoc> clonedVars = new ArrayList<>();
+    private static final VariableLoc[] EMPTY_FRAME = new VariableLoc[0];
+    
+    private VariableTable variableTable = null;
+    private VariableLoc[] frame = EMPTY_FRAME;
+    private boolean frameShared = false;
     private TYObject thisKeywordObject = TYObject.NONE;
     private TYObject scope = TYObject.NONE;
     private TYClass scopeClass = null;
@@ -27,31 +30,83 @@ public class TYRuntime implements Cloneable {
     private TYObject returnObject = TYObject.NONE;
     private TYModule[] importedModules = new TYModule[0];
     
+    public VariableTable getVariableTable() {
+        
+        return variableTable;
+    }
+    
+    public void enterFrame(VariableTable table) {
+        
+        if (variableTable != table) {
+            
+            variableTable = table;
+            frame = table.size() > 0 ? new VariableLoc[table.size()] : EMPTY_FRAME;
+            frameShared = false;
+        }
+    }
+    
+    public void setVariableLoc(int slot, VariableLoc value) {
+        
+        // Frames are shared with clones until one of them needs to write to its own copy
+        if (frameShared || slot >= frame.length) {
+            
+            frame = Arrays.copyOf(frame, Math.max(Math.max(frame.length, slot + 1), variableTable == null ? 0 : variableTable.size()));
+            frameShared = false;
+        }
+        
+        frame[slot] = value;
+    }
+    
+    public VariableLoc getVariableLoc(int slot) {
+        
+        return slot < frame.length ? frame[slot] : null;
+    }
+    
+    public boolean hasVariable(int slot) {
+        
+        return slot < frame.length && frame[slot] != null;
+    }
+    
+    public void setVariable(int slot, TYObject value) {
+        
+        setVariableLoc(slot, new VariableLoc(value));
+    }
+    
     public void setVariableLoc(String variable, VariableLoc value) {
         
-        variables.put(variable, value);
+        if (variableTable == null) {
+            
+            variableTable = new VariableTable();
+        }
+        
+        setVariableLoc(variableTable.getOrCreateSlot(variable), value);
     }
     
     public void setVariable(String variable, TYObject value) {
         
-        VariableLoc loc = new VariableLoc();
-        setVariableLoc(variable, loc);
-        VariableManager.put(loc, value);
+        setVariableLoc(variable, new VariableLoc(value));
     }
     
     public VariableLoc getVariableLoc(String variable) {
         
-        return variables.get(variable);
+        if (variableTable == null) {
+            
+            return null;
+        }
+        
+        int slot = variableTable.getSlot(variable);
+        return slot < 0 ? null : getVariableLoc(slot);
     }
     
     public TYObject getVariable(String variable) {
         
-        return VariableManager.getVariable(getVariableLoc(variable));
+        VariableLoc loc = getVariableLoc(variable);
+        return loc == null ? TYObject.NIL : loc.getValue();
     }
     
     public boolean hasVariable(String variable) {
         
-        return variables.containsKey(variable);
+        return getVariableLoc(variable) != null;
     }
     
     public TYObject getScope() {
@@ -162,17 +217,12 @@ public class TYRuntime implements Cloneable {
     
     public void importModules(String[] modules) {
         
-        importedModules = new TYModule[modules.length];
+        importedModules = ModuleRegistry.getModules(modules);
+    }
+    
+    public void setImportedModules(TYModule[] importedModules) {
         
-        for (int i = 0; i < modules.length; i++) {
-            
-            String s = modules[i];
-            
-            if (ModuleRegistry.moduleExists(s)) {
-                
-                importedModules[i] = ModuleRegistry.getModule(s);
-            }
-        }
+        this.importedModules = importedModules;
     }
     
     public TYModule[] getImportedModules() {
@@ -218,27 +268,38 @@ public class TYRuntime implements Cloneable {
     
     public void clearVariables() {
         
-        variables.clear();
+        variableTable = null;
+        frame = EMPTY_FRAME;
+        frameShared = false;
     }
     
     @Override
     public TYRuntime clone() {
         
-        try {
+        TYRuntime runtime = copy();
+        
+        if (frame.length > 0) {
             
-            TYRuntime runtime = (TYRuntime) super.clone();
-            Map<String, VariableLoc> varCopy = new HashMap<>();
-            varCopy.putAll(variables);
-            runtime.variables = varCopy;
-            runtime.clonedVars = new ArrayList<>(varCopy.values());
-            runtime.scope = scope;
-            runtime.scopeClass = scopeClass;
-            runtime.staticScope = staticScope;
-            runtime.module = module;
-            runtime.procedure = procedure;
-            runtime.importedModules = Arrays.copyOf(importedModules, importedModules.length);
+            frameShared = true;
+            runtime.frameShared = true;
+        }
+        
+        return runtime;
+    }
+    
+    public TYRuntime cloneWithoutVariables() {
+        
+        TYRuntime runtime = copy();
+        runtime.clearVariables();
+        
+        return runtime;
+    }
+    
+    private TYRuntime copy() {
+        
+        try {
             
-            return runtime;
+            return (TYRuntime) super.clone();
             
         } catch (CloneNotSupportedException e) {
             
@@ -259,19 +320,17 @@ public class TYRuntime implements Cloneable {
     
     public void disposeVariables(TYRuntime runtime) {
         
-        for (String var : runtime.variables.keySet()) {
+        // Nothing to copy back if this scope never created a variable of its own
+        if (variableTable != runtime.variableTable || frame == runtime.frame) {
             
-            if (hasVariable(var)) {
-                
-                runtime.setVariableLoc(var, getVariableLoc(var));
-            }
+            return;
         }
         
-        for (VariableLoc loc : variables.values()) {
+        for (int i = 0; i < frame.length; i++) {
             
-            if (!clonedVars.contains(loc)) {
+            if (frame[i] != null && runtime.hasVariable(i) && runtime.getVariableLoc(i) != frame[i]) {
                 
-                VariableManager.clearVariable(loc);
+                runtime.setVariableLoc(i, frame[i]);
             }
         }
     }
@@ -1,10 +1,14 @@
 package com.github.chrisblutz.trinity.lang.procedures;
 
+import com.github.chrisblutz.trinity.interpreter.actions.LazyProcedureAction;
 import com.github.chrisblutz.trinity.lang.TYObject;
 import com.github.chrisblutz.trinity.lang.TYRuntime;
 import com.github.chrisblutz.trinity.lang.errors.Errors;
 import com.github.chrisblutz.trinity.lang.types.arrays.TYArray;
 import com.github.chrisblutz.trinity.lang.types.procedures.TYProcedureObject;
+import com.github.chrisblutz.trinity.lang.types.strings.TYString;
+import com.github.chrisblutz.trinity.lang.variables.VariableTable;
+import com.github.chrisblutz.trinity.natives.TrinityNatives;
 import com.github.chrisblutz.trinity.utils.ArrayUtils;
 
 import java.util.ArrayList;
@@ -18,11 +22,17 @@ import java.util.Map;
  */
 public class TYProcedure {
     
-    private ProcedureAction procedureAction;
+    private volatile ProcedureAction procedureAction;
     private List<String> mandatoryParameters = new ArrayList<>();
     private Map<String, ProcedureAction> optionalParameters = new HashMap<>();
     private String blockParameter = null, overflowParameter = null;
     private boolean rigidParameters = true;
+    private VariableTable variableTable;
+    private int[] parameterSlots;
+    private int blockSlot = -1, overflowSlot = -1;
+    
+    private volatile TYArray mandatoryArgumentArray = null, optionalArgumentArray = null;
+    private volatile TYObject blockArgumentObject = null, overflowArgumentObject = null;
     
     public TYProcedure(ProcedureAction procedureAction, boolean rigidParameters) {
         
@@ -42,11 +52,45 @@ public class TYProcedure {
         this.blockParameter = blockParameter;
         this.overflowParameter = overflowParameter;
         this.rigidParameters = rigidParameters;
+        
+        setVariableTable(new VariableTable());
+    }
+    
+    public VariableTable getVariableTable() {
+        
+        return variableTable;
+    }
+    
+    public void setVariableTable(VariableTable variableTable) {
+        
+        this.variableTable = variableTable;
+        
+        parameterSlots = new int[getMandatoryParameters().size() + getOptionalParameters().size()];
+        int index = 0;
+        for (String name : getMandatoryParameters()) {
+            
+            parameterSlots[index++] = variableTable.getOrCreateSlot(name);
+        }
+        for (String name : getOptionalParameters().keySet()) {
+            
+            parameterSlots[index++] = variableTable.getOrCreateSlot(name);
+        }
+        
+        blockSlot = getBlockParameter() == null ? -1 : variableTable.getOrCreateSlot(getBlockParameter());
+        overflowSlot = getOverflowParameter() == null ? -1 : variableTable.getOrCreateSlot(getOverflowParameter());
     }
     
     public ProcedureAction getProcedureAction() {
         
-        return procedureAction;
+        ProcedureAction action = procedureAction;
+        
+        if (action instanceof LazyProcedureAction) {
+            
+            action = ((LazyProcedureAction) action).getAction();
+            procedureAction = action;
+        }
+        
+        return action;
     }
     
     public List<String> getMandatoryParameters() {
@@ -67,6 +111,8 @@ public class TYProcedure {
     public void setBlockParameter(String blockParameter) {
         
         this.blockParameter = blockParameter;
+        blockSlot = blockParameter == null ? -1 : variableTable.getOrCreateSlot(blockParameter);
+        blockArgumentObject = null;
     }
     
     public String getOverflowParameter() {
@@ -77,6 +123,60 @@ public class TYProcedure {
     public void setOverflowParameter(String overflowParameter) {
         
         this.overflowParameter = overflowParameter;
+        overflowSlot = overflowParameter == null ? -1 : variableTable.getOrCreateSlot(overflowParameter);
+        overflowArgumentObject = null;
+    }
+    
+    public TYArray getMandatoryArgumentArray() {
+        
+        TYArray cached = mandatoryArgumentArray;
+        
+        if (cached == null) {
+            
+            cached = TrinityNatives.getArrayFor(getMandatoryParameters().toArray(new String[getMandatoryParameters().size()]));
+            mandatoryArgumentArray = cached;
+        }
+        
+        return cached;
+    }
+    
+    public TYArray getOptionalArgumentArray() {
+        
+        TYArray cached = optionalArgumentArray;
+        
+        if (cached == null) {
+            
+            cached = TrinityNatives.getArrayFor(getOptionalParameters().keySet().toArray(new String[getOptionalParameters().size()]));
+            optionalArgumentArray = cached;
+        }
+        
+        return cached;
+    }
+    
+    public TYObject getBlockArgumentObject() {
+        
+        TYObject cached = blockArgumentObject;
+        
+        if (cached == null) {
+            
+            cached = getBlockParameter() == null ? TYObject.NIL : new TYString(getBlockParameter());
+            blockArgumentObject = cached;
+        }
+        
+        return cached;
+    }
+    
+    public TYObject getOverflowArgumentObject() {
+        
+        TYObject cached = overflowArgumentObject;
+        
+        if (cached == null) {
+            
+            cached = getOverflowParameter() == null ? TYObject.NIL : new TYString(getOverflowParameter());
+            overflowArgumentObject = cached;
+        }
+        
+        return cached;
     }
     
     public boolean hasRigidParameters() {
@@ -86,39 +186,41 @@ public class TYProcedure {
     
     public TYObject call(TYRuntime runtime, TYProcedure subProcedure, TYRuntime procedureRuntime, TYObject thisObj, TYObject... params) {
         
-        for (String opt : getOptionalParameters().keySet()) {
+        // Interpreting a body on its first call adds its local variables to the table, so it
+        // has to happen before the frame is created
+        ProcedureAction procedureAction = getProcedureAction();
+        
+        runtime.enterFrame(getVariableTable());
+        
+        int mandatorySize = getMandatoryParameters().size();
+        int optIndex = mandatorySize;
+        for (ProcedureAction action : getOptionalParameters().values()) {
             
-            ProcedureAction action = getOptionalParameters().get(opt);
-            runtime.setVariable(opt, action.onAction(runtime, TYObject.NONE));
+            runtime.setVariable(parameterSlots[optIndex++], action.onAction(runtime, TYObject.NONE));
         }
         
         boolean blockFlag = true;
         
-        if (getBlockParameter() != null) {
+        if (blockSlot >= 0) {
             
             TYObject obj;
             
             if (subProcedure != null) {
                 
                 obj = new TYProcedureObject(subProcedure, procedureRuntime);
-                runtime.setVariable(getBlockParameter(), obj);
+                runtime.setVariable(blockSlot, obj);
                 blockFlag = false;
                 
-            } else if (!runtime.hasVariable(getBlockParameter())) {
+            } else if (!runtime.hasVariable(blockSlot)) {
                 
                 obj = new TYProcedureObject(new TYProcedure((runtime1, thisObj1, params1) -> TYObject.NONE, false), new TYRuntime());
-                runtime.setVariable(getBlockParameter(), obj);
+                runtime.setVariable(blockSlot, obj);
             }
         }
         
         runtime.setProcedure(subProcedure);
         
-        List<String> varNames = new ArrayList<>();
-        varNames.addAll(getMandatoryParameters());
-        varNames.addAll(getOptionalParameters().keySet());
-        int optSize = getOptionalParameters().size();
-        
-        List<TYObject> overflow = new ArrayList<>();
+        List<TYObject> overflow = null;
         
         int paramPos;
         int nameIndex = 0;
@@ -126,38 +228,43 @@ public class TYProcedure {
             
             TYObject param = params[paramPos];
             
-            if (blockFlag && getBlockParameter() != null && param instanceof TYProcedureObject) {
+            if (blockFlag && blockSlot >= 0 && param instanceof TYProcedureObject) {
+                
+                runtime.setVariable(blockSlot, param);
                 
-                runtime.setVariable(getBlockParameter(), param);
+            } else if (parameterSlots.length > nameIndex) {
                 
-            } else if (varNames.size() > nameIndex) {
+                runtime.setVariable(parameterSlots[nameIndex++], param);
                 
-                runtime.setVariable(varNames.get(nameIndex++), param);
+            } else if (paramPos == params.length - 1 && overflow == null && param instanceof TYArray && !ArrayUtils.isSolid((TYArray) param, runtime)) {
                 
-            } else if (paramPos == params.length - 1 && overflow.isEmpty() && param instanceof TYArray && !ArrayUtils.isSolid((TYArray) param, runtime)) {
+                overflow = new ArrayList<>(((TYArray) param).getInternalList());
                 
-                overflow.addAll(((TYArray) param).getInternalList());
+            } else if (overflowSlot >= 0) {
                 
-            } else if (getOverflowParameter() != null) {
+                if (overflow == null) {
+                    
+                    overflow = new ArrayList<>();
+                }
                 
                 overflow.add(param);
                 
             } else if (hasRigidParameters()) {
                 
-                Errors.throwError(Errors.Classes.INVALID_ARGUMENT_NUMBER_ERROR, runtime, "Procedure takes " + getMandatoryParameters().size() + " parameter(s).");
+                Errors.throwError(Errors.Classes.INVALID_ARGUMENT_NUMBER_ERROR, runtime, "Procedure takes " + mandatorySize + " parameter(s).");
             }
         }
         
-        if (varNames.size() - optSize > nameIndex) {
+        if (mandatorySize > nameIndex) {
             
-            Errors.throwError(Errors.Classes.INVALID_ARGUMENT_NUMBER_ERROR, runtime, "Procedure takes " + getMandatoryParameters().size() + " parameter(s).");
+            Errors.throwError(Errors.Classes.INVALID_ARGUMENT_NUMBER_ERROR, runtime, "Procedure takes " + mandatorySize + " parameter(s).");
         }
         
-        if (getOverflowParameter() != null) {
+        if (overflowSlot >= 0) {
             
-            runtime.setVariable(getOverflowParameter(), new TYArray(overflow));
+            runtime.setVariable(overflowSlot, new TYArray(overflow == null ? new ArrayList<>() : overflow));
         }
         
-        return getProcedureAction().onAction(runtime, thisObj, params);
+        return procedureAction.onAction(runtime, thisObj, params);
     }
 }
@@ -1,6 +1,7 @@
 package com.github.chrisblutz.trinity.lang.threading;
 
 import com.github.chrisblutz.trinity.Trinity;
+import com.github.chrisblutz.trinity.interpreter.Location;
 import com.github.chrisblutz.trinity.interpreter.errors.TrinityErrorException;
 import com.github.chrisblutz.trinity.lang.TYObject;
 import com.github.chrisblutz.trinity.lang.TYRuntime;
@@ -8,10 +9,11 @@ import com.github.chrisblutz.trinity.lang.errors.Errors;
 import com.github.chrisblutz.trinity.lang.errors.stacktrace.TrinityStack;
 import com.github.chrisblutz.trinity.lang.procedures.TYProcedure;
 import com.github.chrisblutz.trinity.lang.types.procedures.TYProcedureObject;
+import com.github.chrisblutz.trinity.lang.types.threading.TYThreadObject;
 import com.github.chrisblutz.trinity.runner.Runner;
 
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 
 /**
@@ -19,7 +21,8 @@ import java.util.Map;
  */
 public class TYThread {
     
-    private static Map<Thread, TYThread> threads = new HashMap<>();
+    private static Map<Thread, TYThread> threads = new ConcurrentHashMap<>();
+    private static final ThreadLocal<TYThread> currentThread = new ThreadLocal<>();
     
     private String name;
     private Thread thread;
@@ -28,6 +31,11 @@ public class TYThread {
     
     private TYProcedureObject errorHandler = null;
     
+    private Location location = null;
+    private Throwable locatedError = null;
+    
+    private volatile TYThreadObject threadObject = null;
+    
     public static final TYThread DEFAULT_DUMP_THREAD = new TYThread("main", new TYProcedure((runtime, thisObj, params) -> TYObject.NONE, false), new TYRuntime());
     
     public TYThread(String name, TYProcedure procedure, TYRuntime runtime) {
@@ -35,6 +43,8 @@ public class TYThread {
         this.name = name;
         thread = new Thread(Runner.getTrinityThreadGroup(), () -> {
             
+            currentThread.set(this);
+            
             if (runtime != null) {
                 
                 TYRuntime newRuntime = runtime.clone();
@@ -53,14 +63,14 @@ public class TYThread {
                     
                 } catch (Exception e2) {
                     
-                    Errors.throwUncaughtJavaException(e2, Runner.getCurrentFile(thread), Runner.getCurrentLine(thread), tyThread);
+                    Errors.throwUncaughtJavaException(e2, tyThread.getCurrentFile(), tyThread.getCurrentLine(), tyThread);
                     
                     Trinity.exit(1);
                 }
                 
             } else {
                 
-                Errors.throwUncaughtJavaException(e, Runner.getCurrentFile(thread), Runner.getCurrentLine(thread), tyThread);
+                Errors.throwUncaughtJavaException(e, tyThread.getCurrentFile(), tyThread.getCurrentLine(), tyThread);
                 
                 Trinity.exit(1);
             }
@@ -72,6 +82,15 @@ public class TYThread {
         threads.put(thread, this);
     }
     
+    // Threads that Trinity did not start, such as the one parsing source files, still track their own locations
+    private TYThread(Thread thread) {
+        
+        this.name = thread.getName();
+        this.thread = thread;
+        
+        trinityStack = new TrinityStack(null);
+    }
+    
     public void start() {
         
         TrinityStack parent = null;
@@ -120,6 +139,56 @@ public class TYThread {
         return trinityStack;
     }
     
+    public Location getLocation() {
+        
+        return location;
+    }
+    
+    public void setLocation(Location location) {
+        
+        this.location = location;
+    }
+    
+    public void setErrorLocation(Throwable error, Location location) {
+        
+        // The innermost instruction reports first, so outer instruction sets keep its location
+        if (locatedError != error) {
+            
+            locatedError = error;
+            this.location = location;
+        }
+    }
+    
+    public String getCurrentFile() {
+        
+        return location == null ? null : location.getFileName();
+    }
+    
+    public int getCurrentLine() {
+        
+        return location == null ? 0 : location.getLineNumber();
+    }
+    
+    public TYThreadObject getThreadObject() {
+        
+        TYThreadObject cached = threadObject;
+        
+        if (cached == null) {
+            
+            synchronized (this) {
+                
+                if (threadObject == null) {
+                    
+                    threadObject = new TYThreadObject(this);
+                }
+                
+                cached = threadObject;
+            }
+        }
+        
+        return cached;
+    }
+    
     public static TYThread getThread(Thread thread) {
         
         return threads.getOrDefault(thread, DEFAULT_DUMP_THREAD);
@@ -127,7 +196,15 @@ public class TYThread {
     
     public static TYThread getCurrentThread() {
         
-        return getThread(Thread.currentThread());
+        TYThread current = currentThread.get();
+        
+        if (current == null) {
+            
+            current = threads.computeIfAbsent(Thread.currentThread(), TYThread::new);
+            currentThread.set(current);
+        }
+        
+        return current;
     }
     
     public static TYThread constructMainThread(TYProcedure procedure) {
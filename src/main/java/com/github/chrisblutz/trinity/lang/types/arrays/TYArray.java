@@ -1,8 +1,10 @@
 package com.github.chrisblutz.trinity.lang.types.arrays;
 
 import com.github.chrisblutz.trinity.lang.ClassRegistry;
+import com.github.chrisblutz.trinity.lang.TYClass;
 import com.github.chrisblutz.trinity.lang.TYObject;
 import com.github.chrisblutz.trinity.lang.TYRuntime;
+import com.github.chrisblutz.trinity.lang.types.numeric.TYInt;
 import com.github.chrisblutz.trinity.natives.TrinityNatives;
 
 import java.util.List;
@@ -13,11 +15,14 @@ import java.util.List;
  */
 public class TYArray extends TYObject {
     
+    private static final TYClass ARRAY_CLASS = ClassRegistry.getClass(TrinityNatives.Classes.ARRAY);
+    
     private List<TYObject> internalList;
+    private volatile TYInt length = null;
     
     public TYArray(List<TYObject> internal) {
         
-        super(ClassRegistry.getClass(TrinityNatives.Classes.ARRAY));
+        super(ARRAY_CLASS);
         
         this.internalList = internal;
         
@@ -34,4 +39,19 @@ public class TYArray extends TYObject {
         
         return getInternalList().size();
     }
+    
+    public TYInt getLength() {
+        
+        // The internal list can be modified directly, so the cached length is checked against its size
+        int size = size();
+        TYInt cached = length;
+        
+        if (cached == null || cached.getInternalInteger() != size) {
+            
+            cached = TYInt.valueOf(size);
+            length = cached;
+        }
+        
+        return cached;
+    }
 }
@@ -1,16 +1,16 @@
 package com.github.chrisblutz.trinity.lang.types.maps;
 
 import com.github.chrisblutz.trinity.lang.ClassRegistry;
+import com.github.chrisblutz.trinity.lang.TYClass;
 import com.github.chrisblutz.trinity.lang.TYObject;
+import com.github.chrisblutz.trinity.lang.TYRuntime;
 import com.github.chrisblutz.trinity.lang.errors.Errors;
+import com.github.chrisblutz.trinity.lang.types.arrays.TYArray;
 import com.github.chrisblutz.trinity.lang.types.nativeutils.NativeHelper;
-import com.github.chrisblutz.trinity.natives.NativeStorage;
+import com.github.chrisblutz.trinity.lang.types.numeric.TYInt;
 import com.github.chrisblutz.trinity.natives.TrinityNatives;
 
-import java.util.HashMap;
-import java.util.LinkedHashMap;
-import java.util.Map;
-import java.util.TreeMap;
+import java.util.*;
 
 
 /**
@@ -18,56 +18,146 @@ import java.util.TreeMap;
  */
 public class TYMap extends TYObject {
     
+    private static final TYClass MAP_CLASS = ClassRegistry.getClass(TrinityNatives.Classes.MAP);
+    
     private static int fastStorage = -1, orderedStorage = -1, comparisonStorage = -1;
     
-    private Map<TYObject, TYObject> internalMap;
+    private Map<TYMapKey, TYObject> internalMap;
     private int storageType;
     
-    public TYMap(Map<TYObject, TYObject> internal, int storageType) {
+    // Snapshots returned to Trinity code by keys and values, dropped whenever the map changes
+    private volatile TYArray keyArray = null, valueArray = null;
+    private volatile TYInt length = null;
+    private volatile Map<TYObject, TYObject> internalMapView = null;
+    
+    public TYMap(int storageType) {
         
-        super(ClassRegistry.getClass(TrinityNatives.Classes.MAP));
+        super(MAP_CLASS);
         
-        this.internalMap = internal;
+        this.internalMap = createStorage(storageType);
         this.storageType = storageType;
     }
     
-    public Map<TYObject, TYObject> getInternalMap() {
+    public TYMap(Map<TYObject, TYObject> internal, int storageType) {
         
-        return internalMap;
+        this(storageType);
+        
+        for (Map.Entry<TYObject, TYObject> entry : internal.entrySet()) {
+            
+            put(entry.getKey(), entry.getValue());
+        }
     }
     
-    public int getStorageType() {
+    public Map<TYMapKey, TYObject> getKeyedMap() {
         
-        return storageType;
+        return internalMap;
     }
     
-    public void setStorageType(int storageType) {
+    // A view of the map by its keys' objects, for natives written before keys were wrapped
+    public Map<TYObject, TYObject> getInternalMap() {
         
-        Map<TYObject, TYObject> newMap;
+        Map<TYObject, TYObject> view = internalMapView;
         
-        if (storageType == TYMap.getFastStorage()) {
-            
-            newMap = new HashMap<>();
-            
-        } else if (storageType == TYMap.getOrderedStorage()) {
+        if (view == null) {
             
-            newMap = new LinkedHashMap<>();
+            view = new InternalMapView();
+            internalMapView = view;
+        }
+        
+        return view;
+    }
+    
+    public TYObject get(TYObject key, TYObject defaultValue) {
+        
+        return get(key, defaultValue, null);
+    }
+    
+    public TYObject get(TYObject key, TYObject defaultValue, TYRuntime runtime) {
+        
+        TYObject value = internalMap.get(new TYMapKey(key, runtime));
+        
+        if (value == null) {
             
-        } else if (storageType == TYMap.getComparisonStorage()) {
+            return defaultValue;
+        }
+        
+        return value;
+    }
+    
+    public TYObject put(TYObject key, TYObject value) {
+        
+        return put(key, value, null);
+    }
+    
+    public TYObject put(TYObject key, TYObject value, TYRuntime runtime) {
+        
+        TYMapKey mapKey = new TYMapKey(key, runtime);
+        TYObject previous = internalMap.put(mapKey, value);
+        mapKey.release();
+        clearCachedData();
+        
+        if (previous == null) {
             
-            newMap = new TreeMap<>(NativeHelper.getTYObjectComparator());
+            return TYObject.NIL;
+        }
+        
+        return previous;
+    }
+    
+    public TYObject remove(TYObject key) {
+        
+        return remove(key, null);
+    }
+    
+    public TYObject remove(TYObject key, TYRuntime runtime) {
+        
+        TYObject previous = internalMap.remove(new TYMapKey(key, runtime));
+        clearCachedData();
+        
+        if (previous == null) {
             
-        } else {
+            return TYObject.NIL;
+        }
+        
+        return previous;
+    }
+    
+    public void clear() {
+        
+        internalMap.clear();
+        clearCachedData();
+    }
+    
+    public List<TYObject> getKeys() {
+        
+        List<TYObject> keys = new ArrayList<>(internalMap.size());
+        for (TYMapKey key : internalMap.keySet()) {
             
-            Errors.throwError(Errors.Classes.INVALID_ARGUMENT_ERROR, "Storage type " + storageType + " not valid.");
-            newMap = new HashMap<>();
+            keys.add(key.getObject());
         }
         
+        return keys;
+    }
+    
+    public List<TYObject> getValues() {
+        
+        return new ArrayList<>(internalMap.values());
+    }
+    
+    public int getStorageType() {
+        
+        return storageType;
+    }
+    
+    public void setStorageType(int storageType) {
+        
+        Map<TYMapKey, TYObject> newMap = createStorage(storageType);
         newMap.putAll(internalMap);
         
         internalMap = newMap;
+        this.storageType = storageType;
         
-        NativeStorage.clearMapData(this);
+        clearCachedData();
     }
     
     public int size() {
@@ -75,11 +165,57 @@ public class TYMap extends TYObject {
         return getInternalMap().size();
     }
     
+    public TYArray getKeyArray() {
+        
+        TYArray cached = keyArray;
+        
+        if (cached == null) {
+            
+            cached = new TYArray(getKeys());
+            keyArray = cached;
+        }
+        
+        return cached;
+    }
+    
+    public TYArray getValueArray() {
+        
+        TYArray cached = valueArray;
+        
+        if (cached == null) {
+            
+            cached = new TYArray(getValues());
+            valueArray = cached;
+        }
+        
+        return cached;
+    }
+    
+    public TYInt getLength() {
+        
+        int size = size();
+        TYInt cached = length;
+        
+        if (cached == null || cached.getInternalInteger() != size) {
+            
+            cached = TYInt.valueOf(size);
+            length = cached;
+        }
+        
+        return cached;
+    }
+    
+    public void clearCachedData() {
+        
+        keyArray = null;
+        valueArray = null;
+    }
+    
     public static int getFastStorage() {
         
         if (fastStorage == -1) {
             
-            fastStorage = TrinityNatives.toInt(ClassRegistry.getClass(TrinityNatives.Classes.MAP).getVariable("FAST_STORAGE").getValue());
+            fastStorage = getStorageConstant("FAST_STORAGE");
         }
         
         return fastStorage;
@@ -89,7 +225,7 @@ public class TYMap extends TYObject {
         
         if (orderedStorage == -1) {
             
-            orderedStorage = TrinityNatives.toInt(ClassRegistry.getClass(TrinityNatives.Classes.MAP).getVariable("ORDERED_STORAGE").getValue());
+            orderedStorage = getStorageConstant("ORDERED_STORAGE");
         }
         
         return orderedStorage;
@@ -99,9 +235,141 @@ public class TYMap extends TYObject {
         
         if (comparisonStorage == -1) {
             
-            comparisonStorage = TrinityNatives.toInt(ClassRegistry.getClass(TrinityNatives.Classes.MAP).getVariable("COMPARISON_STORAGE").getValue());
+            comparisonStorage = getStorageConstant("COMPARISON_STORAGE");
         }
         
         return comparisonStorage;
     }
+    
+    private static int getStorageConstant(String name) {
+        
+        // Map literals can be created before the Map class itself has been initialized
+        MAP_CLASS.runInitializationActions();
+        
+        return TrinityNatives.toInt(MAP_CLASS.getVariable(name).getValue());
+    }
+    
+    private static Map<TYMapKey, TYObject> createStorage(int storageType) {
+        
+        if (storageType == TYMap.getFastStorage()) {
+            
+            return new HashMap<>();
+            
+        } else if (storageType == TYMap.getOrderedStorage()) {
+            
+            return new LinkedHashMap<>();
+            
+        } else if (storageType == TYMap.getComparisonStorage()) {
+            
+            return new TreeMap<>((k1, k2) -> NativeHelper.getTYObjectComparator().compare(k1.getObject(), k2.getObject()));
+            
+        } else {
+            
+            Errors.throwError(Errors.Classes.INVALID_ARGUMENT_ERROR, "Storage type " + storageType + " not valid.");
+            return new HashMap<>();
+        }
+    }
+    
+    private class InternalMapView extends AbstractMap<TYObject, TYObject> {
+        
+        @Override
+        public int size() {
+            
+            return internalMap.size();
+        }
+        
+        @Override
+        public boolean containsKey(Object key) {
+            
+            return key instanceof TYObject && internalMap.containsKey(new TYMapKey((TYObject) key));
+        }
+        
+        @Override
+        public TYObject get(Object key) {
+            
+            return key instanceof TYObject ? internalMap.get(new TYMapKey((TYObject) key)) : null;
+        }
+        
+        @Override
+        public TYObject put(TYObject key, TYObject value) {
+            
+            TYObject previous = internalMap.put(new TYMapKey(key), value);
+            clearCachedData();
+            
+            return previous;
+        }
+        
+        @Override
+        public TYObject remove(Object key) {
+            
+            if (!(key instanceof TYObject)) {
+                
+                return null;
+            }
+            
+            TYObject previous = internalMap.remove(new TYMapKey((TYObject) key));
+            clearCachedData();
+            
+            return previous;
+        }
+        
+        @Override
+        public void clear() {
+            
+            TYMap.this.clear();
+        }
+        
+        @Override
+        public Set<Entry<TYObject, TYObject>> entrySet() {
+            
+            return new AbstractSet<Entry<TYObject, TYObject>>() {
+                
+                @Override
+                public int size() {
+                    
+                    return internalMap.size();
+                }
+                
+                @Override
+                public Iterator<Entry<TYObject, TYObject>> iterator() {
+                    
+                    Iterator<Entry<TYMapKey, TYObject>> iterator = internalMap.entrySet().iterator();
+                    
+                    return new Iterator<Entry<TYObject, TYObject>>() {
+                        
+                        @Override
+                        public boolean hasNext() {
+                            
+                            return iterator.hasNext();
+                        }
+                        
+                        @Override
+                        public Entry<TYObject, TYObject> next() {
+                            
+                            Entry<TYMapKey, TYObject> entry = iterator.next();
+                            
+                            return new SimpleEntry<TYObject, TYObject>(entry.getKey().getObject(), entry.getValue()) {
+                                
+                                @Override
+                                public TYObject setValue(TYObject value) {
+                                    
+                                    super.setValue(value);
+                                    clearCachedData();
+                                    
+                                    return entry.setValue(value);
+                                }
+                            };
+                        }
+                        
+                        @Override
+                        public void remove() {
+                            
+                            iterator.remove();
+                            clearCachedData();
+                        }
+                    };
+                }
+            };
+        }
+    }
 }
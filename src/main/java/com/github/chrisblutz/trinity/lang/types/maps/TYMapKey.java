@@ -0,0 +1,184 @@
+package com.github.chrisblutz.trinity.lang.types.maps;
+
+import com.github.chrisblutz.trinity.lang.TYClass;
+import com.github.chrisblutz.trinity.lang.TYMethod;
+import com.github.chrisblutz.trinity.lang.TYObject;
+import com.github.chrisblutz.trinity.lang.TYRuntime;
+import com.github.chrisblutz.trinity.lang.types.bool.TYBoolean;
+import com.github.chrisblutz.trinity.lang.types.numeric.NumericOperations;
+import com.github.chrisblutz.trinity.lang.types.numeric.TYFloat;
+import com.github.chrisblutz.trinity.lang.types.numeric.TYInt;
+import com.github.chrisblutz.trinity.lang.types.numeric.TYLong;
+import com.github.chrisblutz.trinity.lang.types.strings.TYString;
+import com.github.chrisblutz.trinity.natives.TrinityNatives;
+
+
+/**
+ * @author Christopher Lutz
+ */
+public class TYMapKey {
+    
+    private static final int IDENTITY = 0, STRING = 1, NUMERIC = 2, BOOLEAN = 3, DEFINED = 4;
+    
+    // Every integer below this magnitude converts to a distinct double
+    private static final long EXACT_DOUBLE_LIMIT = 1L << 53;
+    
+    private TYObject object;
+    private int type;
+    private int hash;
+    
+    // Only held while the key is used by the map operation that created it
+    private TYRuntime runtime;
+    
+    public TYMapKey(TYObject object) {
+        
+        this(object, null);
+    }
+    
+    public TYMapKey(TYObject object, TYRuntime runtime) {
+        
+        this.object = object;
+        this.runtime = runtime;
+        
+        if (object instanceof TYString) {
+            
+            type = STRING;
+            hash = ((TYString) object).getInternalString().hashCode();
+            
+        } else if (object instanceof TYInt || object instanceof TYLong) {
+            
+            type = NUMERIC;
+            long value = object instanceof TYInt ? ((TYInt) object).getInternalInteger() : ((TYLong) object).getInternalLong();
+            hash = isExact(value) ? Long.hashCode(value) : Double.hashCode((double) value);
+            
+        } else if (object instanceof TYFloat) {
+            
+            // Floats are == to integers with the same value, so whole floats hash the same way integers do
+            type = NUMERIC;
+            double value = ((TYFloat) object).getInternalDouble();
+            hash = isExact(value) && value == Math.rint(value) ? Long.hashCode((long) value) : Double.hashCode(value);
+            
+        } else if (object instanceof TYBoolean) {
+            
+            type = BOOLEAN;
+            hash = Boolean.hashCode(((TYBoolean) object).getInternalBoolean());
+            
+        } else if (object == TYObject.NIL || object.getObjectClass() == null) {
+            
+            type = IDENTITY;
+            hash = System.identityHashCode(object);
+            
+        } else {
+            
+            TYClass objectClass = TrinityNatives.getClass(TrinityNatives.Classes.OBJECT);
+            TYMethod hashCodeMethod = object.getObjectClass().findMethod("hashCode");
+            TYMethod equalsMethod = object.getObjectClass().findMethod("==");
+            
+            boolean definesHashCode = hashCodeMethod != null && hashCodeMethod.getContainerClass() != objectClass;
+            boolean definesEquals = equalsMethod != null && equalsMethod.getContainerClass() != objectClass;
+            
+            if (definesHashCode) {
+                
+                type = DEFINED;
+                hash = Double.hashCode(TrinityNatives.asNumber(object.tyInvoke("hashCode", getRuntime(null), null, null)));
+                
+            } else if (definesEquals) {
+                
+                // Without a matching hashCode, objects sharing the same == definition share a bucket so they are still compared
+                type = DEFINED;
+                hash = System.identityHashCode(equalsMethod.getContainerClass());
+                
+            } else {
+                
+                type = IDENTITY;
+                hash = System.identityHashCode(object);
+            }
+        }
+    }
+    
+    public TYObject getObject() {
+        
+        return object;
+    }
+    
+    private static boolean isExact(double value) {
+        
+        return value > -EXACT_DOUBLE_LIMIT && value < EXACT_DOUBLE_LIMIT;
+    }
+    
+    public void release() {
+        
+        runtime = null;
+    }
+    
+    private TYRuntime getRuntime(TYMapKey other) {
+        
+        if (runtime != null) {
+            
+            return runtime;
+            
+        } else if (other != null && other.runtime != null) {
+            
+            return other.runtime;
+        }
+        
+        return new TYRuntime();
+    }
+    
+    @Override
+    public int hashCode() {
+        
+        return hash;
+    }
+    
+    @Override
+    public boolean equals(Object obj) {
+        
+        if (!(obj instanceof TYMapKey)) {
+            
+            return false;
+        }
+        
+        TYMapKey other = (TYMapKey) obj;
+        
+        if (object == other.object) {
+            
+            return true;
+            
+        } else if (hash != other.hash) {
+            
+            return false;
+        }
+        
+        if (type == DEFINED || other.type == DEFINED) {
+            
+            TYObject receiver = type == DEFINED ? object : other.object;
+            TYObject argument = receiver == object ? other.object : object;
+            
+            return TrinityNatives.toBoolean(receiver.tyInvoke("==", getRuntime(other), null, null, argument));
+            
+        } else if (type != other.type) {
+            
+            return false;
+        }
+        
+        switch (type) {
+            
+            case STRING:
+                
+                return ((TYString) object).getInternalString().contentEquals(((TYString) other.object).getInternalString());
+            
+            case NUMERIC:
+                
+                return NumericOperations.equal(object, other.object);
+            
+            case BOOLEAN:
+                
+                return ((TYBoolean) object).getInternalBoolean() == ((TYBoolean) other.object).getInternalBoolean();
+            
+            default:
+                
+                return false;
+        }
+    }
+}
@@ -4,7 +4,6 @@ import com.github.chrisblutz.trinity.lang.TYObject;
 import com.github.chrisblutz.trinity.lang.errors.Errors;
 import com.github.chrisblutz.trinity.lang.types.arrays.TYArray;
 import com.github.chrisblutz.trinity.lang.types.bool.TYBoolean;
-import com.github.chrisblutz.trinity.natives.NativeStorage;
 import com.github.chrisblutz.trinity.natives.TrinityNatives;
 
 import java.util.ArrayList;
@@ -18,21 +17,17 @@ class NativeArray {
     
     protected static void register() {
         
-        TrinityNatives.registerMethod(TrinityNatives.Classes.ARRAY, "length", (runtime, thisObj, params) -> NativeStorage.getArrayLength(TrinityNatives.cast(TYArray.class, thisObj)));
+        TrinityNatives.registerMethod(TrinityNatives.Classes.ARRAY, "length", (runtime, thisObj, params) -> TrinityNatives.cast(TYArray.class, thisObj).getLength());
         TrinityNatives.registerMethod(TrinityNatives.Classes.ARRAY, "add", (runtime, thisObj, params) -> {
             
             TYArray thisArray = TrinityNatives.cast(TYArray.class, thisObj);
             
-            NativeStorage.clearArrayData(thisArray);
-            
             return TYBoolean.valueFor(thisArray.getInternalList().add(runtime.getVariable("value")));
         });
         TrinityNatives.registerMethod(TrinityNatives.Classes.ARRAY, "insert", (runtime, thisObj, params) -> {
             
             TYArray thisArray = TrinityNatives.cast(TYArray.class, thisObj);
             
-            NativeStorage.clearArrayData(thisArray);
-            
             thisArray.getInternalList().add(TrinityNatives.toInt(runtime.getVariable("index")), runtime.getVariable("value"));
             
             return TYObject.NONE;
@@ -41,8 +36,6 @@ class NativeArray {
             
             TYArray thisArray = TrinityNatives.cast(TYArray.class, thisObj);
             
-            NativeStorage.clearArrayData(thisArray);
-            
             return thisArray.getInternalList().remove(TrinityNatives.toInt(runtime.getVariable("index")));
         });
         TrinityNatives.registerMethod(TrinityNatives.Classes.ARRAY, "clear", (runtime, thisObj, params) -> {
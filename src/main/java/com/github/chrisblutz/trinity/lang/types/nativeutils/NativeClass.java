@@ -1,5 +1,6 @@
 package com.github.chrisblutz.trinity.lang.types.nativeutils;
 
+import com.github.chrisblutz.trinity.bootstrap.LibraryIndex;
 import com.github.chrisblutz.trinity.lang.*;
 import com.github.chrisblutz.trinity.lang.types.TYClassObject;
 import com.github.chrisblutz.trinity.lang.types.TYStaticClassObject;
@@ -135,7 +136,10 @@ class NativeClass {
             
             List<TYObject> classes = new ArrayList<>();
             
-            for (TYClass c : TrinityNatives.cast(TYClassObject.class, thisObj).getInternalClass().getClasses()) {
+            TYClass tyClass = TrinityNatives.cast(TYClassObject.class, thisObj).getInternalClass();
+            LibraryIndex.loadMembers(tyClass.getName());
+            
+            for (TYClass c : tyClass.getClasses()) {
                 
                 classes.add(NativeStorage.getClassObject(c));
             }
@@ -172,6 +176,8 @@ class NativeClass {
             
             List<TYObject> classes = new ArrayList<>();
             
+            LibraryIndex.loadAll();
+            
             for (TYClass c : ClassRegistry.getClasses()) {
                 
                 classes.add(NativeStorage.getClassObject(c));
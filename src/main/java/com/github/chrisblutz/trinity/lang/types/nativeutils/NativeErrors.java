@@ -58,7 +58,7 @@ class NativeErrors {
                     fileName = new TYString(e.getFile());
                 }
                 
-                TYObject line = new TYInt(e.getLine());
+                TYObject line = TYInt.valueOf(e.getLine());
                 TYObject stackTraceInstance = TrinityNatives.newInstance("Trinity.Errors.StackTraceElement", runtime, errorClass, method, fileName, line);
                 ary.getInternalList().add(stackTraceInstance);
             }
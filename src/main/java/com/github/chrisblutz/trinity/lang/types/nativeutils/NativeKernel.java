@@ -13,6 +13,7 @@ import com.github.chrisblutz.trinity.lang.types.arrays.TYArray;
 import com.github.chrisblutz.trinity.lang.types.io.TYNativeOutputStream;
 import com.github.chrisblutz.trinity.lang.types.maps.TYMap;
 import com.github.chrisblutz.trinity.lang.types.strings.TYString;
+import com.github.chrisblutz.trinity.lang.variables.VariableTable;
 import com.github.chrisblutz.trinity.natives.TrinityNatives;
 import com.github.chrisblutz.trinity.parser.TrinityParser;
 import com.github.chrisblutz.trinity.parser.blocks.Block;
@@ -98,15 +99,24 @@ class NativeKernel {
                 lines = new String[]{TrinityNatives.toString(code, runtime)};
             }
             
-            Block block = TrinityParser.parseStrings(new File(FileUtils.getTrinityHome(), "lib/Kernel.ty"), lines);
-            ProcedureAction action = ExpressionInterpreter.interpret(block, new InterpretEnvironment(), "nil", "nil", false);
+            VariableTable variableTable;
+            ProcedureAction action;
+            
+            // The interpreter keeps its state in static fields, so this shares its lock with lazily interpreted bodies
+            synchronized (ExpressionInterpreter.class) {
+                
+                Block block = TrinityParser.parseStrings(new File(FileUtils.getTrinityHome(), "lib/Kernel.ty"), lines);
+                variableTable = ExpressionInterpreter.openVariableTable();
+                action = ExpressionInterpreter.interpret(block, new InterpretEnvironment(), "nil", "nil", false);
+                ExpressionInterpreter.closeVariableTable();
+            }
             
             TYRuntime newRuntime = new TYRuntime();
-            Map<TYObject, TYObject> map = argsMap.getInternalMap();
-            for (TYObject name : argsMap.getInternalMap().keySet()) {
+            newRuntime.enterFrame(variableTable);
+            for (Map.Entry<TYObject, TYObject> entry : argsMap.getInternalMap().entrySet()) {
                 
-                String nameStr = TrinityNatives.toString(name, runtime);
-                newRuntime.setVariable(nameStr, map.get(name));
+                String nameStr = TrinityNatives.toString(entry.getKey(), runtime);
+                newRuntime.setVariable(nameStr, entry.getValue());
             }
             
             return action.onAction(newRuntime, TYObject.NONE);
@@ -126,9 +136,12 @@ class NativeKernel {
                 file = new File(TrinityNatives.toString(fileObj, runtime));
             }
             
-            TrinityParser.parse(file);
-            
-            TrinityInterpreter.runInitializationActions();
+            synchronized (ExpressionInterpreter.class) {
+                
+                TrinityParser.parse(file);
+                
+                TrinityInterpreter.runInitializationActions();
+            }
             
             return TYObject.NONE;
         });
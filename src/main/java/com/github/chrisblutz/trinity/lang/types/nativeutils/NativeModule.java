@@ -1,5 +1,6 @@
 package com.github.chrisblutz.trinity.lang.types.nativeutils;
 
+import com.github.chrisblutz.trinity.bootstrap.LibraryIndex;
 import com.github.chrisblutz.trinity.lang.ModuleRegistry;
 import com.github.chrisblutz.trinity.lang.TYClass;
 import com.github.chrisblutz.trinity.lang.TYModule;
@@ -38,7 +39,10 @@ class NativeModule {
             
             List<TYObject> modules = new ArrayList<>();
             
-            for (TYModule m : TrinityNatives.cast(TYModuleObject.class, thisObj).getInternalModule().getModules()) {
+            TYModule tyModule = TrinityNatives.cast(TYModuleObject.class, thisObj).getInternalModule();
+            LibraryIndex.loadMembers(tyModule.getName());
+            
+            for (TYModule m : tyModule.getModules()) {
                 
                 modules.add(NativeStorage.getModuleObject(m));
             }
@@ -60,7 +64,10 @@ class NativeModule {
             
             List<TYObject> classes = new ArrayList<>();
             
-            for (TYClass c : TrinityNatives.cast(TYModuleObject.class, thisObj).getInternalModule().getClasses()) {
+            TYModule tyModule = TrinityNatives.cast(TYModuleObject.class, thisObj).getInternalModule();
+            LibraryIndex.loadMembers(tyModule.getName());
+            
+            for (TYClass c : tyModule.getClasses()) {
                 
                 classes.add(NativeStorage.getClassObject(c));
             }
@@ -101,6 +108,8 @@ class NativeModule {
             
             List<TYObject> modules = new ArrayList<>();
             
+            LibraryIndex.loadAll();
+            
             for (TYModule m : ModuleRegistry.getModules()) {
                 
                 modules.add(NativeStorage.getModuleObject(m));
@@ -4,13 +4,17 @@ import com.github.chrisblutz.trinity.lang.TYObject;
 import com.github.chrisblutz.trinity.lang.errors.Errors;
 import com.github.chrisblutz.trinity.lang.procedures.ProcedureAction;
 import com.github.chrisblutz.trinity.lang.types.bool.TYBoolean;
+import com.github.chrisblutz.trinity.lang.types.numeric.NumericOperations;
+import com.github.chrisblutz.trinity.lang.types.numeric.TYFloat;
 import com.github.chrisblutz.trinity.lang.types.numeric.TYInt;
+import com.github.chrisblutz.trinity.lang.types.numeric.TYLong;
 import com.github.chrisblutz.trinity.lang.types.strings.TYString;
 import com.github.chrisblutz.trinity.natives.TrinityNatives;
 
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.function.BinaryOperator;
 
 
 /**
@@ -22,26 +26,26 @@ class NativeNumeric {
     
     protected static void register() {
         
-        TrinityNatives.registerMethod(TrinityNatives.Classes.NUMERIC, "+", getAction("+"));
-        TrinityNatives.registerMethod(TrinityNatives.Classes.NUMERIC, "-", getAction("-"));
-        TrinityNatives.registerMethod(TrinityNatives.Classes.NUMERIC, "*", getAction("*"));
-        TrinityNatives.registerMethod(TrinityNatives.Classes.NUMERIC, "/", getAction("/"));
-        TrinityNatives.registerMethod(TrinityNatives.Classes.NUMERIC, "%", getAction("%"));
-        TrinityNatives.registerMethod(TrinityNatives.Classes.NUMERIC, "<<", getAction("<<"));
-        TrinityNatives.registerMethod(TrinityNatives.Classes.NUMERIC, ">>", getAction(">>"));
-        TrinityNatives.registerMethod(TrinityNatives.Classes.NUMERIC, ">>>", getAction(">>>"));
+        TrinityNatives.registerMethod(TrinityNatives.Classes.NUMERIC, "+", getAction("+", NumericOperations::add));
+        TrinityNatives.registerMethod(TrinityNatives.Classes.NUMERIC, "-", getAction("-", NumericOperations::subtract));
+        TrinityNatives.registerMethod(TrinityNatives.Classes.NUMERIC, "*", getAction("*", NumericOperations::multiply));
+        TrinityNatives.registerMethod(TrinityNatives.Classes.NUMERIC, "/", getAction("/", NumericOperations::divide));
+        TrinityNatives.registerMethod(TrinityNatives.Classes.NUMERIC, "%", getAction("%", NumericOperations::modulus));
+        TrinityNatives.registerMethod(TrinityNatives.Classes.NUMERIC, "<<", getAction("<<", NumericOperations::shiftLeft));
+        TrinityNatives.registerMethod(TrinityNatives.Classes.NUMERIC, ">>", getAction(">>", NumericOperations::shiftRight));
+        TrinityNatives.registerMethod(TrinityNatives.Classes.NUMERIC, ">>>", getAction(">>>", NumericOperations::shiftRightLogical));
         TrinityNatives.registerMethod(TrinityNatives.Classes.NUMERIC, "toString", (runtime, thisObj, params) -> {
             
             String string = "";
-            if (TrinityNatives.isInstance(thisObj, TrinityNatives.Classes.INT)) {
+            if (thisObj instanceof TYInt) {
                 
                 string = Integer.toString(TrinityNatives.toInt(thisObj));
                 
-            } else if (TrinityNatives.isInstance(thisObj, TrinityNatives.Classes.LONG)) {
+            } else if (thisObj instanceof TYLong) {
                 
                 string = Long.toString(TrinityNatives.toLong(thisObj));
                 
-            } else if (TrinityNatives.isInstance(thisObj, TrinityNatives.Classes.FLOAT)) {
+            } else if (thisObj instanceof TYFloat) {
                 
                 string = Double.toString(TrinityNatives.toFloat(thisObj));
                 
@@ -55,15 +59,15 @@ class NativeNumeric {
         TrinityNatives.registerMethod(TrinityNatives.Classes.NUMERIC, "toHexString", (runtime, thisObj, params) -> {
             
             String string = "";
-            if (TrinityNatives.isInstance(thisObj, TrinityNatives.Classes.INT)) {
+            if (thisObj instanceof TYInt) {
                 
                 string = Integer.toHexString(TrinityNatives.toInt(thisObj));
                 
-            } else if (TrinityNatives.isInstance(thisObj, TrinityNatives.Classes.LONG)) {
+            } else if (thisObj instanceof TYLong) {
                 
                 string = Long.toHexString(TrinityNatives.toLong(thisObj));
                 
-            } else if (TrinityNatives.isInstance(thisObj, TrinityNatives.Classes.FLOAT)) {
+            } else if (thisObj instanceof TYFloat) {
                 
                 string = Double.toHexString(TrinityNatives.toFloat(thisObj));
                 
@@ -76,26 +80,47 @@ class NativeNumeric {
         });
         TrinityNatives.registerMethod(TrinityNatives.Classes.NUMERIC, "compareTo", (runtime, thisObj, params) -> {
             
+            TYObject other = runtime.getVariable("other");
+            
+            if (NumericOperations.isPrimitive(thisObj) && NumericOperations.isPrimitive(other)) {
+                
+                return TYInt.valueOf(NumericOperations.compare(thisObj, other));
+            }
+            
             double thisDouble = TrinityNatives.asNumber(thisObj);
-            double otherDouble = TrinityNatives.asNumber(runtime.getVariable("other"));
+            double otherDouble = TrinityNatives.asNumber(other);
             
-            return new TYInt(Double.compare(thisDouble, otherDouble));
+            return TYInt.valueOf(Double.compare(thisDouble, otherDouble));
         });
         TrinityNatives.registerMethod(TrinityNatives.Classes.NUMERIC, "==", (runtime, thisObj, params) -> {
             
+            TYObject other = runtime.getVariable("other");
+            
+            if (NumericOperations.isPrimitive(thisObj) && NumericOperations.isPrimitive(other)) {
+                
+                return TYBoolean.valueFor(NumericOperations.equal(thisObj, other));
+            }
+            
             double thisDouble = TrinityNatives.asNumber(thisObj);
-            double otherDouble = TrinityNatives.asNumber(runtime.getVariable("other"));
+            double otherDouble = TrinityNatives.asNumber(other);
             
             return TYBoolean.valueFor(thisDouble == otherDouble);
         });
     }
     
-    private static ProcedureAction getAction(final String operation) {
+    private static ProcedureAction getAction(final String operation, final BinaryOperator<TYObject> primitiveOperation) {
         
         return (runtime, thisObj, params) -> {
             
             TYObject other = runtime.getVariable("other");
             
+            // Int, Long and Float operands are handled without converting through double
+            TYObject result = primitiveOperation.apply(thisObj, other);
+            if (result != null) {
+                
+                return result;
+            }
+            
             double thisDouble = TrinityNatives.asNumber(thisObj);
             double otherDouble = TrinityNatives.asNumber(other);
             
@@ -20,7 +20,7 @@ class NativeRandom {
             int lowerBound = TrinityNatives.toInt(runtime.getVariable("origin"));
             int upperBound = TrinityNatives.toInt(runtime.getVariable("bound"));
             
-            return new TYInt(ThreadLocalRandom.current().nextInt(lowerBound, upperBound));
+            return TYInt.valueOf(ThreadLocalRandom.current().nextInt(lowerBound, upperBound));
         });
         TrinityNatives.registerMethod(TrinityNatives.Classes.RANDOM, "nextLong", (runtime, thisObj, params) -> {
             
@@ -22,6 +22,7 @@ class NativeString {
     protected static void register() {
         
         TrinityNatives.registerMethod(TrinityNatives.Classes.STRING, "chars", (runtime, thisObj, params) -> TrinityNatives.cast(TYString.class, thisObj).getCharacterArray());
+        TrinityNatives.registerMethod(TrinityNatives.Classes.STRING, "length", (runtime, thisObj, params) -> TYInt.valueOf(TrinityNatives.cast(TYString.class, thisObj).length()));
         TrinityNatives.registerMethod(TrinityNatives.Classes.STRING, "+", (runtime, thisObj, params) -> {
             
             String thisString = TrinityNatives.cast(TYString.class, thisObj).getInternalString();
@@ -180,14 +181,14 @@ class NativeString {
             String first = TrinityNatives.toString(thisObj, runtime);
             String second = TrinityNatives.toString(runtime.getVariable("other"), runtime);
             
-            return new TYInt(first.compareTo(second));
+            return TYInt.valueOf(first.compareTo(second));
         });
         TrinityNatives.registerMethod(TrinityNatives.Classes.STRING, "compareToIgnoreCase", (runtime, thisObj, params) -> {
             
             String first = TrinityNatives.toString(thisObj, runtime);
             String second = TrinityNatives.toString(runtime.getVariable("other"), runtime);
             
-            return new TYInt(first.compareToIgnoreCase(second));
+            return TYInt.valueOf(first.compareToIgnoreCase(second));
         });
     }
 }
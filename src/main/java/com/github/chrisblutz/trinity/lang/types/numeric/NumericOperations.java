@@ -0,0 +1,279 @@
+package com.github.chrisblutz.trinity.lang.types.numeric;
+
+import com.github.chrisblutz.trinity.lang.NativeMethodGuard;
+import com.github.chrisblutz.trinity.lang.TYObject;
+import com.github.chrisblutz.trinity.lang.errors.Errors;
+import com.github.chrisblutz.trinity.natives.TrinityNatives;
+
+
+/**
+ * @author Christopher Lutz
+ */
+public class NumericOperations {
+    
+    // Operators only take these paths while they still resolve to Numeric's native methods
+    public static final NativeMethodGuard ADD = guard("+"), SUBTRACT = guard("-"), MULTIPLY = guard("*"), DIVIDE = guard("/"), MODULUS = guard("%");
+    public static final NativeMethodGuard SHIFT_LEFT = guard("<<"), SHIFT_RIGHT = guard(">>"), SHIFT_RIGHT_LOGICAL = guard(">>>");
+    public static final NativeMethodGuard EQUAL_TO = guard("=="), COMPARE_TO = guard("compareTo");
+    
+    // Arithmetic operations return null if either operand is not an Int, Long or Float,
+    // in which case callers fall back to the general numeric path.
+    // Comparisons expect both operands to be Ints, Longs or Floats.
+    
+    public static TYObject add(TYObject first, TYObject second) {
+        
+        if (first instanceof TYInt && second instanceof TYInt) {
+            
+            return wrapLong((long) ((TYInt) first).getInternalInteger() + ((TYInt) second).getInternalInteger());
+            
+        } else if (isIntegral(first) && isIntegral(second)) {
+            
+            long a = toLong(first), b = toLong(second);
+            long result = a + b;
+            
+            // Overflow occurred if both operands have a different sign than the result
+            if (((a ^ result) & (b ^ result)) < 0) {
+                
+                return new TYFloat((double) a + (double) b);
+            }
+            
+            return wrapLong(result);
+            
+        } else if (isPrimitive(first) && isPrimitive(second)) {
+            
+            return TrinityNatives.wrapNumber(toDouble(first) + toDouble(second));
+        }
+        
+        return null;
+    }
+    
+    public static TYObject subtract(TYObject first, TYObject second) {
+        
+        if (first instanceof TYInt && second instanceof TYInt) {
+            
+            return wrapLong((long) ((TYInt) first).getInternalInteger() - ((TYInt) second).getInternalInteger());
+            
+        } else if (isIntegral(first) && isIntegral(second)) {
+            
+            long a = toLong(first), b = toLong(second);
+            long result = a - b;
+            
+            // Overflow occurred if the operands differ in sign and the result's sign differs from the first operand
+            if (((a ^ b) & (a ^ result)) < 0) {
+                
+                return new TYFloat((double) a - (double) b);
+            }
+            
+            return wrapLong(result);
+            
+        } else if (isPrimitive(first) && isPrimitive(second)) {
+            
+            return TrinityNatives.wrapNumber(toDouble(first) - toDouble(second));
+        }
+        
+        return null;
+    }
+    
+    public static TYObject multiply(TYObject first, TYObject second) {
+        
+        if (first instanceof TYInt && second instanceof TYInt) {
+            
+            return wrapLong((long) ((TYInt) first).getInternalInteger() * ((TYInt) second).getInternalInteger());
+            
+        } else if (isIntegral(first) && isIntegral(second)) {
+            
+            long a = toLong(first), b = toLong(second);
+            
+            try {
+                
+                return wrapLong(Math.multiplyExact(a, b));
+                
+            } catch (ArithmeticException e) {
+                
+                return new TYFloat((double) a * (double) b);
+            }
+            
+        } else if (isPrimitive(first) && isPrimitive(second)) {
+            
+            return TrinityNatives.wrapNumber(toDouble(first) * toDouble(second));
+        }
+        
+        return null;
+    }
+    
+    public static TYObject divide(TYObject first, TYObject second) {
+        
+        if (isIntegral(first) && isIntegral(second)) {
+            
+            long a = toLong(first), b = toLong(second);
+            
+            checkDivision(b);
+            
+            if (a % b != 0) {
+                
+                return new TYFloat((double) a / (double) b);
+                
+            } else if (a == Long.MIN_VALUE && b == -1) {
+                
+                return new TYFloat(-(double) a);
+            }
+            
+            return wrapLong(a / b);
+            
+        } else if (isPrimitive(first) && isPrimitive(second)) {
+            
+            double b = toDouble(second);
+            
+            checkDivision(b);
+            
+            return TrinityNatives.wrapNumber(toDouble(first) / b);
+        }
+        
+        return null;
+    }
+    
+    public static TYObject modulus(TYObject first, TYObject second) {
+        
+        if (isIntegral(first) && isIntegral(second)) {
+            
+            long b = toLong(second);
+            
+            checkDivision(b);
+            
+            return wrapLong(Math.floorMod(toLong(first), b));
+        }
+        
+        return null;
+    }
+    
+    public static TYObject shiftLeft(TYObject first, TYObject second) {
+        
+        if (isIntegral(first) && isIntegral(second)) {
+            
+            return wrapLong(toLong(first) << toLong(second));
+        }
+        
+        return null;
+    }
+    
+    public static TYObject shiftRight(TYObject first, TYObject second) {
+        
+        if (isIntegral(first) && isIntegral(second)) {
+            
+            return wrapLong(toLong(first) >> toLong(second));
+        }
+        
+        return null;
+    }
+    
+    public static TYObject shiftRightLogical(TYObject first, TYObject second) {
+        
+        if (isIntegral(first) && isIntegral(second)) {
+            
+            return wrapLong(toLong(first) >>> toLong(second));
+        }
+        
+        return null;
+    }
+    
+    public static int compare(TYObject first, TYObject second) {
+        
+        if (first instanceof TYInt && second instanceof TYInt) {
+            
+            return Integer.compare(((TYInt) first).getInternalInteger(), ((TYInt) second).getInternalInteger());
+            
+        } else if (isIntegral(first) && isIntegral(second)) {
+            
+            return Long.compare(toLong(first), toLong(second));
+            
+        } else {
+            
+            return Double.compare(toDouble(first), toDouble(second));
+        }
+    }
+    
+    public static boolean equal(TYObject first, TYObject second) {
+        
+        if (isIntegral(first) && isIntegral(second)) {
+            
+            return toLong(first) == toLong(second);
+            
+        } else {
+            
+            return toDouble(first) == toDouble(second);
+        }
+    }
+    
+    public static boolean usesNativeOperator(NativeMethodGuard guard, TYObject first, TYObject second) {
+        
+        return isPrimitive(first) && isPrimitive(second) && guard.isNative(first);
+    }
+    
+    public static boolean isZero(TYObject object) {
+        
+        return isPrimitive(object) && toDouble(object) == 0;
+    }
+    
+    public static boolean isPrimitive(TYObject object) {
+        
+        return object instanceof TYInt || object instanceof TYLong || object instanceof TYFloat;
+    }
+    
+    public static boolean isIntegral(TYObject object) {
+        
+        return object instanceof TYInt || object instanceof TYLong;
+    }
+    
+    public static TYObject wrapLong(long l) {
+        
+        if (l > Integer.MAX_VALUE || l < Integer.MIN_VALUE) {
+            
+            return new TYLong(l);
+            
+        } else {
+            
+            return TYInt.valueOf((int) l);
+        }
+    }
+    
+    private static long toLong(TYObject object) {
+        
+        if (object instanceof TYInt) {
+            
+            return ((TYInt) object).getInternalInteger();
+            
+        } else {
+            
+            return ((TYLong) object).getInternalLong();
+        }
+    }
+    
+    private static double toDouble(TYObject object) {
+        
+        if (object instanceof TYInt) {
+            
+            return ((TYInt) object).getInternalInteger();
+            
+        } else if (object instanceof TYLong) {
+            
+            return ((TYLong) object).getInternalLong();
+            
+        } else {
+            
+            return ((TYFloat) object).getInternalDouble();
+        }
+    }
+    
+    private static NativeMethodGuard guard(String operator) {
+        
+        return new NativeMethodGuard(TrinityNatives.Classes.NUMERIC, operator);
+    }
+    
+    private static void checkDivision(double denominator) {
+        
+        if (denominator == 0) {
+            
+            Errors.throwError(Errors.Classes.ARITHMETIC_ERROR, "/ by 0.");
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.github.chrisblutz.trinity.lang.types.numeric;
 
 import com.github.chrisblutz.trinity.lang.ClassRegistry;
+import com.github.chrisblutz.trinity.lang.TYClass;
 import com.github.chrisblutz.trinity.lang.TYObject;
 import com.github.chrisblutz.trinity.natives.TrinityNatives;
 
@@ -10,11 +11,13 @@ import com.github.chrisblutz.trinity.natives.TrinityNatives;
  */
 public class TYFloat extends TYObject {
     
+    private static final TYClass FLOAT_CLASS = ClassRegistry.getClass(TrinityNatives.Classes.FLOAT);
+    
     private double internalDouble;
     
     public TYFloat(double internal) {
         
-        super(ClassRegistry.getClass(TrinityNatives.Classes.FLOAT));
+        super(FLOAT_CLASS);
         
         this.internalDouble = internal;
     }
@@ -1,6 +1,7 @@
 package com.github.chrisblutz.trinity.lang.types.numeric;
 
 import com.github.chrisblutz.trinity.lang.ClassRegistry;
+import com.github.chrisblutz.trinity.lang.TYClass;
 import com.github.chrisblutz.trinity.lang.TYObject;
 import com.github.chrisblutz.trinity.natives.TrinityNatives;
 
@@ -10,11 +11,26 @@ import com.github.chrisblutz.trinity.natives.TrinityNatives;
  */
 public class TYInt extends TYObject {
     
+    private static final TYClass INT_CLASS = ClassRegistry.getClass(TrinityNatives.Classes.INT);
+    
+    // The range of cached values can be changed with -Dtrinity.int.cache.low/-Dtrinity.int.cache.high
+    private static final int CACHE_LOW = Integer.getInteger("trinity.int.cache.low", -128);
+    private static final int CACHE_HIGH = Math.max(CACHE_LOW - 1, Integer.getInteger("trinity.int.cache.high", 1024));
+    private static final TYInt[] CACHE = new TYInt[CACHE_HIGH - CACHE_LOW + 1];
+    
+    static {
+        
+        for (int i = 0; i < CACHE.length; i++) {
+            
+            CACHE[i] = new TYInt(CACHE_LOW + i);
+        }
+    }
+    
     private int internalInteger;
     
     public TYInt(int internal) {
         
-        super(ClassRegistry.getClass(TrinityNatives.Classes.INT));
+        super(INT_CLASS);
         
         this.internalInteger = internal;
     }
@@ -23,4 +39,14 @@ public class TYInt extends TYObject {
         
         return internalInteger;
     }
+    
+    public static TYInt valueOf(int i) {
+        
+        if (i >= CACHE_LOW && i <= CACHE_HIGH) {
+            
+            return CACHE[i - CACHE_LOW];
+        }
+        
+        return new TYInt(i);
+    }
 }
@@ -1,6 +1,7 @@
 package com.github.chrisblutz.trinity.lang.types.numeric;
 
 import com.github.chrisblutz.trinity.lang.ClassRegistry;
+import com.github.chrisblutz.trinity.lang.TYClass;
 import com.github.chrisblutz.trinity.lang.TYObject;
 import com.github.chrisblutz.trinity.natives.TrinityNatives;
 
@@ -10,11 +11,13 @@ import com.github.chrisblutz.trinity.natives.TrinityNatives;
  */
 public class TYLong extends TYObject {
     
+    private static final TYClass LONG_CLASS = ClassRegistry.getClass(TrinityNatives.Classes.LONG);
+    
     private long internalLong;
     
     public TYLong(long internal) {
         
-        super(ClassRegistry.getClass(TrinityNatives.Classes.LONG));
+        super(LONG_CLASS);
         
         this.internalLong = internal;
     }
@@ -1,6 +1,7 @@
 package com.github.chrisblutz.trinity.lang.types.procedures;
 
 import com.github.chrisblutz.trinity.lang.ClassRegistry;
+import com.github.chrisblutz.trinity.lang.TYClass;
 import com.github.chrisblutz.trinity.lang.TYObject;
 import com.github.chrisblutz.trinity.lang.TYRuntime;
 import com.github.chrisblutz.trinity.lang.procedures.TYProcedure;
@@ -12,13 +13,15 @@ import com.github.chrisblutz.trinity.natives.TrinityNatives;
  */
 public class TYProcedureObject extends TYObject {
     
+    private static final TYClass PROCEDURE_CLASS = ClassRegistry.getClass(TrinityNatives.Classes.PROCEDURE);
+    
     private TYProcedure internalProcedure;
     private TYRuntime procedureRuntime;
     private boolean broken = false;
     
     public TYProcedureObject(TYProcedure internal, TYRuntime procedureRuntime) {
         
-        super(ClassRegistry.getClass(TrinityNatives.Classes.PROCEDURE));
+        super(PROCEDURE_CLASS);
         
         this.internalProcedure = internal;
         this.procedureRuntime = procedureRuntime;
@@ -1,6 +1,7 @@
 package com.github.chrisblutz.trinity.lang.types.strings;
 
 import com.github.chrisblutz.trinity.lang.ClassRegistry;
+import com.github.chrisblutz.trinity.lang.TYClass;
 import com.github.chrisblutz.trinity.lang.TYObject;
 import com.github.chrisblutz.trinity.lang.types.arrays.TYArray;
 import com.github.chrisblutz.trinity.natives.TrinityNatives;
@@ -14,29 +15,16 @@ import java.util.List;
  */
 public class TYString extends TYObject {
     
+    private static final TYClass STRING_CLASS = ClassRegistry.getClass(TrinityNatives.Classes.STRING);
+    
     private String internalString;
-    private List<TYObject> chars;
-    private TYArray charArray = null;
+    private volatile TYArray charArray = null;
     
     public TYString(String internal) {
         
-        super(ClassRegistry.getClass(TrinityNatives.Classes.STRING));
+        super(STRING_CLASS);
         
         this.internalString = internal;
-        
-        chars = new ArrayList<>();
-        
-        if (internal.length() == 1) {
-            
-            chars.add(this);
-            
-        } else {
-            
-            for (char c : internalString.toCharArray()) {
-                
-                chars.add(new TYString(Character.toString(c)));
-            }
-        }
     }
     
     public String getInternalString() {
@@ -44,11 +32,31 @@ public class TYString extends TYObject {
         return internalString;
     }
     
+    public int length() {
+        
+        return internalString.length();
+    }
+    
     public TYArray getCharacterArray() {
         
+        // Characters are only split out when they are first requested,
+        // and each string gets its own, since the array is mutable
         if (charArray == null) {
             
-            charArray = new TYArray(chars);
+            synchronized (this) {
+                
+                if (charArray == null) {
+                    
+                    List<TYObject> chars = new ArrayList<>(internalString.length());
+                    
+                    for (int i = 0; i < internalString.length(); i++) {
+                        
+                        chars.add(new TYString(Character.toString(internalString.charAt(i))));
+                    }
+                    
+                    charArray = new TYArray(chars);
+                }
+            }
         }
         
         return charArray;
@@ -0,0 +1,89 @@
+package com.github.chrisblutz.trinity.lang.variables;
+
+import com.github.chrisblutz.trinity.lang.TYClass;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+
+/**
+ * Assigns instance fields to indices within an object's field array.
+ * A class's fields are laid out after those of its superclass, so each
+ * class in the hierarchy keeps its own copy of a field even if a subclass
+ * declares one with the same name.
+ *
+ * @author Christopher Lutz
+ */
+public class FieldLayout {
+    
+    private TYClass owner;
+    private FieldLayout parent;
+    private String[] names;
+    private Map<String, Integer> offsets = new HashMap<>();
+    private int base, size, version;
+    
+    public FieldLayout(TYClass owner, FieldLayout parent, Collection<String> names, int version) {
+        
+        this.owner = owner;
+        this.parent = parent;
+        this.names = names.toArray(new String[names.size()]);
+        this.base = parent == null ? 0 : parent.size();
+        this.size = base + this.names.length;
+        this.version = version;
+        
+        for (int i = 0; i < this.names.length; i++) {
+            
+            offsets.put(this.names[i], base + i);
+        }
+    }
+    
+    public TYClass getOwner() {
+        
+        return owner;
+    }
+    
+    public FieldLayout getParent() {
+        
+        return parent;
+    }
+    
+    public String[] getNames() {
+        
+        return names;
+    }
+    
+    public int getBase() {
+        
+        return base;
+    }
+    
+    public int size() {
+        
+        return size;
+    }
+    
+    public int getVersion() {
+        
+        return version;
+    }
+    
+    public int getOffset(String name) {
+        
+        Integer offset = offsets.get(name);
+        return offset == null ? -1 : offset;
+    }
+    
+    public FieldLayout getLayoutFor(TYClass tyClass) {
+        
+        for (FieldLayout layout = this; layout != null; layout = layout.parent) {
+            
+            if (layout.owner == tyClass) {
+                
+                return layout;
+            }
+        }
+        
+        return null;
+    }
+}
@@ -11,13 +11,29 @@ import com.github.chrisblutz.trinity.lang.TYRuntime;
  */
 public class VariableLoc {
     
+    private TYObject value;
     private TYClass containerClass = null;
     private Scope scope = null;
     private boolean constant = false;
     
+    public VariableLoc() {
+        
+        this(TYObject.NIL);
+    }
+    
+    public VariableLoc(TYObject value) {
+        
+        this.value = value;
+    }
+    
     public TYObject getValue() {
         
-        return VariableManager.getVariable(this);
+        return value;
+    }
+    
+    public void setValue(TYObject value) {
+        
+        this.value = value;
     }
     
     public TYClass getContainerClass() {
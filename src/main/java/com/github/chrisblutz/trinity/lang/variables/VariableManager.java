@@ -2,34 +2,33 @@ package com.github.chrisblutz.trinity.lang.variables;
 
 import com.github.chrisblutz.trinity.lang.TYObject;
 
-import java.util.Map;
-import java.util.WeakHashMap;
-
 
 /**
+ * Values are now held directly by each {@link VariableLoc}; these methods
+ * remain for plugins and natives written against the old global variable map.
+ *
  * @author Christopher Lutz
  */
 public class VariableManager {
     
-    private static Map<VariableLoc, TYObject> varMap = new WeakHashMap<>();
-    
     public static TYObject getVariable(VariableLoc loc) {
         
-        return varMap.getOrDefault(loc, TYObject.NIL);
+        return loc == null ? TYObject.NIL : loc.getValue();
     }
     
     public static void put(VariableLoc loc, TYObject object) {
         
-        varMap.put(loc, object);
+        loc.setValue(object);
     }
     
     public static void clearVariable(VariableLoc loc) {
         
-        varMap.remove(loc);
+        loc.setValue(TYObject.NIL);
     }
     
+    // Values are no longer stored here, so there are never any to count
     public static int size() {
         
-        return varMap.size();
+        return 0;
     }
 }
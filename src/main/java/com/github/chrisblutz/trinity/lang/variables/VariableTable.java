@@ -0,0 +1,52 @@
+package com.github.chrisblutz.trinity.lang.variables;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+
+/**
+ * Maps local variable names to slot indices within a
+ * {@link com.github.chrisblutz.trinity.lang.TYRuntime TYRuntime} frame.
+ * <p>
+ * A table is built while a method body (and any blocks nested inside it)
+ * is interpreted, so instructions can resolve their variables to slots
+ * ahead of time.  Lookups by name are still supported for native methods
+ * and other callers that only know a variable's name.
+ *
+ * @author Christopher Lutz
+ */
+public class VariableTable {
+    
+    private final Map<String, Integer> slots = new ConcurrentHashMap<>();
+    private volatile int size = 0;
+    
+    public int getSlot(String name) {
+        
+        Integer slot = slots.get(name);
+        return slot == null ? -1 : slot;
+    }
+    
+    public synchronized int getOrCreateSlot(String name) {
+        
+        Integer slot = slots.get(name);
+        
+        if (slot == null) {
+            
+            slot = size;
+            slots.put(name, slot);
+            size = slot + 1;
+        }
+        
+        return slot;
+    }
+    
+    public boolean hasSlot(String name) {
+        
+        return slots.containsKey(name);
+    }
+    
+    public int size() {
+        
+        return size;
+    }
+}
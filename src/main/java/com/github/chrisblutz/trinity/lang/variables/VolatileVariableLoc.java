@@ -0,0 +1,40 @@
+package com.github.chrisblutz.trinity.lang.variables;
+
+import com.github.chrisblutz.trinity.lang.TYObject;
+
+
+/**
+ * A {@link VariableLoc} whose value is kept in a {@code volatile} field,
+ * so writes from one thread are seen by reads from any other.
+ * Used for class, instance and global fields, which may be shared by
+ * several {@link com.github.chrisblutz.trinity.lang.threading.TYThread TYThreads}.
+ *
+ * @author Christopher Lutz
+ */
+public class VolatileVariableLoc extends VariableLoc {
+    
+    // Replaces the plain value kept by VariableLoc, which is left unused
+    private volatile TYObject volatileValue;
+    
+    public VolatileVariableLoc() {
+        
+        this(TYObject.NIL);
+    }
+    
+    public VolatileVariableLoc(TYObject value) {
+        
+        this.volatileValue = value;
+    }
+    
+    @Override
+    public TYObject getValue() {
+        
+        return volatileValue;
+    }
+    
+    @Override
+    public void setValue(TYObject value) {
+        
+        this.volatileValue = value;
+    }
+}
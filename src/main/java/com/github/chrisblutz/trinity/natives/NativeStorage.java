@@ -9,13 +9,16 @@ import com.github.chrisblutz.trinity.lang.threading.TYThread;
 import com.github.chrisblutz.trinity.lang.types.*;
 import com.github.chrisblutz.trinity.lang.types.arrays.TYArray;
 import com.github.chrisblutz.trinity.lang.types.bool.TYBoolean;
-import com.github.chrisblutz.trinity.lang.types.maps.TYMap;
 import com.github.chrisblutz.trinity.lang.types.numeric.TYFloat;
 import com.github.chrisblutz.trinity.lang.types.numeric.TYInt;
 import com.github.chrisblutz.trinity.lang.types.strings.TYString;
 import com.github.chrisblutz.trinity.lang.types.threading.TYThreadObject;
 
-import java.util.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 
 
 /**
@@ -28,384 +31,183 @@ import java.util.*;
  */
 public class NativeStorage {
     
-    private static Map<TYClass, TYClassObject> classObjects = new HashMap<>();
-    private static Map<TYClass, TYStaticClassObject> staticClassObjects = new HashMap<>();
-    private static Map<TYModule, TYModuleObject> moduleObjects = new HashMap<>();
-    private static Map<TYModule, TYStaticModuleObject> staticModuleObjects = new HashMap<>();
-    private static Map<TYMethod, TYMethodObject> methodObjects = new HashMap<>();
-    private static Map<TYClass, Map<String, TYFieldObject>> fieldObjects = new HashMap<>();
+    private static Map<TYClass, TYClassObject> classObjects = new ConcurrentHashMap<>();
+    private static Map<TYClass, TYStaticClassObject> staticClassObjects = new ConcurrentHashMap<>();
+    private static Map<TYModule, TYModuleObject> moduleObjects = new ConcurrentHashMap<>();
+    private static Map<TYModule, TYStaticModuleObject> staticModuleObjects = new ConcurrentHashMap<>();
+    private static Map<TYMethod, TYMethodObject> methodObjects = new ConcurrentHashMap<>();
+    private static Map<TYClass, Map<String, TYFieldObject>> fieldObjects = new ConcurrentHashMap<>();
     
-    private static Map<TYClass, TYString> classNames = new HashMap<>();
-    private static Map<TYClass, TYString> classShortNames = new HashMap<>();
-    private static Map<TYClass, TYObject> classSuperinterfaces = new HashMap<>();
-    private static Map<TYClass, TYBoolean> classIsInterface = new HashMap<>();
+    private static Map<TYClass, TYString> classNames = new ConcurrentHashMap<>();
+    private static Map<TYClass, TYString> classShortNames = new ConcurrentHashMap<>();
+    private static Map<TYClass, TYObject> classSuperinterfaces = new ConcurrentHashMap<>();
+    private static Map<TYClass, TYBoolean> classIsInterface = new ConcurrentHashMap<>();
     
-    private static Map<TYModule, TYString> moduleNames = new HashMap<>();
-    private static Map<TYModule, TYString> moduleShortNames = new HashMap<>();
+    private static Map<TYModule, TYString> moduleNames = new ConcurrentHashMap<>();
+    private static Map<TYModule, TYString> moduleShortNames = new ConcurrentHashMap<>();
     
-    private static Map<TYMethod, TYString> methodNames = new HashMap<>();
-    private static Map<TYMethod, TYBoolean> methodStatic = new HashMap<>();
-    private static Map<TYMethod, TYBoolean> methodNative = new HashMap<>();
-    private static Map<TYMethod, TYBoolean> methodSecure = new HashMap<>();
+    private static Map<TYMethod, TYString> methodNames = new ConcurrentHashMap<>();
+    private static Map<TYMethod, TYBoolean> methodStatic = new ConcurrentHashMap<>();
+    private static Map<TYMethod, TYBoolean> methodNative = new ConcurrentHashMap<>();
+    private static Map<TYMethod, TYBoolean> methodSecure = new ConcurrentHashMap<>();
     
-    private static Map<TYProcedure, TYArray> mandatoryArguments = new WeakHashMap<>();
-    private static Map<TYProcedure, TYArray> optionalArguments = new WeakHashMap<>();
-    private static Map<TYProcedure, TYObject> blockArguments = new WeakHashMap<>();
-    private static Map<TYProcedure, TYObject> overflowArguments = new WeakHashMap<>();
+    private static Map<TYFieldObject, TYString> fieldNames = new ConcurrentHashMap<>();
+    private static Map<TYFieldObject, TYBoolean> fieldStatic = new ConcurrentHashMap<>();
+    private static Map<TYFieldObject, TYBoolean> fieldNative = new ConcurrentHashMap<>();
+    private static Map<TYFieldObject, TYBoolean> fieldConstant = new ConcurrentHashMap<>();
     
-    private static Map<TYFieldObject, TYString> fieldNames = new HashMap<>();
-    private static Map<TYFieldObject, TYBoolean> fieldStatic = new HashMap<>();
-    private static Map<TYFieldObject, TYBoolean> fieldNative = new HashMap<>();
-    private static Map<TYFieldObject, TYBoolean> fieldConstant = new HashMap<>();
+    private static Map<TYClass, TYObject> classLeadingComments = new ConcurrentHashMap<>();
+    private static Map<TYModule, TYObject> moduleLeadingComments = new ConcurrentHashMap<>();
+    private static Map<TYMethod, TYObject> methodLeadingComments = new ConcurrentHashMap<>();
+    private static Map<TYFieldObject, TYObject> fieldLeadingComments = new ConcurrentHashMap<>();
     
-    private static Map<TYArray, TYInt> arrayLengths = new HashMap<>();
+    private static volatile TYString nilString = null;
+    private static volatile TYFloat e = null, pi = null;
     
-    private static Map<TYMap, TYArray> mapKeySets = new WeakHashMap<>();
-    private static Map<TYMap, TYArray> mapValues = new WeakHashMap<>();
-    private static Map<TYMap, TYInt> mapLengths = new WeakHashMap<>();
-    
-    private static Map<TYObject, TYInt> hashCodes = new WeakHashMap<>();
-    
-    private static Map<TYClass, TYObject> classLeadingComments = new HashMap<>();
-    private static Map<TYModule, TYObject> moduleLeadingComments = new HashMap<>();
-    private static Map<TYMethod, TYObject> methodLeadingComments = new HashMap<>();
-    private static Map<TYFieldObject, TYObject> fieldLeadingComments = new HashMap<>();
-    
-    private static Map<TYThread, TYThreadObject> threadObjectMap = new HashMap<>();
-    
-    private static TYString nilString = null;
-    private static TYFloat e = null, pi = null;
-    
-    public synchronized static TYClassObject getClassObject(TYClass tyClass) {
+    public static TYClassObject getClassObject(TYClass tyClass) {
         
-        if (!classObjects.containsKey(tyClass)) {
-            
-            classObjects.put(tyClass, new TYClassObject(tyClass));
-        }
-        
-        return classObjects.get(tyClass);
+        return getOrCreate(classObjects, tyClass, k -> new TYClassObject(k));
     }
     
-    public synchronized static TYStaticClassObject getStaticClassObject(TYClass tyClass) {
-        
-        if (!staticClassObjects.containsKey(tyClass)) {
-            
-            staticClassObjects.put(tyClass, new TYStaticClassObject(tyClass));
-        }
+    public static TYStaticClassObject getStaticClassObject(TYClass tyClass) {
         
-        return staticClassObjects.get(tyClass);
+        return getOrCreate(staticClassObjects, tyClass, k -> new TYStaticClassObject(k));
     }
     
-    public synchronized static TYModuleObject getModuleObject(TYModule tyModule) {
-        
-        if (!moduleObjects.containsKey(tyModule)) {
-            
-            moduleObjects.put(tyModule, new TYModuleObject(tyModule));
-        }
+    public static TYModuleObject getModuleObject(TYModule tyModule) {
         
-        return moduleObjects.get(tyModule);
+        return getOrCreate(moduleObjects, tyModule, k -> new TYModuleObject(k));
     }
     
-    public synchronized static TYStaticModuleObject getStaticModuleObject(TYModule tyModule) {
+    public static TYStaticModuleObject getStaticModuleObject(TYModule tyModule) {
         
-        if (!staticModuleObjects.containsKey(tyModule)) {
-            
-            staticModuleObjects.put(tyModule, new TYStaticModuleObject(tyModule));
-        }
-        
-        return staticModuleObjects.get(tyModule);
+        return getOrCreate(staticModuleObjects, tyModule, k -> new TYStaticModuleObject(k));
     }
     
-    public synchronized static TYMethodObject getMethodObject(TYMethod tyMethod) {
+    public static TYMethodObject getMethodObject(TYMethod tyMethod) {
         
-        if (!methodObjects.containsKey(tyMethod)) {
-            
-            methodObjects.put(tyMethod, new TYMethodObject(tyMethod));
-        }
-        
-        return methodObjects.get(tyMethod);
+        return getOrCreate(methodObjects, tyMethod, k -> new TYMethodObject(k));
     }
     
-    public synchronized static TYFieldObject getFieldObject(TYClass tyClass, String name) {
+    public static TYFieldObject getFieldObject(TYClass tyClass, String name) {
         
-        if (!fieldObjects.containsKey(tyClass)) {
-            
-            fieldObjects.put(tyClass, new HashMap<>());
-        }
+        Map<String, TYFieldObject> classFields = getOrCreate(fieldObjects, tyClass, k -> new ConcurrentHashMap<>());
         
-        if (!fieldObjects.get(tyClass).containsKey(name)) {
-            
-            fieldObjects.get(tyClass).put(name, new TYFieldObject(tyClass, name));
-        }
-        
-        return fieldObjects.get(tyClass).get(name);
+        return getOrCreate(classFields, name, k -> new TYFieldObject(tyClass, k));
     }
     
-    public synchronized static TYString getClassName(TYClass tyClass) {
+    public static TYString getClassName(TYClass tyClass) {
         
-        if (!classNames.containsKey(tyClass)) {
-            
-            classNames.put(tyClass, new TYString(tyClass.getName()));
-        }
-        
-        return classNames.get(tyClass);
+        return getOrCreate(classNames, tyClass, k -> new TYString(k.getName()));
     }
     
-    public synchronized static TYString getClassShortName(TYClass tyClass) {
-        
-        if (!classShortNames.containsKey(tyClass)) {
-            
-            classShortNames.put(tyClass, new TYString(tyClass.getShortName()));
-        }
+    public static TYString getClassShortName(TYClass tyClass) {
         
-        return classShortNames.get(tyClass);
+        return getOrCreate(classShortNames, tyClass, k -> new TYString(k.getShortName()));
     }
     
-    public synchronized static TYObject getClassSuperinterfaces(TYClass tyClass) {
+    public static TYObject getClassSuperinterfaces(TYClass tyClass) {
         
-        if (!classSuperinterfaces.containsKey(tyClass)) {
+        return getOrCreate(classSuperinterfaces, tyClass, k -> {
             
-            TYClass[] superinterfaces = tyClass.getSuperinterfaces();
-            TYObject superinterfacesObj = TYObject.NIL;
+            TYClass[] superinterfaces = k.getSuperinterfaces();
             
-            if (superinterfaces != null) {
+            if (superinterfaces == null) {
                 
-                List<TYObject> classObjects = new ArrayList<>();
-                for (TYClass superinterface : superinterfaces) {
-                    
-                    classObjects.add(getClassObject(superinterface));
-                }
-                
-                superinterfacesObj = new TYArray(classObjects);
+                return TYObject.NIL;
             }
             
-            classSuperinterfaces.put(tyClass, superinterfacesObj);
-        }
-        
-        return classSuperinterfaces.get(tyClass);
-    }
-    
-    public synchronized static TYBoolean getClassIsInterface(TYClass tyClass) {
-        
-        if (!classIsInterface.containsKey(tyClass)) {
-            
-            classIsInterface.put(tyClass, TYBoolean.valueFor(tyClass.isInterface()));
-        }
-        
-        return classIsInterface.get(tyClass);
-    }
-    
-    public synchronized static TYString getModuleName(TYModule tyModule) {
-        
-        if (!moduleNames.containsKey(tyModule)) {
-            
-            moduleNames.put(tyModule, new TYString(tyModule.getName()));
-        }
-        
-        return moduleNames.get(tyModule);
-    }
-    
-    public synchronized static TYString getModuleShortName(TYModule tyModule) {
-        
-        if (!moduleShortNames.containsKey(tyModule)) {
-            
-            moduleShortNames.put(tyModule, new TYString(tyModule.getShortName()));
-        }
-        
-        return moduleShortNames.get(tyModule);
-    }
-    
-    public synchronized static TYString getMethodName(TYMethod tyMethod) {
-        
-        if (!methodNames.containsKey(tyMethod)) {
-            
-            methodNames.put(tyMethod, new TYString(tyMethod.getName()));
-        }
-        
-        return methodNames.get(tyMethod);
-    }
-    
-    public synchronized static TYBoolean isMethodStatic(TYMethod tyMethod) {
-        
-        if (!methodStatic.containsKey(tyMethod)) {
-            
-            methodStatic.put(tyMethod, TYBoolean.valueFor(tyMethod.isStaticMethod()));
-        }
-        
-        return methodStatic.get(tyMethod);
-    }
-    
-    public synchronized static TYBoolean isMethodNative(TYMethod tyMethod) {
-        
-        if (!methodNative.containsKey(tyMethod)) {
+            List<TYObject> classObjects = new ArrayList<>();
+            for (TYClass superinterface : superinterfaces) {
+                
+                classObjects.add(getClassObject(superinterface));
+            }
             
-            methodNative.put(tyMethod, TYBoolean.valueFor(tyMethod.isNativeMethod()));
-        }
-        
-        return methodNative.get(tyMethod);
+            return new TYArray(classObjects);
+        });
     }
     
-    public synchronized static TYBoolean isMethodSecure(TYMethod tyMethod) {
+    public static TYBoolean getClassIsInterface(TYClass tyClass) {
         
-        if (!methodSecure.containsKey(tyMethod)) {
-            
-            methodSecure.put(tyMethod, TYBoolean.valueFor(tyMethod.isSecureMethod()));
-        }
-        
-        return methodSecure.get(tyMethod);
+        return getOrCreate(classIsInterface, tyClass, k -> TYBoolean.valueFor(k.isInterface()));
     }
     
-    public synchronized static TYArray getMandatoryArguments(TYProcedure tyProcedure) {
+    public static TYString getModuleName(TYModule tyModule) {
         
-        if (!mandatoryArguments.containsKey(tyProcedure)) {
-            
-            List<String> arguments = tyProcedure.getMandatoryParameters();
-            
-            mandatoryArguments.put(tyProcedure, TrinityNatives.getArrayFor(arguments.toArray(new String[arguments.size()])));
-        }
-        
-        return mandatoryArguments.get(tyProcedure);
+        return getOrCreate(moduleNames, tyModule, k -> new TYString(k.getName()));
     }
     
-    public synchronized static TYArray getOptionalArguments(TYProcedure tyProcedure) {
-        
-        if (!optionalArguments.containsKey(tyProcedure)) {
-            
-            Set<String> arguments = tyProcedure.getOptionalParameters().keySet();
-            
-            optionalArguments.put(tyProcedure, TrinityNatives.getArrayFor(arguments.toArray(new String[arguments.size()])));
-        }
+    public static TYString getModuleShortName(TYModule tyModule) {
         
-        return optionalArguments.get(tyProcedure);
+        return getOrCreate(moduleShortNames, tyModule, k -> new TYString(k.getShortName()));
     }
     
-    public synchronized static TYObject getBlockArgument(TYProcedure tyProcedure) {
+    public static TYString getMethodName(TYMethod tyMethod) {
         
-        if (!blockArguments.containsKey(tyProcedure)) {
-            
-            blockArguments.put(tyProcedure, tyProcedure.getBlockParameter() == null ? TYObject.NIL : new TYString(tyProcedure.getBlockParameter()));
-        }
-        
-        return blockArguments.get(tyProcedure);
+        return getOrCreate(methodNames, tyMethod, k -> new TYString(k.getName()));
     }
     
-    public synchronized static TYObject getOverflowArgument(TYProcedure tyProcedure) {
-        
-        if (!overflowArguments.containsKey(tyProcedure)) {
-            
-            overflowArguments.put(tyProcedure, tyProcedure.getOverflowParameter() == null ? TYObject.NIL : new TYString(tyProcedure.getOverflowParameter()));
-        }
+    public static TYBoolean isMethodStatic(TYMethod tyMethod) {
         
-        return overflowArguments.get(tyProcedure);
+        return getOrCreate(methodStatic, tyMethod, k -> TYBoolean.valueFor(k.isStaticMethod()));
     }
     
-    public synchronized static TYString getFieldName(TYFieldObject fieldObject) {
+    public static TYBoolean isMethodNative(TYMethod tyMethod) {
         
-        if (!fieldNames.containsKey(fieldObject)) {
-            
-            fieldNames.put(fieldObject, new TYString(fieldObject.getInternalName()));
-        }
-        
-        return fieldNames.get(fieldObject);
+        return getOrCreate(methodNative, tyMethod, k -> TYBoolean.valueFor(k.isNativeMethod()));
     }
     
-    public synchronized static TYBoolean isFieldStatic(TYFieldObject fieldObject) {
+    public static TYBoolean isMethodSecure(TYMethod tyMethod) {
         
-        if (!fieldStatic.containsKey(fieldObject)) {
-            
-            fieldStatic.put(fieldObject, TYBoolean.valueFor(fieldObject.isStatic()));
-        }
-        
-        return fieldStatic.get(fieldObject);
+        return getOrCreate(methodSecure, tyMethod, k -> TYBoolean.valueFor(k.isSecureMethod()));
     }
     
-    public synchronized static TYBoolean isFieldNative(TYFieldObject fieldObject) {
-        
-        if (!fieldNative.containsKey(fieldObject)) {
-            
-            fieldNative.put(fieldObject, TYBoolean.valueFor(fieldObject.isNative()));
-        }
+    public static TYArray getMandatoryArguments(TYProcedure tyProcedure) {
         
-        return fieldNative.get(fieldObject);
+        return tyProcedure.getMandatoryArgumentArray();
     }
     
-    public synchronized static TYBoolean isFieldConstant(TYFieldObject fieldObject) {
+    public static TYArray getOptionalArguments(TYProcedure tyProcedure) {
         
-        if (!fieldConstant.containsKey(fieldObject)) {
-            
-            fieldConstant.put(fieldObject, TYBoolean.valueFor(fieldObject.isConstant()));
-        }
-        
-        return fieldConstant.get(fieldObject);
+        return tyProcedure.getOptionalArgumentArray();
     }
     
-    public synchronized static TYInt getArrayLength(TYArray tyArray) {
-        
-        if (!arrayLengths.containsKey(tyArray)) {
-            
-            arrayLengths.put(tyArray, new TYInt(tyArray.size()));
-        }
+    public static TYObject getBlockArgument(TYProcedure tyProcedure) {
         
-        return arrayLengths.get(tyArray);
+        return tyProcedure.getBlockArgumentObject();
     }
     
-    public synchronized static void clearArrayData(TYArray tyArray) {
+    public static TYObject getOverflowArgument(TYProcedure tyProcedure) {
         
-        arrayLengths.remove(tyArray);
+        return tyProcedure.getOverflowArgumentObject();
     }
     
-    public synchronized static TYArray getMapKeySet(TYMap tyMap) {
-        
-        if (!mapKeySets.containsKey(tyMap)) {
-            
-            Set<TYObject> keys = tyMap.getInternalMap().keySet();
-            List<TYObject> keyList = new ArrayList<>(keys);
-            mapKeySets.put(tyMap, new TYArray(keyList));
-        }
+    public static TYString getFieldName(TYFieldObject fieldObject) {
         
-        return mapKeySets.get(tyMap);
+        return getOrCreate(fieldNames, fieldObject, k -> new TYString(k.getInternalName()));
     }
     
-    public synchronized static TYArray getMapValues(TYMap tyMap) {
+    public static TYBoolean isFieldStatic(TYFieldObject fieldObject) {
         
-        if (!mapValues.containsKey(tyMap)) {
-            
-            Collection<TYObject> keys = tyMap.getInternalMap().values();
-            List<TYObject> keyList = new ArrayList<>(keys);
-            mapValues.put(tyMap, new TYArray(keyList));
-        }
-        
-        return mapValues.get(tyMap);
+        return getOrCreate(fieldStatic, fieldObject, k -> TYBoolean.valueFor(k.isStatic()));
     }
     
-    public synchronized static TYInt getMapLength(TYMap tyMap) {
+    public static TYBoolean isFieldNative(TYFieldObject fieldObject) {
         
-        if (!mapLengths.containsKey(tyMap)) {
-            
-            mapLengths.put(tyMap, new TYInt(tyMap.size()));
-        }
-        
-        return mapLengths.get(tyMap);
+        return getOrCreate(fieldNative, fieldObject, k -> TYBoolean.valueFor(k.isNative()));
     }
     
-    public synchronized static void clearMapData(TYMap tyMap) {
+    public static TYBoolean isFieldConstant(TYFieldObject fieldObject) {
         
-        mapKeySets.remove(tyMap);
-        mapValues.remove(tyMap);
-        mapLengths.remove(tyMap);
+        return getOrCreate(fieldConstant, fieldObject, k -> TYBoolean.valueFor(k.isConstant()));
     }
     
-    public synchronized static TYInt getHashCode(TYObject tyObject) {
-        
-        if (!hashCodes.containsKey(tyObject)) {
-            
-            hashCodes.put(tyObject, tyObject == TYObject.NIL ? new TYInt(0) : new TYInt(tyObject.hashCode()));
-        }
+    public static TYInt getHashCode(TYObject tyObject) {
         
-        return hashCodes.get(tyObject);
+        return tyObject.getHashCodeObject();
     }
     
-    public synchronized static TYString getNilString() {
+    public static TYString getNilString() {
         
         if (nilString == null) {
             
@@ -415,61 +217,32 @@ public class NativeStorage {
         return nilString;
     }
     
-    public synchronized static TYObject getLeadingComments(TYClass tyClass) {
+    public static TYObject getLeadingComments(TYClass tyClass) {
         
-        if (!classLeadingComments.containsKey(tyClass)) {
-            
-            String[] c = tyClass.getLeadingComments();
-            classLeadingComments.put(tyClass, TrinityNatives.getObjectFor(c));
-        }
-        
-        return classLeadingComments.get(tyClass);
+        return getOrCreate(classLeadingComments, tyClass, k -> TrinityNatives.getObjectFor(k.getLeadingComments()));
     }
     
-    public synchronized static TYObject getLeadingComments(TYModule tyModule) {
+    public static TYObject getLeadingComments(TYModule tyModule) {
         
-        if (!moduleLeadingComments.containsKey(tyModule)) {
-            
-            String[] c = tyModule.getLeadingComments();
-            moduleLeadingComments.put(tyModule, TrinityNatives.getObjectFor(c));
-        }
-        
-        return moduleLeadingComments.get(tyModule);
+        return getOrCreate(moduleLeadingComments, tyModule, k -> TrinityNatives.getObjectFor(k.getLeadingComments()));
     }
     
-    public synchronized static TYObject getLeadingComments(TYMethod tyMethod) {
+    public static TYObject getLeadingComments(TYMethod tyMethod) {
         
-        if (!methodLeadingComments.containsKey(tyMethod)) {
-            
-            String[] c = tyMethod.getLeadingComments();
-            methodLeadingComments.put(tyMethod, TrinityNatives.getObjectFor(c));
-        }
-        
-        return methodLeadingComments.get(tyMethod);
+        return getOrCreate(methodLeadingComments, tyMethod, k -> TrinityNatives.getObjectFor(k.getLeadingComments()));
     }
     
-    public synchronized static TYObject getLeadingComments(TYFieldObject fieldObject) {
+    public static TYObject getLeadingComments(TYFieldObject fieldObject) {
         
-        if (!fieldLeadingComments.containsKey(fieldObject)) {
-            
-            String[] c = fieldObject.getLeadingComments();
-            fieldLeadingComments.put(fieldObject, TrinityNatives.getObjectFor(c));
-        }
-        
-        return fieldLeadingComments.get(fieldObject);
+        return getOrCreate(fieldLeadingComments, fieldObject, k -> TrinityNatives.getObjectFor(k.getLeadingComments()));
     }
     
-    public synchronized static TYThreadObject getThreadObject(TYThread tyThread) {
+    public static TYThreadObject getThreadObject(TYThread tyThread) {
         
-        if (!threadObjectMap.containsKey(tyThread)) {
-            
-            threadObjectMap.put(tyThread, new TYThreadObject(tyThread));
-        }
-        
-        return threadObjectMap.get(tyThread);
+        return tyThread.getThreadObject();
     }
     
-    public synchronized static TYFloat getE() {
+    public static TYFloat getE() {
         
         if (e == null) {
             
@@ -479,7 +252,7 @@ public class NativeStorage {
         return e;
     }
     
-    public synchronized static TYFloat getPi() {
+    public static TYFloat getPi() {
         
         if (pi == null) {
             
@@ -488,4 +261,23 @@ public class NativeStorage {
         
         return pi;
     }
+    
+    // Reads never lock, and concurrent creators agree on the value that was stored first
+    private static <K, V> V getOrCreate(Map<K, V> map, K key, Function<K, V> creator) {
+        
+        V value = map.get(key);
+        
+        if (value == null) {
+            
+            V created = creator.apply(key);
+            value = map.putIfAbsent(key, created);
+            
+            if (value == null) {
+                
+                value = created;
+            }
+        }
+        
+        return value;
+    }
 }
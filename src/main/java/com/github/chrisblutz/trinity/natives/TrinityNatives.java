@@ -1,5 +1,6 @@
 package com.github.chrisblutz.trinity.natives;
 
+import com.github.chrisblutz.trinity.bootstrap.LibraryIndex;
 import com.github.chrisblutz.trinity.lang.ClassRegistry;
 import com.github.chrisblutz.trinity.lang.TYClass;
 import com.github.chrisblutz.trinity.lang.TYObject;
@@ -18,6 +19,7 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 
 /**
@@ -63,6 +65,8 @@ public class TrinityNatives {
     
     private static List<TYClass> nativeConstructors = new ArrayList<>();
     
+    private static Map<String, TYClass> classHandles = new ConcurrentHashMap<>();
+    
     public static void registerMethod(String className, String methodName, ProcedureAction action) {
         
         ProcedureAction actionWithStackTrace = (runtime, thisObj, params) -> {
@@ -155,7 +159,7 @@ public class TrinityNatives {
             
         } else if (obj instanceof Integer) {
             
-            return new TYInt((Integer) obj);
+            return TYInt.valueOf((Integer) obj);
             
         } else if (obj instanceof Float) {
             
@@ -504,7 +508,7 @@ public class TrinityNatives {
                 
             } else {
                 
-                return new TYInt((int) d);
+                return TYInt.valueOf((int) d);
             }
             
         } else {
@@ -515,7 +519,7 @@ public class TrinityNatives {
     
     public static TYObject wrapComplexNumber(double real, double imaginary) {
         
-        return ClassRegistry.getClass(Classes.KERNEL).tyInvoke("cmplx", new TYRuntime(), null, null, null, wrapNumber(real), wrapNumber(imaginary));
+        return getClass(Classes.KERNEL).tyInvoke("cmplx", new TYRuntime(), null, null, null, wrapNumber(real), wrapNumber(imaginary));
     }
     
     /**
@@ -528,6 +532,33 @@ public class TrinityNatives {
      */
     public static boolean isInstance(TYObject object, String className) {
         
-        return object.getObjectClass().isInstanceOf(ClassRegistry.getClass(className));
+        // Nothing can be an instance of a class that has not been loaded yet
+        if (LibraryIndex.isClassIndexed(className)) {
+            
+            return false;
+        }
+        
+        return object.getObjectClass().isInstanceOf(getClass(className));
+    }
+    
+    /**
+     * Retrieves the Trinity class with the specified name.  Classes are resolved
+     * through the {@code ClassRegistry} once and then cached, so this method is
+     * safe to call on every native invocation.
+     *
+     * @param className The full name of the class
+     * @return The {@code TYClass} with the specified name
+     */
+    public static TYClass getClass(String className) {
+        
+        TYClass tyClass = classHandles.get(className);
+        
+        if (tyClass == null) {
+            
+            tyClass = ClassRegistry.getClass(className);
+            classHandles.put(className, tyClass);
+        }
+        
+        return tyClass;
     }
 }
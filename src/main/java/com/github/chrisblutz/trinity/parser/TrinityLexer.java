@@ -0,0 +1,566 @@
+package com.github.chrisblutz.trinity.parser;
+
+import com.github.chrisblutz.trinity.lang.errors.Errors;
+import com.github.chrisblutz.trinity.parser.comments.CommentUtils;
+import com.github.chrisblutz.trinity.parser.lines.Line;
+import com.github.chrisblutz.trinity.parser.lines.LineSet;
+import com.github.chrisblutz.trinity.parser.tokens.Token;
+import com.github.chrisblutz.trinity.parser.tokens.TokenInfo;
+
+import java.io.File;
+import java.util.HashMap;
+import java.util.Map;
+
+
+/**
+ * Splits source lines into tokens in a single pass over the characters
+ * of each line.  Operators are matched with a trie of the operator
+ * tokens, and each token is pushed through a chain of stages (escape
+ * characters, token strings, literal strings, whitespace, comments,
+ * numbers and scope modifiers) that hold at most two tokens back, so
+ * no intermediate lines are built.  The output is identical to that of
+ * the original multi-pass lexer, which the tests compare it against.
+ *
+ * @author Christopher Lutz
+ */
+public class TrinityLexer {
+    
+    // Changed whenever the tokens produced for the same source change, so cached token streams are lexed again
+    public static final int VERSION = 1;
+    
+    private static final int ASCII = 128;
+    
+    private static final boolean[] tokenChars = new boolean[ASCII];
+    private static final Token[] escapes = new Token[ASCII];
+    private static final OperatorNode operators = new OperatorNode();
+    private static final Map<String, Token> words = new HashMap<>();
+    
+    static {
+        
+        for (Token token : Token.values()) {
+            
+            String readable = token.getReadable();
+            
+            if (isMatchable(token) && readable.length() == 1 && readable.charAt(0) < ASCII) {
+                
+                tokenChars[readable.charAt(0)] = true;
+            }
+        }
+        
+        for (Token token : Token.values()) {
+            
+            if (!isMatchable(token)) {
+                
+                continue;
+            }
+            
+            String readable = token.getReadable();
+            
+            if (readable.length() == 2 && readable.charAt(0) == '\\' && readable.charAt(1) < ASCII) {
+                
+                escapes[readable.charAt(1)] = token;
+            }
+            
+            if (isOperator(readable)) {
+                
+                operators.add(readable, token);
+                
+            } else {
+                
+                words.put(readable, token);
+            }
+        }
+    }
+    
+    private String fileName;
+    private LineSet lineSet;
+    
+    private Line line;
+    private boolean pendingBackslash, pendingBlock, pendingDot, encounteredFirst;
+    private Token quote;
+    private StringBuilder literal = new StringBuilder(), number = new StringBuilder();
+    private int spaces, pendingScope;
+    
+    public TrinityLexer(String fileName, File fullFile) {
+        
+        this.fileName = fileName;
+        this.lineSet = new LineSet(fileName, fullFile);
+    }
+    
+    public LineSet lex(String[] lines) {
+        
+        for (int i = 0; i < lines.length; i++) {
+            
+            lexLine(lines[i], i + 1);
+        }
+        
+        return lineSet;
+    }
+    
+    private void lexLine(String text, int lineNumber) {
+        
+        TrinityParser.updateLocation(fileName, lineNumber);
+        
+        line = new Line(lineNumber);
+        pendingBackslash = pendingBlock = pendingDot = encounteredFirst = false;
+        quote = null;
+        spaces = pendingScope = 0;
+        number.setLength(0);
+        
+        char[] chars = text.toCharArray();
+        
+        // Comments run from the first '#' to the end of the line, even inside of strings
+        int end = text.indexOf('#');
+        boolean comment = end >= 0;
+        
+        if (!comment) {
+            
+            end = chars.length;
+        }
+        
+        int i = 0;
+        while (i < end) {
+            
+            int start = i;
+            
+            if (isTokenChar(chars[i])) {
+                
+                // Operators are matched greedily, as long as each longer match is still a token
+                OperatorNode node = operators.get(chars[i++]);
+                
+                while (i < end && node.get(chars[i]) != null) {
+                    
+                    node = node.get(chars[i++]);
+                }
+                
+                escape(node.token, node.token.getReadable());
+                
+            } else {
+                
+                while (i < end && !isTokenChar(chars[i])) {
+                    
+                    i++;
+                }
+                
+                String word = new String(chars, start, i - start);
+                Token token = words.get(word);
+                
+                escape(token == null ? Token.NON_TOKEN_STRING : token, word);
+            }
+        }
+        
+        if (comment) {
+            
+            escape(Token.SINGLE_LINE_COMMENT, text.substring(end + 1));
+        }
+        
+        finishLine();
+    }
+    
+    private void finishLine() {
+        
+        // Release anything held back, in stage order
+        if (pendingBackslash) {
+            
+            pendingBackslash = false;
+            tokenString(Token.BACKSLASH, Token.BACKSLASH.getReadable());
+        }
+        
+        if (pendingBlock) {
+            
+            pendingBlock = false;
+            literalString(Token.NON_TOKEN_STRING, "block");
+        }
+        
+        if (pendingDot) {
+            
+            pendingDot = false;
+            scope(Token.DOT_OPERATOR, Token.DOT_OPERATOR.getReadable());
+            
+        } else if (number.length() > 0) {
+            
+            flushNumber();
+        }
+        
+        if (pendingScope > 0) {
+            
+            emit(Token.MODULE, Token.MODULE.getReadable());
+            
+            if (pendingScope > 1) {
+                
+                emit(Token.MINUS, Token.MINUS.getReadable());
+            }
+            
+            pendingScope = 0;
+        }
+        
+        if (!line.isEmpty()) {
+            
+            line.setSpaces(spaces);
+            lineSet.add(line);
+        }
+    }
+    
+    private void escape(Token token, String contents) {
+        
+        if (pendingBackslash) {
+            
+            pendingBackslash = false;
+            
+            if (token == Token.NON_TOKEN_STRING) {
+                
+                char c = contents.charAt(0);
+                Token escape = c < ASCII ? escapes[c] : null;
+                
+                if (escape != null) {
+                    
+                    tokenString(escape, escape.getLiteral());
+                    tokenString(Token.NON_TOKEN_STRING, contents.substring(1));
+                    
+                } else if (c == 'u') {
+                    
+                    // Malformed unicode escapes are dropped along with their backslash
+                    if (isUnicodeEscape(contents)) {
+                        
+                        tokenString(Token.NON_TOKEN_STRING, Character.toString((char) Integer.parseInt(contents.substring(1, 5), 16)));
+                        tokenString(Token.NON_TOKEN_STRING, contents.substring(5));
+                    }
+                    
+                } else {
+                    
+                    tokenString(Token.BACKSLASH, Token.BACKSLASH.getReadable());
+                    tokenString(Token.NON_TOKEN_STRING, contents);
+                }
+                
+                return;
+            }
+            
+            tokenString(Token.BACKSLASH, Token.BACKSLASH.getReadable());
+        }
+        
+        if (token == Token.BACKSLASH) {
+            
+            pendingBackslash = true;
+            
+        } else {
+            
+            tokenString(token, contents);
+        }
+    }
+    
+    private void tokenString(Token token, String contents) {
+        
+        if (pendingBlock) {
+            
+            pendingBlock = false;
+            
+            if (token == Token.QUESTION_MARK) {
+                
+                literalString(Token.BLOCK_CHECK, Token.BLOCK_CHECK.getReadable());
+                return;
+            }
+            
+            literalString(Token.NON_TOKEN_STRING, "block");
+        }
+        
+        if (token == Token.NON_TOKEN_STRING) {
+            
+            if (contents.equals(Token.__FILE__.getReadable())) {
+                
+                token = Token.__FILE__;
+                
+            } else if (contents.equals(Token.__LINE__.getReadable())) {
+                
+                token = Token.__LINE__;
+                
+            } else if (contents.equals("block")) {
+                
+                pendingBlock = true;
+                return;
+            }
+        }
+        
+        literalString(token, contents);
+    }
+    
+    private void literalString(Token token, String contents) {
+        
+        if (quote != null) {
+            
+            if (token == quote) {
+                
+                quote = null;
+                whitespace(Token.LITERAL_STRING, literal.toString());
+                
+            } else {
+                
+                literal.append(TrinityParser.getAppendableString(new TokenInfo(token, contents), quote == Token.ESCAPED_LITERAL_QUOTE));
+            }
+            
+        } else if (token == Token.ESCAPED_LITERAL_QUOTE || token == Token.UNESCAPED_LITERAL_QUOTE) {
+            
+            // Strings left open at the end of a line are dropped, along with the rest of the line
+            quote = token;
+            literal.setLength(0);
+            
+        } else {
+            
+            whitespace(token, contents);
+        }
+    }
+    
+    private void whitespace(Token token, String contents) {
+        
+        boolean isWhitespace = token == Token.WS_SPACE || token == Token.WS_TAB;
+        
+        if (!encounteredFirst) {
+            
+            if (token == Token.WS_TAB) {
+                
+                Errors.throwSyntaxError(Errors.Classes.SYNTAX_ERROR, "No tabs allowed in leading whitespace.", fileName, line.getLineNumber());
+                return;
+                
+            } else if (token == Token.WS_SPACE) {
+                
+                spaces++;
+                return;
+            }
+            
+            encounteredFirst = true;
+            
+        } else if (isWhitespace) {
+            
+            return;
+        }
+        
+        comment(token, contents);
+    }
+    
+    private void comment(Token token, String contents) {
+        
+        if (token == Token.SINGLE_LINE_COMMENT) {
+            
+            lineSet.addComment(line.getLineNumber(), CommentUtils.stripCommentSymbol(contents), spaces);
+            
+        } else {
+            
+            number(token, contents);
+        }
+    }
+    
+    private void number(Token token, String contents) {
+        
+        if (pendingDot) {
+            
+            pendingDot = false;
+            
+            if (token == Token.NON_TOKEN_STRING && isNumber(contents, true)) {
+                
+                number.append('.').append(contents);
+                return;
+            }
+            
+            scope(Token.DOT_OPERATOR, Token.DOT_OPERATOR.getReadable());
+        }
+        
+        if (number.length() > 0) {
+            
+            char last = number.charAt(number.length() - 1);
+            
+            if (last != '.' && last != 'f' && last != 'l' && token == Token.DOT_OPERATOR) {
+                
+                number.append(contents);
+                
+            } else if (last == '.' && token == Token.NON_TOKEN_STRING && isNumber(contents, false)) {
+                
+                number.append(contents);
+                scope(Token.NUMERIC_STRING, number.toString());
+                number.setLength(0);
+                
+            } else {
+                
+                // The token that ends a number is never the start of another one
+                flushNumber();
+                scope(token, contents);
+            }
+            
+        } else if (token == Token.NON_TOKEN_STRING && isNumber(contents, true)) {
+            
+            number.append(contents);
+            
+        } else if (token == Token.DOT_OPERATOR) {
+            
+            pendingDot = true;
+            
+        } else {
+            
+            scope(token, contents);
+        }
+    }
+    
+    private void flushNumber() {
+        
+        if (number.charAt(number.length() - 1) == '.') {
+            
+            scope(Token.NUMERIC_STRING, number.substring(0, number.length() - 1));
+            scope(Token.DOT_OPERATOR, Token.DOT_OPERATOR.getReadable());
+            
+        } else {
+            
+            scope(Token.NUMERIC_STRING, number.toString());
+        }
+        
+        number.setLength(0);
+    }
+    
+    private void scope(Token token, String contents) {
+        
+        if (pendingScope == 1) {
+            
+            if (token == Token.MINUS) {
+                
+                pendingScope = 2;
+                return;
+            }
+            
+            emit(Token.MODULE, Token.MODULE.getReadable());
+            
+        } else if (pendingScope == 2) {
+            
+            if (token == Token.PROTECTED_SCOPE) {
+                
+                pendingScope = 0;
+                emit(Token.MODULE_PROTECTED_SCOPE, Token.MODULE_PROTECTED_SCOPE.getReadable());
+                return;
+            }
+            
+            emit(Token.MODULE, Token.MODULE.getReadable());
+            emit(Token.MINUS, Token.MINUS.getReadable());
+        }
+        
+        pendingScope = 0;
+        
+        if (token == Token.MODULE) {
+            
+            pendingScope = 1;
+            
+        } else {
+            
+            emit(token, contents);
+        }
+    }
+    
+    private void emit(Token token, String contents) {
+        
+        if (token == Token.PRIVATE_SCOPE || token == Token.PROTECTED_SCOPE || token == Token.MODULE_PROTECTED_SCOPE || token == Token.PUBLIC_SCOPE) {
+            
+            token = Token.SCOPE_MODIFIER;
+        }
+        
+        line.add(new TokenInfo(token, contents));
+    }
+    
+    private static boolean isTokenChar(char c) {
+        
+        return c < ASCII && tokenChars[c];
+    }
+    
+    // Tokens without a readable form of their own can never come from source
+    private static boolean isMatchable(Token token) {
+        
+        return token != Token.UNIDENTIFIED_TOKEN && Token.getForString(token.getReadable()) == token;
+    }
+    
+    private static boolean isOperator(String readable) {
+        
+        for (int i = 0; i < readable.length(); i++) {
+            
+            if (!isTokenChar(readable.charAt(i))) {
+                
+                return false;
+            }
+        }
+        
+        return true;
+    }
+    
+    // Matches [0-9]+, followed by one of [fFlL] if a suffix is allowed
+    private static boolean isNumber(String contents, boolean allowSuffix) {
+        
+        int length = contents.length();
+        
+        if (allowSuffix && length > 1 && "fFlL".indexOf(contents.charAt(length - 1)) >= 0) {
+            
+            length--;
+        }
+        
+        if (length == 0) {
+            
+            return false;
+        }
+        
+        for (int i = 0; i < length; i++) {
+            
+            if (contents.charAt(i) < '0' || contents.charAt(i) > '9') {
+                
+                return false;
+            }
+        }
+        
+        return true;
+    }
+    
+    // Matches 'u' followed by at least four letters or digits
+    private static boolean isUnicodeEscape(String contents) {
+        
+        if (contents.length() < 5) {
+            
+            return false;
+        }
+        
+        for (int i = 1; i < 5; i++) {
+            
+            char c = contents.charAt(i);
+            
+            if (!((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9'))) {
+                
+                return false;
+            }
+        }
+        
+        return true;
+    }
+    
+    private static class OperatorNode {
+        
+        private Token token = null;
+        private OperatorNode[] children = new OperatorNode[ASCII];
+        
+        private void add(String readable, Token token) {
+            
+            OperatorNode node = this;
+            
+            for (int i = 0; i < readable.length(); i++) {
+                
+                char c = readable.charAt(i);
+                
+                if (node.children[c] == null) {
+                    
+                    node.children[c] = new OperatorNode();
+                }
+                
+                node = node.children[c];
+            }
+            
+            node.token = token;
+        }
+        
+        // Returns the node for the given character only if it completes a token
+        private OperatorNode get(char c) {
+            
+            OperatorNode child = c < ASCII ? children[c] : null;
+            
+            return child != null && child.token != null ? child : null;
+        }
+    }
+}
@@ -2,11 +2,10 @@ package com.github.chrisblutz.trinity.parser;
 
 import com.github.chrisblutz.trinity.cli.CLI;
 import com.github.chrisblutz.trinity.interpreter.TrinityInterpreter;
-import com.github.chrisblutz.trinity.lang.errors.Errors;
 import com.github.chrisblutz.trinity.parser.blocks.Block;
 import com.github.chrisblutz.trinity.parser.blocks.BlockLine;
 import com.github.chrisblutz.trinity.parser.blocks.BlockParseResults;
-import com.github.chrisblutz.trinity.parser.comments.CommentUtils;
+import com.github.chrisblutz.trinity.parser.cache.ParseCache;
 import com.github.chrisblutz.trinity.parser.lines.Line;
 import com.github.chrisblutz.trinity.parser.lines.LineSet;
 import com.github.chrisblutz.trinity.parser.tokens.Token;
@@ -22,8 +21,9 @@ import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Scanner;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
 
 
 /**
@@ -33,658 +33,179 @@ public class TrinityParser {
     
     public static final String SOURCE_EXTENSION = "ty";
     
-    public static void parse(File file) {
-        
-        if (file.isDirectory()) {
-            
-            File[] files = file.listFiles();
-            
-            if (files != null) {
-                
-                for (File f : files) {
-                    
-                    parse(f);
-                }
-            }
-            
-        } else {
-            
-            if (FileUtils.getExtension(file).equalsIgnoreCase(SOURCE_EXTENSION)) {
-                
-                try {
-                    
-                    FileInputStream inputStream = new FileInputStream(file);
-                    parse(inputStream, file.getName(), file);
-                    inputStream.close();
-                    
-                } catch (IOException e) {
-                    
-                    System.err.println("An error occurred while parsing '" + file.getName() + "'.");
-                    
-                    if (CLI.isDebuggingEnabled()) {
-                        
-                        e.printStackTrace();
-                    }
-                }
-            }
-        }
-    }
+    private static final int THREADS = Integer.getInteger("trinity.parser.threads", Runtime.getRuntime().availableProcessors());
     
-    public static void parse(InputStream stream, String sourceFile, File sourceLocation) {
+    private static ForkJoinPool pool = null;
+    
+    public static void parse(File file) {
         
-        Block block = parseContents(stream, sourceFile, sourceLocation);
-        TrinityInterpreter.interpret(block);
+        parse(new File[]{file});
     }
     
-    public static Block parseContents(InputStream stream, String sourceFile, File sourceLocation) {
-        
-        List<String> lines = new ArrayList<>();
+    public static void parse(File[] files) {
         
-        Scanner sc = new Scanner(stream);
+        List<File> sources = new ArrayList<>();
         
-        while (sc.hasNextLine()) {
+        for (File file : files) {
             
-            lines.add(sc.nextLine());
+            collectSources(file, sources);
         }
         
-        sc.close();
-        
-        return parseLines(sourceFile, sourceLocation, lines.toArray(new String[lines.size()]));
-    }
-    
-    public static Block parseStrings(File container, String[] lines) {
-        
-        return parseLines(container.getName(), container, lines);
-    }
-    
-    private static Block parseLines(String filename, File fullFile, String[] lines) {
-        
-        PluginLoader.triggerOnFileLoad(filename, fullFile);
-        
-        // Parse lines into LineSet
-        LineSet lineSet = parseFirstLevel(filename, fullFile, lines);
-        lineSet = parseComments(lineSet);
-        lineSet = parseOutEscapeCharacters(lineSet);
-        lineSet = parseOutTokenStrings(lineSet);
-        lineSet = parseLiteralStrings(lineSet);
-        lineSet = parseOutSpaces(lineSet);
-        lineSet = parseOutLeadingWhitespace(lineSet);
-        lineSet = stripComments(lineSet);
-        lineSet = parseOutEmptyLines(lineSet);
-        lineSet = parseNumbers(lineSet);
-        lineSet = parseScopes(lineSet);
-        lineSet.collapseComments();
-        
-        // Parse LineSet into Block
-        
-        return parseToBlock(lineSet);
+        parse(sources);
     }
     
-    private static LineSet parseFirstLevel(String filename, File fullFile, String[] lines) {
+    // Files are read and parsed into blocks concurrently, but interpreted one at a time in
+    // the order given, so classes and modules are registered in the same order as before
+    public static void parse(List<File> files) {
         
-        String litStr = "";
-        String token = "";
-        int lineNumber = 1;
-        
-        LineSet set = new LineSet(filename, fullFile);
-        
-        for (String l : lines) {
-            
-            Runner.updateLocation(filename, lineNumber);
-            
-            Line line = new Line(lineNumber++);
+        if (THREADS <= 1 || files.size() <= 1) {
             
-            for (char c : l.toCharArray()) {
+            for (File file : files) {
                 
-                String tS = Character.toString(c);
-                
-                if (Token.tokenExists(tS)) {
-                    
-                    if (!litStr.isEmpty()) {
-                        
-                        if (Token.tokenExists(litStr)) {
-                            
-                            line.add(new TokenInfo(Token.getForString(litStr), litStr));
-                            litStr = "";
-                            
-                        } else {
-                            
-                            line.add(new TokenInfo(Token.NON_TOKEN_STRING, litStr));
-                            litStr = "";
-                        }
-                    }
-                    
-                    if (!token.isEmpty() && Token.tokenExists(token)) {
-                        
-                        if (Token.tokenExists(token + tS)) {
-                            
-                            token += tS;
-                            
-                        } else {
-                            
-                            line.add(new TokenInfo(Token.getForString(token), token));
-                            token = tS;
-                        }
-                        
-                    } else {
-                        
-                        token += tS;
-                    }
-                    
-                } else {
-                    
-                    if (!token.isEmpty()) {
-                        
-                        line.add(new TokenInfo(Token.getForString(token), token));
-                        token = "";
-                    }
-                    
-                    litStr += tS;
-                }
+                interpret(readFile(file));
             }
             
-            if (!token.isEmpty() && Token.tokenExists(token)) {
-                
-                line.add(new TokenInfo(Token.getForString(token), token));
-                token = "";
-                
-            } else if (!litStr.isEmpty()) {
-                
-                if (Token.tokenExists(litStr)) {
-                    
-                    line.add(new TokenInfo(Token.getForString(litStr), litStr));
-                    
-                } else {
-                    
-                    line.add(new TokenInfo(Token.NON_TOKEN_STRING, litStr));
-                }
-                
-                litStr = "";
-            }
-            
-            set.add(line);
+            return;
         }
         
-        return set;
-    }
-    
-    private static LineSet parseComments(LineSet lines) {
-        
-        LineSet set = new LineSet(lines);
+        ForkJoinPool pool = getPool();
+        List<ForkJoinTask<ParsedFile>> tasks = new ArrayList<>();
         
-        for (Line line : lines) {
-            
-            Runner.updateLocation(set.getFileName(), line.getLineNumber());
-            
-            Line newLine = new Line(line.getLineNumber());
-            
-            boolean comment = false;
-            StringBuilder builder = new StringBuilder();
-            
-            for (TokenInfo info : line) {
-                
-                if (!comment && info.getToken() == Token.SINGLE_LINE_COMMENT) {
-                    
-                    comment = true;
-                    
-                } else if (comment) {
-                    
-                    builder.append(getAppendableString(info, false, true));
-                    
-                } else {
-                    
-                    newLine.add(info);
-                }
-            }
+        for (File file : files) {
             
-            if (comment) {
-                
-                newLine.add(new TokenInfo(Token.SINGLE_LINE_COMMENT, builder.toString()));
-            }
-            
-            set.add(newLine);
+            tasks.add(pool.submit(() -> readFile(file)));
         }
         
-        return set;
-    }
-    
-    private static LineSet parseOutEmptyLines(LineSet lines) {
-        
-        LineSet set = new LineSet(lines);
-        
-        for (Line line : lines) {
-            
-            Runner.updateLocation(set.getFileName(), line.getLineNumber());
+        for (ForkJoinTask<ParsedFile> task : tasks) {
             
-            if (!line.isEmpty()) {
-                
-                set.add(line);
-            }
+            interpret(task.join());
         }
-        
-        return set;
     }
     
-    private static LineSet parseOutEscapeCharacters(LineSet lines) {
-        
-        LineSet set = new LineSet(lines);
+    private static void collectSources(File file, List<File> sources) {
         
-        for (Line line : lines) {
-            
-            Runner.updateLocation(set.getFileName(), line.getLineNumber());
+        if (file.isDirectory()) {
             
-            Line newLine = new Line(line.getLineNumber());
+            File[] files = file.listFiles();
             
-            for (int i = 0; i < line.size(); i++) {
-                
-                TokenInfo info = line.get(i);
+            if (files != null) {
                 
-                if (info.getToken() == Token.BACKSLASH) {
-                    
-                    if (i + 1 < line.size() && line.get(i + 1).getToken() == Token.NON_TOKEN_STRING) {
-                        
-                        TokenInfo next = line.get(i + 1);
-                        i++;
-                        String contents = next.getContents();
-                        
-                        char c = contents.charAt(0);
-                        
-                        if (Token.tokenExists("\\" + c)) {
-                            
-                            Token t = Token.getForString("\\" + c);
-                            
-                            newLine.add(new TokenInfo(t, t.getLiteral()));
-                            
-                            contents = contents.substring(1);
-                            
-                            newLine.add(new TokenInfo(Token.NON_TOKEN_STRING, contents));
-                            
-                        } else if (c == 'u') {
-                            
-                            contents = contents.substring(1);
-                            
-                            Matcher m = Pattern.compile("([a-zA-Z0-9][a-zA-Z0-9][a-zA-Z0-9][a-zA-Z0-9]).*").matcher(contents);
-                            
-                            if (m.matches()) {
-                                
-                                String unicodeValue = m.group(1);
-                                contents = contents.substring(4);
-                                
-                                newLine.add(new TokenInfo(Token.NON_TOKEN_STRING, Character.toString((char) Integer.parseInt(unicodeValue, 16))));
-                                
-                                newLine.add(new TokenInfo(Token.NON_TOKEN_STRING, contents));
-                            }
-                            
-                        } else {
-                            
-                            newLine.add(info);
-                            newLine.add(next);
-                        }
-                        
-                    } else {
-                        
-                        newLine.add(info);
-                    }
-                    
-                } else {
+                for (File f : files) {
                     
-                    newLine.add(info);
+                    collectSources(f, sources);
                 }
             }
             
-            set.add(newLine);
+        } else if (FileUtils.getExtension(file).equalsIgnoreCase(SOURCE_EXTENSION)) {
+            
+            sources.add(file);
         }
-        
-        return set;
     }
     
-    private static LineSet parseOutTokenStrings(LineSet lines) {
+    private static ParsedFile readFile(File file) {
         
-        LineSet set = new LineSet(lines);
-        
-        for (Line line : lines) {
+        try {
             
-            Runner.updateLocation(set.getFileName(), line.getLineNumber());
+            FileInputStream inputStream = new FileInputStream(file);
+            String[] lines = readLines(inputStream);
+            inputStream.close();
             
-            Line newLine = new Line(line.getLineNumber());
+            return new ParsedFile(file, buildBlock(file.getName(), file, lines, true), null);
             
-            for (int i = 0; i < line.size(); i++) {
-                
-                TokenInfo info = line.get(i);
-                
-                if (info.getToken() == Token.NON_TOKEN_STRING && info.getContents().contentEquals(Token.__FILE__.getReadable())) {
-                    
-                    newLine.add(new TokenInfo(Token.__FILE__, Token.__FILE__.getReadable()));
-                    
-                } else if (info.getToken() == Token.NON_TOKEN_STRING && info.getContents().contentEquals(Token.__LINE__.getReadable())) {
-                    
-                    newLine.add(new TokenInfo(Token.__LINE__, Token.__LINE__.getReadable()));
-                    
-                } else if (info.getToken() == Token.NON_TOKEN_STRING && info.getContents().contentEquals("block") && i < line.size() - 1 && line.get(i + 1).getToken() == Token.QUESTION_MARK) {
-                    
-                    newLine.add(new TokenInfo(Token.BLOCK_CHECK, Token.BLOCK_CHECK.getReadable()));
-                    i++;
-                    
-                } else {
-                    
-                    newLine.add(info);
-                }
-            }
+        } catch (IOException e) {
             
-            set.add(newLine);
+            return new ParsedFile(file, null, e);
         }
-        
-        return set;
     }
     
-    private static LineSet parseLiteralStrings(LineSet lines) {
-        
-        LineSet set = new LineSet(lines);
+    private static void interpret(ParsedFile parsed) {
         
-        for (Line line : lines) {
+        if (parsed.getError() != null) {
             
-            Runner.updateLocation(set.getFileName(), line.getLineNumber());
+            System.err.println("An error occurred while parsing '" + parsed.getFile().getName() + "'.");
             
-            Line newLine = new Line(line.getLineNumber());
-            
-            boolean inEscaped = false;
-            boolean inUnescaped = false;
-            StringBuilder current = new StringBuilder();
-            
-            for (TokenInfo info : line) {
+            if (CLI.isDebuggingEnabled()) {
                 
-                if (inEscaped) {
-                    
-                    if (info.getToken() == Token.ESCAPED_LITERAL_QUOTE) {
-                        
-                        inEscaped = false;
-                        newLine.add(new TokenInfo(Token.LITERAL_STRING, current.toString()));
-                        current = new StringBuilder();
-                        
-                    } else {
-                        
-                        current.append(getAppendableString(info, true));
-                    }
-                    
-                } else if (inUnescaped) {
-                    
-                    if (info.getToken() == Token.UNESCAPED_LITERAL_QUOTE) {
-                        
-                        inUnescaped = false;
-                        newLine.add(new TokenInfo(Token.LITERAL_STRING, current.toString()));
-                        current = new StringBuilder();
-                        
-                    } else {
-                        
-                        current.append(getAppendableString(info, false));
-                    }
-                    
-                } else {
-                    
-                    if (info.getToken() == Token.ESCAPED_LITERAL_QUOTE) {
-                        
-                        inEscaped = true;
-                        
-                    } else if (info.getToken() == Token.UNESCAPED_LITERAL_QUOTE) {
-                        
-                        inUnescaped = true;
-                        
-                    } else {
-                        
-                        newLine.add(info);
-                    }
-                }
+                parsed.getError().printStackTrace();
             }
             
-            set.add(newLine);
+        } else {
+            
+            PluginLoader.triggerOnFileLoad(parsed.getFile().getName(), parsed.getFile());
+            
+            TrinityInterpreter.interpret(parsed.getBlock());
         }
-        
-        return set;
     }
     
-    private static LineSet parseOutSpaces(LineSet lines) {
+    private static synchronized ForkJoinPool getPool() {
         
-        LineSet set = new LineSet(lines);
-        
-        for (Line line : lines) {
-            
-            Runner.updateLocation(set.getFileName(), line.getLineNumber());
-            
-            Line newLine = new Line(line.getLineNumber());
-            
-            boolean encounteredFirst = false;
-            
-            for (TokenInfo info : line) {
-                
-                if (info.getToken() != Token.WS_SPACE && info.getToken() != Token.WS_TAB) {
-                    
-                    encounteredFirst = true;
-                }
-                
-                if (!encounteredFirst) {
-                    
-                    newLine.add(info);
-                    
-                } else if (info.getToken() != Token.WS_SPACE && info.getToken() != Token.WS_TAB) {
-                    
-                    newLine.add(info);
-                }
-            }
+        if (pool == null) {
             
-            set.add(newLine);
+            pool = new ForkJoinPool(THREADS);
         }
         
-        return set;
+        return pool;
     }
     
-    private static LineSet parseOutLeadingWhitespace(LineSet lines) {
-        
-        LineSet set = new LineSet(lines);
+    public static void parse(InputStream stream, String sourceFile, File sourceLocation) {
         
-        for (Line line : lines) {
-            
-            Runner.updateLocation(set.getFileName(), line.getLineNumber());
-            
-            Line newLine = new Line(line.getLineNumber());
-            
-            boolean adding = true;
-            int spaces = 0;
-            
-            for (TokenInfo info : line) {
-                
-                if (adding) {
-                    
-                    if (info.getToken() == Token.WS_TAB) {
-                        
-                        Errors.throwSyntaxError(Errors.Classes.SYNTAX_ERROR, "No tabs allowed in leading whitespace.", lines.getFileName(), line.getLineNumber());
-                        
-                    } else if (info.getToken() == Token.WS_SPACE) {
-                        
-                        spaces++;
-                        
-                    } else {
-                        
-                        adding = false;
-                        newLine.add(info);
-                    }
-                    
-                } else {
-                    
-                    newLine.add(info);
-                }
-            }
-            
-            newLine.setSpaces(spaces);
-            set.add(newLine);
-        }
+        Block block = parseContents(stream, sourceFile, sourceLocation);
+        TrinityInterpreter.interpret(block);
+    }
+    
+    public static Block parseContents(InputStream stream, String sourceFile, File sourceLocation) {
         
-        return set;
+        return parseLines(sourceFile, sourceLocation, readLines(stream));
     }
     
-    private static LineSet stripComments(LineSet lines) {
+    private static String[] readLines(InputStream stream) {
         
-        LineSet set = new LineSet(lines);
+        List<String> lines = new ArrayList<>();
         
-        for (Line line : lines) {
-            
-            Runner.updateLocation(set.getFileName(), line.getLineNumber());
-            
-            Line newLine = new Line(line.getLineNumber());
-            newLine.setSpaces(line.getSpaces());
-            
-            for (TokenInfo info : line) {
-                
-                if (info.getToken() == Token.SINGLE_LINE_COMMENT) {
-                    
-                    String comment = CommentUtils.stripCommentSymbol(info.getContents());
-                    set.addComment(line.getLineNumber(), comment, line.getSpaces());
-                    break;
-                    
-                } else {
-                    
-                    newLine.add(info);
-                }
-            }
+        Scanner sc = new Scanner(stream);
+        
+        while (sc.hasNextLine()) {
             
-            set.add(newLine);
+            lines.add(sc.nextLine());
         }
         
-        return set;
+        sc.close();
+        
+        return lines.toArray(new String[lines.size()]);
     }
     
-    private static LineSet parseNumbers(LineSet lines) {
+    public static Block parseStrings(File container, String[] lines) {
         
-        LineSet set = new LineSet(lines);
+        return parseLines(container.getName(), container, lines);
+    }
+    
+    private static Block parseLines(String filename, File fullFile, String[] lines) {
         
-        for (Line line : lines) {
-            
-            Runner.updateLocation(set.getFileName(), line.getLineNumber());
-            
-            Line newLine = new Line(line.getLineNumber());
-            newLine.setSpaces(line.getSpaces());
-            
-            StringBuilder number = new StringBuilder();
-            
-            for (int i = 0; i < line.size(); i++) {
-                
-                TokenInfo info = line.get(i);
-                
-                if (number.length() > 0) {
-                    
-                    if (!number.toString().endsWith(".") && !number.toString().endsWith("f") && !number.toString().endsWith("l") && info.getToken() == Token.DOT_OPERATOR) {
-                        
-                        number.append(info.getContents());
-                        
-                    } else if (number.toString().endsWith(".") && info.getToken() == Token.NON_TOKEN_STRING && info.getContents().matches("[0-9]+")) {
-                        
-                        number.append(info.getContents());
-                        newLine.add(new TokenInfo(Token.NUMERIC_STRING, number.toString()));
-                        number = new StringBuilder();
-                        
-                    } else {
-                        
-                        if (number.toString().endsWith(".")) {
-                            
-                            newLine.add(new TokenInfo(Token.NUMERIC_STRING, number.substring(0, number.length() - 1)));
-                            newLine.add(new TokenInfo(Token.DOT_OPERATOR, "."));
-                            
-                        } else {
-                            
-                            newLine.add(new TokenInfo(Token.NUMERIC_STRING, number.toString()));
-                        }
-                        
-                        number = new StringBuilder();
-                        
-                        newLine.add(info);
-                    }
-                    
-                } else if (info.getToken() == Token.NON_TOKEN_STRING && info.getContents().matches("[0-9]+[fFlL]?")) {
-                    
-                    number = new StringBuilder(info.getContents());
-                    
-                } else if (info.getToken() == Token.DOT_OPERATOR && i + 1 < line.size() && line.get(i + 1).getToken() == Token.NON_TOKEN_STRING && line.get(i + 1).getContents().matches("[0-9]+[fFlL]?")) {
-                    
-                    number = new StringBuilder("." + line.get(++i).getContents());
-                    
-                } else {
-                    
-                    newLine.add(info);
-                }
-            }
-            
-            if (number.length() > 0) {
-                
-                if (number.toString().endsWith(".")) {
-                    
-                    newLine.add(new TokenInfo(Token.NUMERIC_STRING, number.substring(0, number.length() - 1)));
-                    newLine.add(new TokenInfo(Token.DOT_OPERATOR, "."));
-                    
-                } else {
-                    
-                    newLine.add(new TokenInfo(Token.NUMERIC_STRING, number.toString()));
-                }
-            }
-            
-            set.add(newLine);
-        }
+        PluginLoader.triggerOnFileLoad(filename, fullFile);
         
-        return set;
+        return buildBlock(filename, fullFile, lines, false);
     }
     
-    private static LineSet parseScopes(LineSet lines) {
+    private static Block buildBlock(String filename, File fullFile, String[] lines, boolean cached) {
         
-        LineSet set = new LineSet(lines);
+        // Parse lines into LineSet, unless the file is unchanged since it was last cached
+        LineSet lineSet = cached ? ParseCache.load(fullFile, lines) : null;
         
-        for (Line line : lines) {
-            
-            Runner.updateLocation(set.getFileName(), line.getLineNumber());
+        if (lineSet == null) {
             
-            Line newLine = new Line(line.getLineNumber());
-            newLine.setSpaces(line.getSpaces());
+            lineSet = new TrinityLexer(filename, fullFile).lex(lines);
             
-            for (int i = 0; i < line.size(); i++) {
+            if (cached) {
                 
-                TokenInfo info = line.get(i);
-                
-                if (info.getToken() == Token.MODULE && i < line.size() - 2 && line.get(i + 1).getToken() == Token.MINUS && line.get(i + 2).getToken() == Token.PROTECTED_SCOPE) {
-                    
-                    i += 2;
-                    newLine.add(new TokenInfo(Token.MODULE_PROTECTED_SCOPE, Token.MODULE_PROTECTED_SCOPE.getReadable()));
-                    
-                } else {
-                    
-                    newLine.add(info);
-                }
+                ParseCache.store(fullFile, lines, lineSet);
             }
-            
-            set.add(newLine);
         }
         
-        LineSet finalSet = new LineSet(set);
+        lineSet.collapseComments();
         
-        for (Line line : set) {
-            
-            Runner.updateLocation(finalSet.getFileName(), line.getLineNumber());
-            
-            Line newLine = new Line(line.getLineNumber());
-            newLine.setSpaces(line.getSpaces());
-            
-            for (TokenInfo info : line) {
-                
-                if (info.getToken() == Token.PRIVATE_SCOPE || info.getToken() == Token.PROTECTED_SCOPE || info.getToken() == Token.MODULE_PROTECTED_SCOPE || info.getToken() == Token.PUBLIC_SCOPE) {
-                    
-                    newLine.add(new TokenInfo(Token.SCOPE_MODIFIER, info.getContents()));
-                    
-                } else {
-                    
-                    newLine.add(info);
-                }
-            }
-            
-            finalSet.add(newLine);
-        }
+        // Parse LineSet into Block
         
-        return finalSet;
+        return parseToBlock(lineSet);
     }
     
     private static Block parseToBlock(LineSet lines) {
@@ -700,7 +221,7 @@ public class TrinityParser {
             
             Line l = lines.get(i);
             
-            Runner.updateLocation(lines.getFileName(), l.getLineNumber());
+            updateLocation(lines.getFileName(), l.getLineNumber());
             
             int commentLine = l.getLineNumber() - 1;
             if (lines.hasCollapsedComment(commentLine) && lines.getCollapsedCommentLeading(commentLine) == l.getSpaces()) {
@@ -727,6 +248,15 @@ public class TrinityParser {
         return new BlockParseResults(level, lines.size());
     }
     
+    // Parser threads share no Trinity thread, so only the interpreting thread tracks locations
+    public static void updateLocation(String filename, int line) {
+        
+        if (!(Thread.currentThread() instanceof ForkJoinWorkerThread)) {
+            
+            Runner.updateLocation(filename, line);
+        }
+    }
+    
     public static String getAppendableString(TokenInfo info, boolean escape) {
         
         return getAppendableString(info, escape, false);
@@ -747,4 +277,33 @@ public class TrinityParser {
             return info.getToken().getLiteral();
         }
     }
+    
+    private static class ParsedFile {
+        
+        private File file;
+        private Block block;
+        private IOException error;
+        
+        private ParsedFile(File file, Block block, IOException error) {
+            
+            this.file = file;
+            this.block = block;
+            this.error = error;
+        }
+        
+        private File getFile() {
+            
+            return file;
+        }
+        
+        private Block getBlock() {
+            
+            return block;
+        }
+        
+        private IOException getError() {
+            
+            return error;
+        }
+    }
 }
@@ -0,0 +1,378 @@
+package com.github.chrisblutz.trinity.parser.cache;
+
+import com.github.chrisblutz.trinity.cli.CLI;
+import com.github.chrisblutz.trinity.info.TrinityInfo;
+import com.github.chrisblutz.trinity.parser.TrinityLexer;
+import com.github.chrisblutz.trinity.parser.lines.Line;
+import com.github.chrisblutz.trinity.parser.lines.LineSet;
+import com.github.chrisblutz.trinity.parser.tokens.Token;
+import com.github.chrisblutz.trinity.parser.tokens.TokenInfo;
+import com.github.chrisblutz.trinity.utils.FileUtils;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+
+/**
+ * Keeps the token streams of source files on disk, so files that
+ * have not changed since they were last lexed can skip the lexer.
+ * Entries are keyed by the entry format, the lexer version and the
+ * canonical path of the source file, and record the interpreter version
+ * and a hash of the file's contents.  Any entry that does not match, or
+ * cannot be read, is ignored and the file is lexed again.
+ *
+ * @author Christopher Lutz
+ */
+public class ParseCache {
+    
+    private static final int MAGIC = 0x54594C58;
+    private static final int FORMAT = 2;
+    
+    // Longest string, in modified UTF-8 bytes, that DataOutputStream.writeUTF can store
+    private static final int MAX_UTF_LENGTH = 65535;
+    
+    public static final String CACHE_EXTENSION = "tyc";
+    
+    private static final AtomicInteger hits = new AtomicInteger(), misses = new AtomicInteger();
+    
+    private static File directory = null;
+    
+    public static boolean isEnabled() {
+        
+        return !CLI.isCacheDisabled();
+    }
+    
+    public static synchronized File getDirectory() {
+        
+        if (directory == null) {
+            
+            String path = System.getProperty("trinity.cache.dir");
+            directory = path == null ? new File(FileUtils.getTrinityHome(), "cache/") : new File(path);
+        }
+        
+        return directory;
+    }
+    
+    public static LineSet load(File file, String[] lines) {
+        
+        if (!isEnabled()) {
+            
+            return null;
+        }
+        
+        try {
+            
+            String path = file.getCanonicalPath();
+            File entry = getEntry(path);
+            
+            if (entry.exists()) {
+                
+                try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(entry)))) {
+                    
+                    if (readHeader(in, path, lines)) {
+                        
+                        LineSet lineSet = readLines(in, file);
+                        hits.incrementAndGet();
+                        
+                        return lineSet;
+                    }
+                }
+            }
+            
+        } catch (IOException | RuntimeException e) {
+            
+            // Damaged entries can fail anywhere in reading, so they are treated as misses
+            if (CLI.isDebuggingEnabled()) {
+                
+                System.err.println("Unable to read cached tokens for '" + file.getName() + "': " + e);
+            }
+        }
+        
+        misses.incrementAndGet();
+        
+        return null;
+    }
+    
+    public static void store(File file, String[] lines, LineSet lineSet) {
+        
+        if (!isEnabled()) {
+            
+            return;
+        }
+        
+        File temp = null;
+        
+        try {
+            
+            String path = file.getCanonicalPath();
+            
+            // Strings are stored with writeUTF, so files with longer paths, tokens or comments are
+            // not cacheable and are simply lexed every time
+            if (!isCacheable(path, lineSet)) {
+                
+                return;
+            }
+            
+            File entry = getEntry(path);
+            
+            File dir = getDirectory();
+            if (!dir.isDirectory() && !dir.mkdirs()) {
+                
+                return;
+            }
+            
+            // Entries are written to a temporary file first, so other threads and processes
+            // never read a partially written entry
+            temp = File.createTempFile("entry", ".tmp", dir);
+            
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temp)))) {
+                
+                writeHeader(out, path, lines);
+                writeLines(out, lineSet);
+            }
+            
+            Files.move(temp.toPath(), entry.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            
+        } catch (IOException e) {
+            
+            if (temp != null) {
+                
+                temp.delete();
+            }
+            
+            if (CLI.isDebuggingEnabled()) {
+                
+                System.err.println("Unable to cache tokens for '" + file.getName() + "': " + e);
+            }
+        }
+    }
+    
+    public static void report() {
+        
+        if (isEnabled()) {
+            
+            System.out.println("Parse cache had " + hits.get() + " hit(s) and " + misses.get() + " miss(es).");
+        }
+    }
+    
+    private static boolean isCacheable(String path, LineSet lineSet) {
+        
+        if (!fitsUTF(path) || !fitsUTF(getVersion())) {
+            
+            return false;
+        }
+        
+        for (Line line : lineSet) {
+            
+            for (TokenInfo info : line) {
+                
+                if (info.getContents() != null && !fitsUTF(info.getContents())) {
+                    
+                    return false;
+                }
+            }
+        }
+        
+        for (int lineNumber : lineSet.getCommentedLines()) {
+            
+            if (!fitsUTF(lineSet.getComment(lineNumber))) {
+                
+                return false;
+            }
+        }
+        
+        return true;
+    }
+    
+    private static boolean fitsUTF(String string) {
+        
+        // Checked cheaply first, since each character takes at most three bytes
+        if (string.length() * 3 <= MAX_UTF_LENGTH) {
+            
+            return true;
+        }
+        
+        int length = 0;
+        for (int i = 0; i < string.length(); i++) {
+            
+            char c = string.charAt(i);
+            length += c >= 0x0001 && c <= 0x007F ? 1 : c <= 0x07FF ? 2 : 3;
+        }
+        
+        return length <= MAX_UTF_LENGTH;
+    }
+    
+    private static File getEntry(String path) {
+        
+        String key = FORMAT + ":" + TrinityLexer.VERSION + ":" + path;
+        
+        return new File(getDirectory(), toHex(digest(key.getBytes(StandardCharsets.UTF_8))) + "." + CACHE_EXTENSION);
+    }
+    
+    private static boolean readHeader(DataInputStream in, String path, String[] lines) throws IOException {
+        
+        if (in.readInt() != MAGIC || in.readInt() != FORMAT || in.readInt() != TrinityLexer.VERSION || !in.readUTF().equals(getVersion()) || !in.readUTF().equals(path)) {
+            
+            return false;
+        }
+        
+        byte[] hash = new byte[in.readUnsignedByte()];
+        in.readFully(hash);
+        
+        return Arrays.equals(hash, hash(lines));
+    }
+    
+    private static void writeHeader(DataOutputStream out, String path, String[] lines) throws IOException {
+        
+        byte[] hash = hash(lines);
+        
+        out.writeInt(MAGIC);
+        out.writeInt(FORMAT);
+        out.writeInt(TrinityLexer.VERSION);
+        out.writeUTF(getVersion());
+        out.writeUTF(path);
+        out.writeByte(hash.length);
+        out.write(hash);
+    }
+    
+    private static LineSet readLines(DataInputStream in, File file) throws IOException {
+        
+        // Tokens are stored by name, so entries written before the set of tokens changed are rejected
+        Token[] tokens = new Token[in.readUnsignedShort()];
+        for (int i = 0; i < tokens.length; i++) {
+            
+            tokens[i] = Token.valueOf(in.readUTF());
+        }
+        
+        LineSet lineSet = new LineSet(file.getName(), file);
+        
+        int lineCount = in.readInt();
+        for (int i = 0; i < lineCount; i++) {
+            
+            Line line = new Line(in.readInt());
+            line.setSpaces(in.readInt());
+            
+            int tokenCount = in.readInt();
+            for (int j = 0; j < tokenCount; j++) {
+                
+                Token token = tokens[in.readUnsignedShort()];
+                String contents = in.readBoolean() ? in.readUTF() : null;
+                
+                line.add(new TokenInfo(token, contents));
+            }
+            
+            lineSet.add(line);
+        }
+        
+        int commentCount = in.readInt();
+        for (int i = 0; i < commentCount; i++) {
+            
+            int lineNumber = in.readInt();
+            String comment = in.readUTF();
+            
+            lineSet.addComment(lineNumber, comment, in.readInt());
+        }
+        
+        return lineSet;
+    }
+    
+    private static void writeLines(DataOutputStream out, LineSet lineSet) throws IOException {
+        
+        Map<Token, Integer> tokens = new LinkedHashMap<>();
+        for (Line line : lineSet) {
+            
+            for (TokenInfo info : line) {
+                
+                tokens.putIfAbsent(info.getToken(), tokens.size());
+            }
+        }
+        
+        out.writeShort(tokens.size());
+        for (Token token : tokens.keySet()) {
+            
+            out.writeUTF(token.name());
+        }
+        
+        out.writeInt(lineSet.size());
+        for (Line line : lineSet) {
+            
+            out.writeInt(line.getLineNumber());
+            out.writeInt(line.getSpaces());
+            out.writeInt(line.size());
+            
+            for (TokenInfo info : line) {
+                
+                out.writeShort(tokens.get(info.getToken()));
+                out.writeBoolean(info.getContents() != null);
+                
+                if (info.getContents() != null) {
+                    
+                    out.writeUTF(info.getContents());
+                }
+            }
+        }
+        
+        Integer[] commented = lineSet.getCommentedLines();
+        
+        out.writeInt(commented.length);
+        for (int lineNumber : commented) {
+            
+            out.writeInt(lineNumber);
+            out.writeUTF(lineSet.getComment(lineNumber));
+            out.writeInt(lineSet.getCommentLeading(lineNumber));
+        }
+    }
+    
+    private static String getVersion() {
+        
+        return String.valueOf(TrinityInfo.get("trinity.version"));
+    }
+    
+    private static byte[] hash(String[] lines) {
+        
+        MessageDigest digest = newDigest();
+        
+        for (String line : lines) {
+            
+            digest.update(line.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) '\n');
+        }
+        
+        return digest.digest();
+    }
+    
+    private static byte[] digest(byte[] bytes) {
+        
+        return newDigest().digest(bytes);
+    }
+    
+    private static MessageDigest newDigest() {
+        
+        try {
+            
+            return MessageDigest.getInstance("SHA-1");
+            
+        } catch (NoSuchAlgorithmException e) {
+            
+            throw new IllegalStateException(e);
+        }
+    }
+    
+    private static String toHex(byte[] bytes) {
+        
+        StringBuilder str = new StringBuilder();
+        
+        for (byte b : bytes) {
+            
+            str.append(String.format("%02x", b));
+        }
+        
+        return str.toString();
+    }
+}
@@ -1,8 +1,11 @@
 package com.github.chrisblutz.trinity.runner;
 
 import com.github.chrisblutz.trinity.Trinity;
+import com.github.chrisblutz.trinity.bootstrap.LibraryIndex;
 import com.github.chrisblutz.trinity.cli.CLI;
+import com.github.chrisblutz.trinity.interpreter.Location;
 import com.github.chrisblutz.trinity.interpreter.TrinityInterpreter;
+import com.github.chrisblutz.trinity.interpreter.optimizer.Optimizer;
 import com.github.chrisblutz.trinity.lang.ClassRegistry;
 import com.github.chrisblutz.trinity.lang.TYClass;
 import com.github.chrisblutz.trinity.lang.TYObject;
@@ -12,11 +15,10 @@ import com.github.chrisblutz.trinity.lang.procedures.TYProcedure;
 import com.github.chrisblutz.trinity.lang.threading.TYThread;
 import com.github.chrisblutz.trinity.natives.TrinityNatives;
 import com.github.chrisblutz.trinity.parser.TrinityParser;
+import com.github.chrisblutz.trinity.parser.cache.ParseCache;
 import com.github.chrisblutz.trinity.plugins.PluginLoader;
 
 import java.io.File;
-import java.util.HashMap;
-import java.util.Map;
 
 
 /**
@@ -24,37 +26,38 @@ import java.util.Map;
  */
 public class Runner {
     
-    private static Map<Thread, String> currentFiles = new HashMap<>();
-    private static Map<Thread, Integer> currentLines = new HashMap<>();
-    
     private static final ThreadGroup trinityThreadGroup = new ThreadGroup("TrinityThreads");
     
     private static String postFinalizeErrorClass, postFinalizeErrorMessage;
     
     public static String getCurrentFile(Thread thread) {
         
-        return currentFiles.get(thread);
+        return TYThread.getThread(thread).getCurrentFile();
     }
     
     public static void setCurrentFile(String currentFile) {
         
-        currentFiles.put(Thread.currentThread(), currentFile);
+        updateLocation(currentFile, TYThread.getCurrentThread().getCurrentLine());
     }
     
     public static int getCurrentLine(Thread thread) {
         
-        return currentLines.get(thread);
+        return TYThread.getThread(thread).getCurrentLine();
     }
     
     public static void setCurrentLine(int currentLine) {
         
-        currentLines.put(Thread.currentThread(), currentLine);
+        updateLocation(TYThread.getCurrentThread().getCurrentFile(), currentLine);
     }
     
     public static void updateLocation(String currentFile, int currentLine) {
         
-        setCurrentFile(currentFile);
-        setCurrentLine(currentLine);
+        TYThread.getCurrentThread().setLocation(new Location(currentFile, null, currentLine));
+    }
+    
+    public static void updateLocation(Location location) {
+        
+        TYThread.getCurrentThread().setLocation(location);
     }
     
     public static void run(File[] sourceFiles, String mainClass, String[] args) {
@@ -68,10 +71,7 @@ public class Runner {
         
         long startLoadMillis = System.currentTimeMillis();
         
-        for (File file : sourceFiles) {
-            
-            TrinityParser.parse(file);
-        }
+        TrinityParser.parse(sourceFiles);
         
         ClassRegistry.finalizeClasses();
         
@@ -164,6 +164,10 @@ public class Runner {
                 long loadTotal = endLoadMillis - startLoadMillis;
                 long total = endMillis - startMillis;
                 System.out.println(String.format("\nExecution took %.3f seconds (files took %.3f seconds to load).", (float) total / 1000f, (float) loadTotal / 1000f));
+                
+                Optimizer.report();
+                ParseCache.report();
+                LibraryIndex.report();
             }
             
             if (CLI.isCountingEnabled()) {
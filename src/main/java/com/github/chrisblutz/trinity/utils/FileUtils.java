@@ -49,7 +49,9 @@ public class FileUtils {
             
             try {
                 
-                trinityHome = new File(new File(Trinity.class.getProtectionDomain().getCodeSource().getLocation().toURI()), "../..");
+                // The home location can be given explicitly, such as when running from build output
+                String home = System.getProperty("trinity.home");
+                trinityHome = home != null ? new File(home) : new File(new File(Trinity.class.getProtectionDomain().getCodeSource().getLocation().toURI()), "../..");
                 // Resolve '../..' out of path
                 trinityHome = trinityHome.getCanonicalFile();
                 
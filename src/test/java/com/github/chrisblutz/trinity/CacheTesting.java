@@ -0,0 +1,167 @@
+package com.github.chrisblutz.trinity;
+
+import com.github.chrisblutz.trinity.parser.ReferenceLexer;
+import com.github.chrisblutz.trinity.parser.TrinityLexer;
+import com.github.chrisblutz.trinity.parser.cache.ParseCache;
+import com.github.chrisblutz.trinity.parser.lines.LineSet;
+import com.github.chrisblutz.trinity.utils.FileUtils;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+
+/**
+ * @author Christopher Lutz
+ */
+public class CacheTesting {
+    
+    private static File directory;
+    
+    @BeforeClass
+    public static void createCacheDirectory() throws IOException {
+        
+        directory = Files.createTempDirectory("trinity-cache").toFile();
+        System.setProperty("trinity.cache.dir", directory.getPath());
+    }
+    
+    @AfterClass
+    public static void deleteCacheDirectory() {
+        
+        FileUtils.delete(directory);
+    }
+    
+    @Test
+    public void testRoundTrip() throws IOException {
+        
+        for (String script : new String[]{"/parsing/strings.ty", "/parsing/comments-and-whitespace.ty", "/parsing/scope-modifiers.ty"}) {
+            
+            File file = TrinityScripts.getScript(script);
+            String[] lines = readLines(file);
+            
+            ParseCache.store(file, lines, lex(file, lines));
+            LineSet cached = ParseCache.load(file, lines);
+            
+            assertNotNull(script, cached);
+            assertNull(ReferenceLexer.compare(cached, lines));
+        }
+    }
+    
+    @Test
+    public void testChangedFile() throws IOException {
+        
+        File file = createSource("changed", "x = 1", "y = 'two'");
+        String[] lines = readLines(file);
+        
+        ParseCache.store(file, lines, lex(file, lines));
+        assertNotNull(ParseCache.load(file, lines));
+        
+        String[] changed = new String[]{"x = 1", "y = 'three'"};
+        assertNull(ParseCache.load(file, changed));
+    }
+    
+    @Test
+    public void testStringsTooLongToCache() throws IOException {
+        
+        // Each of these characters takes three bytes in modified UTF-8, which puts the literal past writeUTF's limit
+        char[] literal = new char[30000];
+        Arrays.fill(literal, '€');
+        
+        File file = createSource("long", "x = '" + new String(literal) + "'");
+        String[] lines = readLines(file);
+        
+        int entries = count();
+        ParseCache.store(file, lines, lex(file, lines));
+        
+        assertEquals(entries, count());
+        assertNull(ParseCache.load(file, lines));
+    }
+    
+    @Test
+    public void testDamagedEntry() throws IOException {
+        
+        File file = createSource("damaged", "x = 1");
+        String[] lines = readLines(file);
+        
+        List<File> entries = Arrays.asList(list());
+        ParseCache.store(file, lines, lex(file, lines));
+        
+        File entry = null;
+        for (File stored : list()) {
+            
+            if (!entries.contains(stored)) {
+                
+                entry = stored;
+            }
+        }
+        
+        assertNotNull(entry);
+        
+        // Keeps the valid header, but refers to a token that was never stored
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataInputStream in = new DataInputStream(new FileInputStream(entry)); DataOutputStream out = new DataOutputStream(bytes)) {
+            
+            out.writeInt(in.readInt());
+            out.writeInt(in.readInt());
+            out.writeInt(in.readInt());
+            out.writeUTF(in.readUTF());
+            out.writeUTF(in.readUTF());
+            
+            byte[] hash = new byte[in.readUnsignedByte()];
+            in.readFully(hash);
+            out.writeByte(hash.length);
+            out.write(hash);
+            
+            out.writeShort(0);
+            out.writeInt(1);
+            out.writeInt(1);
+            out.writeInt(0);
+            out.writeInt(1);
+            out.writeShort(0);
+        }
+        
+        Files.write(entry.toPath(), bytes.toByteArray());
+        
+        assertNull(ParseCache.load(file, lines));
+    }
+    
+    private static LineSet lex(File file, String[] lines) {
+        
+        return new TrinityLexer(file.getName(), file).lex(lines);
+    }
+    
+    private static String[] readLines(File file) throws IOException {
+        
+        List<String> lines = Files.readAllLines(file.toPath(), StandardCharsets.UTF_8);
+        
+        return lines.toArray(new String[lines.size()]);
+    }
+    
+    private static File createSource(String name, String... lines) throws IOException {
+        
+        File file = new File(directory, name + ".ty");
+        Files.write(file.toPath(), Arrays.asList(lines), StandardCharsets.UTF_8);
+        
+        return file;
+    }
+    
+    private static int count() {
+        
+        return list().length;
+    }
+    
+    private static File[] list() {
+        
+        // The cache directory is chosen once per process, so it may not be the one created here
+        File[] files = ParseCache.getDirectory().listFiles((dir, name) -> name.endsWith("." + ParseCache.CACHE_EXTENSION));
+        
+        return files == null ? new File[0] : files;
+    }
+}
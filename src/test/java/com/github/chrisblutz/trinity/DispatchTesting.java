@@ -0,0 +1,60 @@
+package com.github.chrisblutz.trinity;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+
+/**
+ * @author Christopher Lutz
+ */
+public class DispatchTesting {
+    
+    private static final String[] MODES = new String[]{"-i", "-b", "-n", "-Dtrinity.tier.threshold=1"};
+    
+    @Test
+    public void testPolymorphicCallSites() {
+        
+        String expected = TrinityScripts.lines("A", "B", "A", "B", "E", "F", "A", "A", "B", "A", "B", "E", "F", "A", "B!");
+        
+        assertEquals(expected, TrinityScripts.run("/dispatch/polymorphic.ty"));
+        
+        for (String mode : MODES) {
+            
+            assertEquals(mode, expected, TrinityScripts.run("/dispatch/polymorphic.ty", mode));
+        }
+    }
+    
+    @Test
+    public void testInlineCacheInvalidation() {
+        
+        // Each file loaded between calls redefines a method that the call site has already cached
+        String b = TrinityScripts.getScript("/dispatch/invalidation-b.ty").getPath();
+        String a = TrinityScripts.getScript("/dispatch/invalidation-a.ty").getPath();
+        String bSuper = TrinityScripts.getScript("/dispatch/invalidation-super.ty").getPath();
+        
+        String expected = TrinityScripts.lines("A", "A", "B", "A", "B", "A2", "B+A2", "A2");
+        
+        assertEquals(expected, TrinityScripts.run("/dispatch/invalidation.ty", "-a", b, a, bSuper));
+        
+        for (String mode : MODES) {
+            
+            assertEquals(mode, expected, TrinityScripts.run("/dispatch/invalidation.ty", mode, "-a", b, a, bSuper));
+        }
+    }
+    
+    @Test
+    public void testKernelMethodInvalidation() {
+        
+        String greet = TrinityScripts.getScript("/dispatch/kernel-greet.ty").getPath();
+        
+        String expected = TrinityScripts.lines("hello", "goodbye");
+        
+        assertEquals(expected, TrinityScripts.run("/dispatch/kernel.ty", "-a", greet));
+        
+        for (String mode : MODES) {
+            
+            assertEquals(mode, expected, TrinityScripts.run("/dispatch/kernel.ty", mode, "-a", greet));
+        }
+    }
+}
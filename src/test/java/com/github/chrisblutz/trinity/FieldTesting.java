@@ -0,0 +1,84 @@
+package com.github.chrisblutz.trinity;
+
+import com.github.chrisblutz.trinity.lang.TYClass;
+import com.github.chrisblutz.trinity.lang.variables.FieldLayout;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+
+/**
+ * @author Christopher Lutz
+ */
+public class FieldTesting {
+    
+    private static final String[] MODES = new String[]{"-i", "-b", "-n", "-Dtrinity.tier.threshold=1"};
+    
+    @Test
+    public void testShadowedFieldLayout() {
+        
+        TYClass a = new TYClass("LayoutA", "LayoutA", null);
+        TYClass b = new TYClass("LayoutB", "LayoutB", a);
+        TYClass c = new TYClass("LayoutC", "LayoutC", b);
+        
+        addField(a, "x");
+        addField(a, "y");
+        addField(b, "x");
+        addField(c, "z");
+        
+        FieldLayout layout = c.getFieldLayout();
+        assertEquals(4, layout.size());
+        
+        // Each class keeps its own 'x', after the fields of its superclasses
+        int aX = layout.getLayoutFor(a).getOffset("x");
+        int bX = layout.getLayoutFor(b).getOffset("x");
+        assertNotEquals(aX, bX);
+        assertTrue(aX < layout.getLayoutFor(b).getBase());
+        assertTrue(bX < layout.getLayoutFor(c).getBase());
+        
+        assertEquals(-1, layout.getLayoutFor(b).getOffset("y"));
+        assertEquals(layout.getLayoutFor(a).getOffset("y"), a.getFieldLayout().getOffset("y"));
+        assertEquals(3, layout.getOffset("z"));
+        assertNull(layout.getLayoutFor(new TYClass("LayoutD", "LayoutD", null)));
+    }
+    
+    @Test
+    public void testLayoutRebuiltAfterChange() {
+        
+        TYClass a = new TYClass("RebuiltA", "RebuiltA", null);
+        TYClass b = new TYClass("RebuiltB", "RebuiltB", a);
+        
+        addField(b, "x");
+        
+        FieldLayout before = b.getFieldLayout();
+        assertSame(before, b.getFieldLayout());
+        assertEquals(0, before.getOffset("x"));
+        
+        // Fields added to a superclass move the subclass's fields after them
+        addField(a, "x");
+        
+        FieldLayout after = b.getFieldLayout();
+        assertNotSame(before, after);
+        assertEquals(2, after.size());
+        assertEquals(1, after.getOffset("x"));
+        assertEquals(0, after.getLayoutFor(a).getOffset("x"));
+    }
+    
+    @Test
+    public void testShadowedFields() {
+        
+        String expected = TrinityScripts.lines("5", "a", "9", "5", "5", "3", "4", "3", "c", "b", "a", "c3zba", "b", "5", "a", "9", "b", "5", "a", "9");
+        
+        assertEquals(expected, TrinityScripts.run("/fields/shadowed.ty"));
+        
+        for (String mode : MODES) {
+            
+            assertEquals(mode, expected, TrinityScripts.run("/fields/shadowed.ty", mode));
+        }
+    }
+    
+    private static void addField(TYClass tyClass, String name) {
+        
+        tyClass.registerInstanceVariable(name, false, new String[0], null, null, false, new String[0]);
+    }
+}
@@ -0,0 +1,64 @@
+package com.github.chrisblutz.trinity;
+
+import com.github.chrisblutz.trinity.parser.ReferenceLexer;
+import com.github.chrisblutz.trinity.parser.TrinityLexer;
+import com.github.chrisblutz.trinity.parser.TrinityParser;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+
+/**
+ * @author Christopher Lutz
+ */
+public class LexerTesting {
+    
+    @Test
+    public void testStandardLibrary() throws IOException {
+        
+        compareAll(new File("lib/"));
+    }
+    
+    @Test
+    public void testTrinityTests() throws IOException {
+        
+        compareAll(new File("test/"));
+    }
+    
+    @Test
+    public void testScripts() throws IOException {
+        
+        compareAll(TrinityScripts.getScript("/parsing/strings.ty").getParentFile().getParentFile());
+    }
+    
+    // Lexes every source file under the directory with both lexers, which must agree on every line
+    private static void compareAll(File directory) throws IOException {
+        
+        List<Path> sources;
+        try (Stream<Path> paths = Files.walk(directory.toPath())) {
+            
+            sources = paths.filter(path -> path.toString().endsWith("." + TrinityParser.SOURCE_EXTENSION)).sorted().collect(Collectors.toList());
+        }
+        
+        assertTrue("No source files found in '" + directory + "'.", !sources.isEmpty());
+        
+        for (Path source : sources) {
+            
+            File file = source.toFile();
+            List<String> lines = Files.readAllLines(source, StandardCharsets.UTF_8);
+            String[] lineArray = lines.toArray(new String[lines.size()]);
+            
+            assertNull(ReferenceLexer.compare(new TrinityLexer(file.getName(), file).lex(lineArray), lineArray));
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.github.chrisblutz.trinity;
+
+import com.github.chrisblutz.trinity.lang.TYObject;
+import com.github.chrisblutz.trinity.lang.types.maps.TYMapKey;
+import com.github.chrisblutz.trinity.lang.types.numeric.NumericOperations;
+import com.github.chrisblutz.trinity.lang.types.numeric.TYFloat;
+import com.github.chrisblutz.trinity.lang.types.numeric.TYInt;
+import com.github.chrisblutz.trinity.lang.types.numeric.TYLong;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+
+/**
+ * @author Christopher Lutz
+ */
+public class MapTesting {
+    
+    @Test
+    public void testNumericKeys() {
+        
+        long limit = 1L << 53;
+        
+        TYObject[] numbers = new TYObject[]{TYInt.valueOf(0), TYInt.valueOf(1), TYInt.valueOf(-1), new TYLong(1), new TYLong(limit - 1), new TYLong(limit), new TYLong(limit + 1), new TYLong(-limit - 1), new TYLong(Long.MIN_VALUE), new TYLong(Long.MAX_VALUE), new TYFloat(0), new TYFloat(-0.0), new TYFloat(1), new TYFloat(1.5), new TYFloat(limit - 1), new TYFloat(limit), new TYFloat(-limit), new TYFloat(Long.MIN_VALUE), new TYFloat(Math.pow(2, 63))};
+        
+        for (TYObject first : numbers) {
+            
+            for (TYObject second : numbers) {
+                
+                TYMapKey firstKey = new TYMapKey(first), secondKey = new TYMapKey(second);
+                
+                // Keys must agree with == on numbers, and equal keys must share a hash
+                assertEquals(first + " == " + second, NumericOperations.equal(first, second), firstKey.equals(secondKey));
+                
+                if (firstKey.equals(secondKey)) {
+                    
+                    assertEquals(first + " and " + second, firstKey.hashCode(), secondKey.hashCode());
+                }
+            }
+        }
+        
+        assertTrue(!new TYMapKey(new TYLong(limit)).equals(new TYMapKey(new TYLong(limit + 1))));
+    }
+    
+    @Test
+    public void testNumericKeyScript() {
+        
+        String expected = TrinityScripts.lines("false", "2", "a", "b", "one", "one", "two", "zero", "half", "two", "none", "6", "2");
+        
+        assertEquals(expected, TrinityScripts.run("/maps/numeric-keys.ty"));
+        assertEquals(expected, TrinityScripts.run("/maps/numeric-keys.ty", "-n"));
+    }
+}
@@ -0,0 +1,59 @@
+package com.github.chrisblutz.trinity;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+
+/**
+ * @author Christopher Lutz
+ */
+public class OperatorTesting {
+    
+    private static final String[] MODES = new String[]{"-i", "-b", "-n", "-Dtrinity.tier.threshold=1"};
+    
+    @Test
+    public void testRedefinedNumericOperators() {
+        
+        // The operators are used once with Numeric's native methods, and again after they are redefined
+        String numbers = TrinityScripts.getScript("/operators/redefined-numbers.ty").getPath();
+        
+        String expected = TrinityScripts.lines("3", "1", "2", "true", "false", "true", "true", "3.75", "plus", "1", "20", "false", "true", "equal", "false", "3.75");
+        
+        assertEquals(expected, TrinityScripts.run("/operators/redefined.ty", "-a", numbers));
+        
+        for (String mode : MODES) {
+            
+            assertEquals(mode, expected, TrinityScripts.run("/operators/redefined.ty", mode, "-a", numbers));
+        }
+    }
+    
+    @Test
+    public void testSpecializationFallback() {
+        
+        // Operators specialized for Int go back to dispatch when they see other types, or after Int's operators are redefined
+        String integers = TrinityScripts.getScript("/operators/specialized-int.ty").getPath();
+        
+        String expected = TrinityScripts.lines("3", "3", "3", "3", "0.5", "3", "true", "true", "minus", "minus", "false", "false", "3");
+        
+        assertEquals(expected, TrinityScripts.run("/operators/specialized.ty", "-a", integers));
+        
+        for (String mode : MODES) {
+            
+            assertEquals(mode, expected, TrinityScripts.run("/operators/specialized.ty", mode, "-a", integers));
+        }
+    }
+    
+    @Test
+    public void testDivisionByZero() {
+        
+        for (String mode : new String[]{"-i", "-b", "-Dtrinity.tier.threshold=1"}) {
+            
+            String output = TrinityScripts.run("/operators/divide-by-zero.ty", mode);
+            
+            assertTrue(output, output.startsWith(TrinityScripts.lines("3.5", "3.5", "4")));
+            assertTrue(output, output.contains("Trinity.Errors.ArithmeticError: / by 0.\n\tat Trinity.Numeric./ (native)\n"));
+        }
+    }
+}
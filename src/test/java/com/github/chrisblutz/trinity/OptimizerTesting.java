@@ -0,0 +1,128 @@
+package com.github.chrisblutz.trinity;
+
+import com.github.chrisblutz.trinity.interpreter.BinaryOperator;
+import com.github.chrisblutz.trinity.interpreter.Location;
+import com.github.chrisblutz.trinity.interpreter.facets.OperatorFacets;
+import com.github.chrisblutz.trinity.interpreter.instructions.*;
+import com.github.chrisblutz.trinity.interpreter.optimizer.ConstantFoldingPass;
+import com.github.chrisblutz.trinity.lang.NativeMethodGuard;
+import com.github.chrisblutz.trinity.lang.types.numeric.NumericOperations;
+import com.github.chrisblutz.trinity.parser.tokens.Token;
+import com.github.chrisblutz.trinity.parser.tokens.TokenInfo;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+
+/**
+ * @author Christopher Lutz
+ */
+public class OptimizerTesting {
+    
+    private static final Location LOCATION = new Location("optimizer.ty", null, 1);
+    
+    @BeforeClass
+    public static void registerOperators() {
+        
+        if (BinaryOperator.getOperator(Token.PLUS) == null) {
+            
+            OperatorFacets.registerFacets();
+        }
+    }
+    
+    @Test
+    public void testNumericFolding() {
+        
+        InstructionSet sum = expression(number("1"), operator(Token.PLUS, number("2")));
+        InstructionSet comparison = expression(number("1"), operator(Token.LESS_THAN, number("2")));
+        
+        fold(sum, comparison);
+        
+        ConstantInstruction folded = getConstant(sum);
+        assertEquals(ConstantInstruction.NUMBER, folded.getType());
+        assertArrayEquals(new NativeMethodGuard[]{NumericOperations.ADD}, folded.getGuards());
+        
+        folded = getConstant(comparison);
+        assertEquals(ConstantInstruction.BOOLEAN, folded.getType());
+        assertArrayEquals(new NativeMethodGuard[]{NumericOperations.COMPARE_TO}, folded.getGuards());
+    }
+    
+    @Test
+    public void testNestedFolding() {
+        
+        // (1 + 2) * 3 keeps the guards of the folded operand as well as its own
+        InstructionSet expression = expression(expression(number("1"), operator(Token.PLUS, number("2"))), operator(Token.MULTIPLY, number("3")));
+        
+        fold(expression);
+        
+        assertArrayEquals(new NativeMethodGuard[]{NumericOperations.ADD, NumericOperations.MULTIPLY}, getConstant(expression).getGuards());
+    }
+    
+    @Test
+    public void testStringsNotFolded() {
+        
+        Instruction first = string("a");
+        Instruction second = operator(Token.PLUS, string("b"));
+        InstructionSet concatenation = expression(first, second);
+        
+        fold(concatenation);
+        
+        assertArrayEquals(new Instruction[]{first, second}, concatenation.getInstructions());
+    }
+    
+    @Test
+    public void testPasses() {
+        
+        String expected = TrinityScripts.lines("7", "9", "2.5", "true", "true", "abc", "yes", "else-zero", "20", "202", "5", "5", "5", "5");
+        
+        assertEquals(expected, TrinityScripts.run("/optimizer/passes.ty"));
+        assertEquals(expected, TrinityScripts.run("/optimizer/passes.ty", "-n"));
+        assertEquals(expected, TrinityScripts.run("/optimizer/passes.ty", "-b"));
+    }
+    
+    @Test
+    public void testFoldedOperatorsRedefined() {
+        
+        String numbers = TrinityScripts.getScript("/optimizer/redefined-numbers.ty").getPath();
+        
+        String expected = TrinityScripts.lines("3", "9", "true", "true", "10", "30", "false", "false");
+        
+        assertEquals(expected, TrinityScripts.run("/optimizer/redefined.ty", "-a", numbers));
+        assertEquals(expected, TrinityScripts.run("/optimizer/redefined.ty", "-n", "-a", numbers));
+        assertEquals(expected, TrinityScripts.run("/optimizer/redefined.ty", "-Dtrinity.tier.threshold=1", "-a", numbers));
+    }
+    
+    private static void fold(InstructionSet... statements) {
+        
+        new ConstantFoldingPass().run(statements, null);
+    }
+    
+    private static ConstantInstruction getConstant(InstructionSet set) {
+        
+        assertEquals(1, set.getInstructions().length);
+        assertTrue(set.getInstructions()[0] instanceof ConstantInstruction);
+        
+        return (ConstantInstruction) set.getInstructions()[0];
+    }
+    
+    private static InstructionSet expression(Instruction... instructions) {
+        
+        return new InstructionSet(instructions, LOCATION);
+    }
+    
+    private static Instruction number(String contents) {
+        
+        return new KeywordInstruction(new TokenInfo(Token.NUMERIC_STRING, contents), LOCATION);
+    }
+    
+    private static Instruction string(String contents) {
+        
+        return new KeywordInstruction(new TokenInfo(Token.LITERAL_STRING, contents), LOCATION);
+    }
+    
+    private static Instruction operator(Token token, Instruction operand) {
+        
+        return new BinaryOperatorInstruction(BinaryOperator.getOperator(token), expression(operand), LOCATION);
+    }
+}
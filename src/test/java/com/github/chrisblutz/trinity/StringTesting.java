@@ -0,0 +1,42 @@
+package com.github.chrisblutz.trinity;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+
+/**
+ * @author Christopher Lutz
+ */
+public class StringTesting {
+    
+    private static final String[] MODES = new String[]{"-i", "-b", "-n", "-Dtrinity.tier.threshold=1"};
+    
+    @Test
+    public void testLiteralsAreNotShared() {
+        
+        // Characters added to one evaluation of a literal must not show up in any other
+        String expected = TrinityScripts.lines("4", "4", "4", "3", "3");
+        
+        assertEquals(expected, TrinityScripts.run("/strings/literals.ty"));
+        
+        for (String mode : MODES) {
+            
+            assertEquals(mode, expected, TrinityScripts.run("/strings/literals.ty", mode));
+        }
+    }
+    
+    @Test
+    public void testCharactersAreNotShared() {
+        
+        // Characters taken from one string must not share their own characters with any other
+        String expected = TrinityScripts.lines("1", "2", "1");
+        
+        assertEquals(expected, TrinityScripts.run("/strings/characters.ty"));
+        
+        for (String mode : MODES) {
+            
+            assertEquals(mode, expected, TrinityScripts.run("/strings/characters.ty", mode));
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.github.chrisblutz.trinity;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+
+/**
+ * @author Christopher Lutz
+ */
+public class TierTesting {
+    
+    @Test
+    public void testTierCompilerEquivalence() {
+        
+        // A threshold of 1 compiles every method body on its first call
+        String expected = TrinityScripts.read("/tiers/equivalence.out");
+        
+        assertEquals(expected, TrinityScripts.run("/tiers/equivalence.ty", "-i"));
+        assertEquals(expected, TrinityScripts.run("/tiers/equivalence.ty", "-Dtrinity.tier.threshold=1"));
+        assertEquals(expected, TrinityScripts.run("/tiers/equivalence.ty", "-Dtrinity.tier.threshold=1", "-e"));
+        assertEquals(expected, TrinityScripts.run("/tiers/equivalence.ty", "-Dtrinity.tier.threshold=1", "-n"));
+    }
+    
+    @Test
+    public void testBytecodeEquivalence() {
+        
+        String expected = TrinityScripts.read("/tiers/equivalence.out");
+        
+        assertEquals(expected, TrinityScripts.run("/tiers/equivalence.ty", "-b"));
+        assertEquals(expected, TrinityScripts.run("/tiers/equivalence.ty", "-b", "-e"));
+        assertEquals(expected, TrinityScripts.run("/tiers/equivalence.ty", "-b", "-n"));
+    }
+}
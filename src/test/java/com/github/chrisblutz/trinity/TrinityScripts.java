@@ -0,0 +1,158 @@
+package com.github.chrisblutz.trinity;
+
+import com.github.chrisblutz.trinity.utils.FileUtils;
+
+import java.io.*;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.fail;
+
+
+/**
+ * Runs Trinity source files from the test resources in a separate
+ * interpreter process, since the interpreter's state is static and
+ * errors exit the JVM.
+ *
+ * @author Christopher Lutz
+ */
+public class TrinityScripts {
+    
+    private static final long TIMEOUT_SECONDS = 60;
+    
+    private static File cacheDirectory = null;
+    
+    /**
+     * Runs a script and returns everything it printed.  Options starting
+     * with {@code -D} are passed to the JVM, and all others are passed to
+     * the interpreter.  Scripts share a temporary parse cache, so they
+     * never write to or read from the cache in the checkout.
+     */
+    public static String run(String script, String... options) {
+        
+        List<String> command = new ArrayList<>();
+        command.add(new File(System.getProperty("java.home"), "bin/java").getPath());
+        command.add("-cp");
+        command.add(System.getProperty("java.class.path"));
+        command.add("-Dtrinity.home=" + System.getProperty("trinity.home", new File("").getAbsolutePath()));
+        command.add("-Dtrinity.cache.dir=" + getCacheDirectory().getPath());
+        
+        List<String> arguments = new ArrayList<>();
+        for (String option : options) {
+            
+            if (option.startsWith("-D")) {
+                
+                command.add(option);
+                
+            } else {
+                
+                arguments.add(option);
+            }
+        }
+        
+        command.add(Trinity.class.getName());
+        command.add(getScript(script).getPath());
+        command.addAll(arguments);
+        
+        try {
+            
+            Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+            
+            ByteArrayOutputStream output = new ByteArrayOutputStream();
+            InputStream stream = process.getInputStream();
+            byte[] buffer = new byte[4096];
+            int read;
+            while ((read = stream.read(buffer)) >= 0) {
+                
+                output.write(buffer, 0, read);
+            }
+            
+            if (!process.waitFor(TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                
+                process.destroyForcibly();
+                fail("Script '" + script + "' did not finish.");
+            }
+            
+            return new String(output.toByteArray(), StandardCharsets.UTF_8).replace("\r\n", "\n");
+            
+        } catch (IOException | InterruptedException e) {
+            
+            fail("Script '" + script + "' could not be run. (" + e.getClass().getName() + ": " + e.getMessage() + ")");
+            
+            return "";
+        }
+    }
+    
+    private static synchronized File getCacheDirectory() {
+        
+        if (cacheDirectory == null) {
+            
+            try {
+                
+                File directory = Files.createTempDirectory("trinity-scripts").toFile();
+                Runtime.getRuntime().addShutdownHook(new Thread(() -> FileUtils.delete(directory)));
+                
+                cacheDirectory = directory;
+                
+            } catch (IOException e) {
+                
+                fail("Cache directory could not be created. (" + e.getMessage() + ")");
+            }
+        }
+        
+        return cacheDirectory;
+    }
+    
+    public static String lines(String... lines) {
+        
+        StringBuilder str = new StringBuilder();
+        
+        for (String line : lines) {
+            
+            str.append(line).append("\n");
+        }
+        
+        return str.toString();
+    }
+    
+    // Reads the expected output stored with a script
+    public static String read(String resource) {
+        
+        try {
+            
+            return new String(Files.readAllBytes(getScript(resource).toPath()), StandardCharsets.UTF_8).replace("\r\n", "\n");
+            
+        } catch (IOException e) {
+            
+            fail("Resource '" + resource + "' could not be read.");
+            
+            return "";
+        }
+    }
+    
+    public static File getScript(String script) {
+        
+        URL url = TrinityScripts.class.getResource(script);
+        
+        if (url == null) {
+            
+            fail("Script '" + script + "' could not be found.");
+        }
+        
+        try {
+            
+            return new File(url.toURI());
+            
+        } catch (URISyntaxException e) {
+            
+            fail("Script '" + script + "' has a malformed location.");
+            
+            return null;
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.github.chrisblutz.trinity;
+
+import com.github.chrisblutz.trinity.lang.TYObject;
+import com.github.chrisblutz.trinity.lang.TYRuntime;
+import com.github.chrisblutz.trinity.lang.variables.VariableLoc;
+import com.github.chrisblutz.trinity.lang.variables.VariableTable;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+
+/**
+ * @author Christopher Lutz
+ */
+public class VariableTesting {
+    
+    @Test
+    public void testVariableTable() {
+        
+        VariableTable table = new VariableTable();
+        
+        assertEquals(-1, table.getSlot("a"));
+        assertEquals(0, table.getOrCreateSlot("a"));
+        assertEquals(1, table.getOrCreateSlot("b"));
+        assertEquals(0, table.getOrCreateSlot("a"));
+        assertEquals(1, table.getSlot("b"));
+        assertTrue(table.hasSlot("b"));
+        assertFalse(table.hasSlot("c"));
+        assertEquals(2, table.size());
+    }
+    
+    @Test
+    public void testFrameSlots() {
+        
+        VariableTable table = new VariableTable();
+        int a = table.getOrCreateSlot("a");
+        
+        TYRuntime runtime = new TYRuntime();
+        runtime.enterFrame(table);
+        
+        TYObject value = new TYObject(null);
+        runtime.setVariable("a", value);
+        
+        assertSame(value, runtime.getVariableLoc(a).getValue());
+        assertSame(value, runtime.getVariable("a"));
+        
+        // Slots created after the frame was entered grow the frame
+        int b = table.getOrCreateSlot("b");
+        assertFalse(runtime.hasVariable(b));
+        
+        runtime.setVariable(b, value);
+        assertTrue(runtime.hasVariable("b"));
+    }
+    
+    @Test
+    public void testClonedFrames() {
+        
+        VariableTable table = new VariableTable();
+        
+        TYRuntime runtime = new TYRuntime();
+        runtime.enterFrame(table);
+        runtime.setVariable("a", TYObject.NIL);
+        
+        VariableLoc shared = runtime.getVariableLoc("a");
+        
+        TYRuntime clone = runtime.clone();
+        
+        // Clones share cells, so writes through them are seen by both frames
+        TYObject value = new TYObject(null);
+        clone.getVariableLoc("a").setValue(value);
+        assertSame(value, runtime.getVariable("a"));
+        
+        // Variables created by the clone stay out of the original's frame
+        clone.setVariable("b", value);
+        assertTrue(clone.hasVariable("b"));
+        assertFalse(runtime.hasVariable("b"));
+        
+        // Replaced cells are copied back when the clone is disposed
+        VariableLoc replaced = new VariableLoc(value);
+        clone.setVariableLoc("a", replaced);
+        assertSame(shared, runtime.getVariableLoc("a"));
+        
+        clone.disposeVariables(runtime);
+        assertSame(replaced, runtime.getVariableLoc("a"));
+        assertFalse(runtime.hasVariable("b"));
+    }
+    
+    @Test
+    public void testSlotResolution() {
+        
+        String expected = TrinityScripts.lines("3", "13", "42", "10", "3", "boom", "7", "6", "610", "3", "3", "6", "3", "120", "42");
+        
+        assertEquals(expected, TrinityScripts.run("/variables/slots.ty"));
+        assertEquals(expected, TrinityScripts.run("/variables/slots.ty", "-b"));
+        assertEquals(expected, TrinityScripts.run("/variables/slots.ty", "-Dtrinity.tier.threshold=1"));
+    }
+}
@@ -0,0 +1,646 @@
+package com.github.chrisblutz.trinity.parser;
+
+import com.github.chrisblutz.trinity.lang.errors.Errors;
+import com.github.chrisblutz.trinity.parser.comments.CommentUtils;
+import com.github.chrisblutz.trinity.parser.lines.Line;
+import com.github.chrisblutz.trinity.parser.lines.LineSet;
+import com.github.chrisblutz.trinity.parser.tokens.Token;
+import com.github.chrisblutz.trinity.parser.tokens.TokenInfo;
+import com.github.chrisblutz.trinity.runner.Runner;
+
+import java.io.File;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+
+/**
+ * The original multi-pass lexer, which builds tokens one pass at a time
+ * over the whole file.  It is kept as the reference that the output of
+ * {@link TrinityLexer} is compared against.
+ *
+ * @author Christopher Lutz
+ */
+public class ReferenceLexer {
+    
+    public static LineSet lex(String filename, File fullFile, String[] lines) {
+        
+        LineSet lineSet = parseFirstLevel(filename, fullFile, lines);
+        lineSet = parseComments(lineSet);
+        lineSet = parseOutEscapeCharacters(lineSet);
+        lineSet = parseOutTokenStrings(lineSet);
+        lineSet = parseLiteralStrings(lineSet);
+        lineSet = parseOutSpaces(lineSet);
+        lineSet = parseOutLeadingWhitespace(lineSet);
+        lineSet = stripComments(lineSet);
+        lineSet = parseOutEmptyLines(lineSet);
+        lineSet = parseNumbers(lineSet);
+        lineSet = parseScopes(lineSet);
+        
+        return lineSet;
+    }
+    
+    // Returns a description of the first difference from this lexer's output, or null if there is none
+    public static String compare(LineSet lexed, String[] lines) {
+        
+        LineSet expected = lex(lexed.getFileName(), lexed.getFullFile(), lines);
+        
+        for (int i = 0; i < Math.max(expected.size(), lexed.size()); i++) {
+            
+            Line expectedLine = i < expected.size() ? expected.get(i) : null;
+            Line lexedLine = i < lexed.size() ? lexed.get(i) : null;
+            
+            if (expectedLine == null || lexedLine == null || expectedLine.getLineNumber() != lexedLine.getLineNumber() || expectedLine.getSpaces() != lexedLine.getSpaces() || !expectedLine.equals(lexedLine)) {
+                
+                int lineNumber = expectedLine != null ? expectedLine.getLineNumber() : lexedLine.getLineNumber();
+                return "Lexer mismatch in '" + lexed.getFileName() + "' at line " + lineNumber + ".";
+            }
+        }
+        
+        for (int line = 1; line <= lines.length; line++) {
+            
+            if (expected.hasComment(line) != lexed.hasComment(line) || (expected.hasComment(line) && (!expected.getComment(line).equals(lexed.getComment(line)) || expected.getCommentLeading(line) != lexed.getCommentLeading(line)))) {
+                
+                return "Lexer comment mismatch in '" + lexed.getFileName() + "' at line " + line + ".";
+            }
+        }
+        
+        return null;
+    }
+    
+    private static LineSet parseFirstLevel(String filename, File fullFile, String[] lines) {
+        
+        String litStr = "";
+        String token = "";
+        int lineNumber = 1;
+        
+        LineSet set = new LineSet(filename, fullFile);
+        
+        for (String l : lines) {
+            
+            Runner.updateLocation(filename, lineNumber);
+            
+            Line line = new Line(lineNumber++);
+            
+            for (char c : l.toCharArray()) {
+                
+                String tS = Character.toString(c);
+                
+                if (Token.tokenExists(tS)) {
+                    
+                    if (!litStr.isEmpty()) {
+                        
+                        if (Token.tokenExists(litStr)) {
+                            
+                            line.add(new TokenInfo(Token.getForString(litStr), litStr));
+                            litStr = "";
+                            
+                        } else {
+                            
+                            line.add(new TokenInfo(Token.NON_TOKEN_STRING, litStr));
+                            litStr = "";
+                        }
+                    }
+                    
+                    if (!token.isEmpty() && Token.tokenExists(token)) {
+                        
+                        if (Token.tokenExists(token + tS)) {
+                            
+                            token += tS;
+                            
+                        } else {
+                            
+                            line.add(new TokenInfo(Token.getForString(token), token));
+                            token = tS;
+                        }
+                        
+                    } else {
+                        
+                        token += tS;
+                    }
+                    
+                } else {
+                    
+                    if (!token.isEmpty()) {
+                        
+                        line.add(new TokenInfo(Token.getForString(token), token));
+                        token = "";
+                    }
+                    
+                    litStr += tS;
+                }
+            }
+            
+            if (!token.isEmpty() && Token.tokenExists(token)) {
+                
+                line.add(new TokenInfo(Token.getForString(token), token));
+                token = "";
+                
+            } else if (!litStr.isEmpty()) {
+                
+                if (Token.tokenExists(litStr)) {
+                    
+                    line.add(new TokenInfo(Token.getForString(litStr), litStr));
+                    
+                } else {
+                    
+                    line.add(new TokenInfo(Token.NON_TOKEN_STRING, litStr));
+                }
+                
+                litStr = "";
+            }
+            
+            set.add(line);
+        }
+        
+        return set;
+    }
+    
+    private static LineSet parseComments(LineSet lines) {
+        
+        LineSet set = new LineSet(lines);
+        
+        for (Line line : lines) {
+            
+            Runner.updateLocation(set.getFileName(), line.getLineNumber());
+            
+            Line newLine = new Line(line.getLineNumber());
+            
+            boolean comment = false;
+            StringBuilder builder = new StringBuilder();
+            
+            for (TokenInfo info : line) {
+                
+                if (!comment && info.getToken() == Token.SINGLE_LINE_COMMENT) {
+                    
+                    comment = true;
+                    
+                } else if (comment) {
+                    
+                    builder.append(getAppendableString(info, false, true));
+                    
+                } else {
+                    
+                    newLine.add(info);
+                }
+            }
+            
+            if (comment) {
+                
+                newLine.add(new TokenInfo(Token.SINGLE_LINE_COMMENT, builder.toString()));
+            }
+            
+            set.add(newLine);
+        }
+        
+        return set;
+    }
+    
+    private static LineSet parseOutEmptyLines(LineSet lines) {
+        
+        LineSet set = new LineSet(lines);
+        
+        for (Line line : lines) {
+            
+            Runner.updateLocation(set.getFileName(), line.getLineNumber());
+            
+            if (!line.isEmpty()) {
+                
+                set.add(line);
+            }
+        }
+        
+        return set;
+    }
+    
+    private static LineSet parseOutEscapeCharacters(LineSet lines) {
+        
+        LineSet set = new LineSet(lines);
+        
+        for (Line line : lines) {
+            
+            Runner.updateLocation(set.getFileName(), line.getLineNumber());
+            
+            Line newLine = new Line(line.getLineNumber());
+            
+            for (int i = 0; i < line.size(); i++) {
+                
+                TokenInfo info = line.get(i);
+                
+                if (info.getToken() == Token.BACKSLASH) {
+                    
+                    if (i + 1 < line.size() && line.get(i + 1).getToken() == Token.NON_TOKEN_STRING) {
+                        
+                        TokenInfo next = line.get(i + 1);
+                        i++;
+                        String contents = next.getContents();
+                        
+                        char c = contents.charAt(0);
+                        
+                        if (Token.tokenExists("\\" + c)) {
+                            
+                            Token t = Token.getForString("\\" + c);
+                            
+                            newLine.add(new TokenInfo(t, t.getLiteral()));
+                            
+                            contents = contents.substring(1);
+                            
+                            newLine.add(new TokenInfo(Token.NON_TOKEN_STRING, contents));
+                            
+                        } else if (c == 'u') {
+                            
+                            contents = contents.substring(1);
+                            
+                            Matcher m = Pattern.compile("([a-zA-Z0-9][a-zA-Z0-9][a-zA-Z0-9][a-zA-Z0-9]).*").matcher(contents);
+                            
+                            if (m.matches()) {
+                                
+                                String unicodeValue = m.group(1);
+                                contents = contents.substring(4);
+                                
+                                newLine.add(new TokenInfo(Token.NON_TOKEN_STRING, Character.toString((char) Integer.parseInt(unicodeValue, 16))));
+                                
+                                newLine.add(new TokenInfo(Token.NON_TOKEN_STRING, contents));
+                            }
+                            
+                        } else {
+                            
+                            newLine.add(info);
+                            newLine.add(next);
+                        }
+                        
+                    } else {
+                        
+                        newLine.add(info);
+                    }
+                    
+                } else {
+                    
+                    newLine.add(info);
+                }
+            }
+            
+            set.add(newLine);
+        }
+        
+        return set;
+    }
+    
+    private static LineSet parseOutTokenStrings(LineSet lines) {
+        
+        LineSet set = new LineSet(lines);
+        
+        for (Line line : lines) {
+            
+            Runner.updateLocation(set.getFileName(), line.getLineNumber());
+            
+            Line newLine = new Line(line.getLineNumber());
+            
+            for (int i = 0; i < line.size(); i++) {
+                
+                TokenInfo info = line.get(i);
+                
+                if (info.getToken() == Token.NON_TOKEN_STRING && info.getContents().contentEquals(Token.__FILE__.getReadable())) {
+                    
+                    newLine.add(new TokenInfo(Token.__FILE__, Token.__FILE__.getReadable()));
+                    
+                } else if (info.getToken() == Token.NON_TOKEN_STRING && info.getContents().contentEquals(Token.__LINE__.getReadable())) {
+                    
+                    newLine.add(new TokenInfo(Token.__LINE__, Token.__LINE__.getReadable()));
+                    
+                } else if (info.getToken() == Token.NON_TOKEN_STRING && info.getContents().contentEquals("block") && i < line.size() - 1 && line.get(i + 1).getToken() == Token.QUESTION_MARK) {
+                    
+                    newLine.add(new TokenInfo(Token.BLOCK_CHECK, Token.BLOCK_CHECK.getReadable()));
+                    i++;
+                    
+                } else {
+                    
+                    newLine.add(info);
+                }
+            }
+            
+            set.add(newLine);
+        }
+        
+        return set;
+    }
+    
+    private static LineSet parseLiteralStrings(LineSet lines) {
+        
+        LineSet set = new LineSet(lines);
+        
+        for (Line line : lines) {
+            
+            Runner.updateLocation(set.getFileName(), line.getLineNumber());
+            
+            Line newLine = new Line(line.getLineNumber());
+            
+            boolean inEscaped = false;
+            boolean inUnescaped = false;
+            StringBuilder current = new StringBuilder();
+            
+            for (TokenInfo info : line) {
+                
+                if (inEscaped) {
+                    
+                    if (info.getToken() == Token.ESCAPED_LITERAL_QUOTE) {
+                        
+                        inEscaped = false;
+                        newLine.add(new TokenInfo(Token.LITERAL_STRING, current.toString()));
+                        current = new StringBuilder();
+                        
+                    } else {
+                        
+                        current.append(getAppendableString(info, true));
+                    }
+                    
+                } else if (inUnescaped) {
+                    
+                    if (info.getToken() == Token.UNESCAPED_LITERAL_QUOTE) {
+                        
+                        inUnescaped = false;
+                        newLine.add(new TokenInfo(Token.LITERAL_STRING, current.toString()));
+                        current = new StringBuilder();
+                        
+                    } else {
+                        
+                        current.append(getAppendableString(info, false));
+                    }
+                    
+                } else {
+                    
+                    if (info.getToken() == Token.ESCAPED_LITERAL_QUOTE) {
+                        
+                        inEscaped = true;
+                        
+                    } else if (info.getToken() == Token.UNESCAPED_LITERAL_QUOTE) {
+                        
+                        inUnescaped = true;
+                        
+                    } else {
+                        
+                        newLine.add(info);
+                    }
+                }
+            }
+            
+            set.add(newLine);
+        }
+        
+        return set;
+    }
+    
+    private static LineSet parseOutSpaces(LineSet lines) {
+        
+        LineSet set = new LineSet(lines);
+        
+        for (Line line : lines) {
+            
+            Runner.updateLocation(set.getFileName(), line.getLineNumber());
+            
+            Line newLine = new Line(line.getLineNumber());
+            
+            boolean encounteredFirst = false;
+            
+            for (TokenInfo info : line) {
+                
+                if (info.getToken() != Token.WS_SPACE && info.getToken() != Token.WS_TAB) {
+                    
+                    encounteredFirst = true;
+                }
+                
+                if (!encounteredFirst) {
+                    
+                    newLine.add(info);
+                    
+                } else if (info.getToken() != Token.WS_SPACE && info.getToken() != Token.WS_TAB) {
+                    
+                    newLine.add(info);
+                }
+            }
+            
+            set.add(newLine);
+        }
+        
+        return set;
+    }
+    
+    private static LineSet parseOutLeadingWhitespace(LineSet lines) {
+        
+        LineSet set = new LineSet(lines);
+        
+        for (Line line : lines) {
+            
+            Runner.updateLocation(set.getFileName(), line.getLineNumber());
+            
+            Line newLine = new Line(line.getLineNumber());
+            
+            boolean adding = true;
+            int spaces = 0;
+            
+            for (TokenInfo info : line) {
+                
+                if (adding) {
+                    
+                    if (info.getToken() == Token.WS_TAB) {
+                        
+                        Errors.throwSyntaxError(Errors.Classes.SYNTAX_ERROR, "No tabs allowed in leading whitespace.", lines.getFileName(), line.getLineNumber());
+                        
+                    } else if (info.getToken() == Token.WS_SPACE) {
+                        
+                        spaces++;
+                        
+                    } else {
+                        
+                        adding = false;
+                        newLine.add(info);
+                    }
+                    
+                } else {
+                    
+                    newLine.add(info);
+                }
+            }
+            
+            newLine.setSpaces(spaces);
+            set.add(newLine);
+        }
+        
+        return set;
+    }
+    
+    private static LineSet stripComments(LineSet lines) {
+        
+        LineSet set = new LineSet(lines);
+        
+        for (Line line : lines) {
+            
+            Runner.updateLocation(set.getFileName(), line.getLineNumber());
+            
+            Line newLine = new Line(line.getLineNumber());
+            newLine.setSpaces(line.getSpaces());
+            
+            for (TokenInfo info : line) {
+                
+                if (info.getToken() == Token.SINGLE_LINE_COMMENT) {
+                    
+                    String comment = CommentUtils.stripCommentSymbol(info.getContents());
+                    set.addComment(line.getLineNumber(), comment, line.getSpaces());
+                    break;
+                    
+                } else {
+                    
+                    newLine.add(info);
+                }
+            }
+            
+            set.add(newLine);
+        }
+        
+        return set;
+    }
+    
+    private static LineSet parseNumbers(LineSet lines) {
+        
+        LineSet set = new LineSet(lines);
+        
+        for (Line line : lines) {
+            
+            Runner.updateLocation(set.getFileName(), line.getLineNumber());
+            
+            Line newLine = new Line(line.getLineNumber());
+            newLine.setSpaces(line.getSpaces());
+            
+            StringBuilder number = new StringBuilder();
+            
+            for (int i = 0; i < line.size(); i++) {
+                
+                TokenInfo info = line.get(i);
+                
+                if (number.length() > 0) {
+                    
+                    if (!number.toString().endsWith(".") && !number.toString().endsWith("f") && !number.toString().endsWith("l") && info.getToken() == Token.DOT_OPERATOR) {
+                        
+                        number.append(info.getContents());
+                        
+                    } else if (number.toString().endsWith(".") && info.getToken() == Token.NON_TOKEN_STRING && info.getContents().matches("[0-9]+")) {
+                        
+                        number.append(info.getContents());
+                        newLine.add(new TokenInfo(Token.NUMERIC_STRING, number.toString()));
+                        number = new StringBuilder();
+                        
+                    } else {
+                        
+                        if (number.toString().endsWith(".")) {
+                            
+                            newLine.add(new TokenInfo(Token.NUMERIC_STRING, number.substring(0, number.length() - 1)));
+                            newLine.add(new TokenInfo(Token.DOT_OPERATOR, "."));
+                            
+                        } else {
+                            
+                            newLine.add(new TokenInfo(Token.NUMERIC_STRING, number.toString()));
+                        }
+                        
+                        number = new StringBuilder();
+                        
+                        newLine.add(info);
+                    }
+                    
+                } else if (info.getToken() == Token.NON_TOKEN_STRING && info.getContents().matches("[0-9]+[fFlL]?")) {
+                    
+                    number = new StringBuilder(info.getContents());
+                    
+                } else if (info.getToken() == Token.DOT_OPERATOR && i + 1 < line.size() && line.get(i + 1).getToken() == Token.NON_TOKEN_STRING && line.get(i + 1).getContents().matches("[0-9]+[fFlL]?")) {
+                    
+                    number = new StringBuilder("." + line.get(++i).getContents());
+                    
+                } else {
+                    
+                    newLine.add(info);
+                }
+            }
+            
+            if (number.length() > 0) {
+                
+                if (number.toString().endsWith(".")) {
+                    
+                    newLine.add(new TokenInfo(Token.NUMERIC_STRING, number.substring(0, number.length() - 1)));
+                    newLine.add(new TokenInfo(Token.DOT_OPERATOR, "."));
+                    
+                } else {
+                    
+                    newLine.add(new TokenInfo(Token.NUMERIC_STRING, number.toString()));
+                }
+            }
+            
+            set.add(newLine);
+        }
+        
+        return set;
+    }
+    
+    private static LineSet parseScopes(LineSet lines) {
+        
+        LineSet set = new LineSet(lines);
+        
+        for (Line line : lines) {
+            
+            Runner.updateLocation(set.getFileName(), line.getLineNumber());
+            
+            Line newLine = new Line(line.getLineNumber());
+            newLine.setSpaces(line.getSpaces());
+            
+            for (int i = 0; i < line.size(); i++) {
+                
+                TokenInfo info = line.get(i);
+                
+                if (info.getToken() == Token.MODULE && i < line.size() - 2 && line.get(i + 1).getToken() == Token.MINUS && line.get(i + 2).getToken() == Token.PROTECTED_SCOPE) {
+                    
+                    i += 2;
+                    newLine.add(new TokenInfo(Token.MODULE_PROTECTED_SCOPE, Token.MODULE_PROTECTED_SCOPE.getReadable()));
+                    
+                } else {
+                    
+                    newLine.add(info);
+                }
+            }
+            
+            set.add(newLine);
+        }
+        
+        LineSet finalSet = new LineSet(set);
+        
+        for (Line line : set) {
+            
+            Runner.updateLocation(finalSet.getFileName(), line.getLineNumber());
+            
+            Line newLine = new Line(line.getLineNumber());
+            newLine.setSpaces(line.getSpaces());
+            
+            for (TokenInfo info : line) {
+                
+                if (info.getToken() == Token.PRIVATE_SCOPE || info.getToken() == Token.PROTECTED_SCOPE || info.getToken() == Token.MODULE_PROTECTED_SCOPE || info.getToken() == Token.PUBLIC_SCOPE) {
+                    
+                    newLine.add(new TokenInfo(Token.SCOPE_MODIFIER, info.getContents()));
+                    
+                } else {
+                    
+                    newLine.add(info);
+                }
+            }
+            
+            finalSet.add(newLine);
+        }
+        
+        return finalSet;
+    }
+    
+    private static String getAppendableString(TokenInfo info, boolean escape) {
+        
+        return TrinityParser.getAppendableString(info, escape);
+    }
+    
+    private static String getAppendableString(TokenInfo info, boolean escape, boolean alwaysReadable) {
+        
+        return TrinityParser.getAppendableString(info, escape, alwaysReadable);
+    }
+}